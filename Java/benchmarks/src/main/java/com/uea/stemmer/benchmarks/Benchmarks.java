@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler enabled, so the allocation rate
+ * per operation is reported alongside each result; any standard JMH option
+ * can be passed, e.g. a benchmark name pattern or "-p bucket=zipf". Forked
+ * JVMs are given the Vector API module when the vectorized classifier is
+ * present; "-jvmArgsAppend -Dcom.uea.stemmer.vector=false" compares the
+ * scalar code.
+ */
+public class Benchmarks
+{
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException
+    {
+        CommandLineOptions options = new CommandLineOptions(args);
+        if(options.shouldHelp())
+        {
+            options.showHelp();
+            return;
+        }
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(options).addProfiler(GCProfiler.class);
+        // The vectorized classifier is only loaded with its module added
+        if(Benchmarks.class.getClassLoader().getResource("com/uea/stemmer/VectorCharClassifier.class") != null)
+        {
+            List<String> jvmArgs = new ArrayList<>(options.getJvmArgsAppend().orElse(Collections.<String>emptyList()));
+            jvmArgs.add("--add-modules=jdk.incubator.vector");
+            builder.jvmArgsAppend(jvmArgs.toArray(new String[jvmArgs.size()]));
+        }
+        Runner runner = new Runner(builder.build());
+        if(options.shouldList())
+            runner.list();
+        else
+            runner.run();
+    }
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer.benchmarks;
+
+import com.uea.stemmer.FileStemming;
+import com.uea.stemmer.MappedFileStemming;
+import com.uea.stemmer.UEALite;
+import com.uea.stemmer.WhitespaceAlphaTokenizer;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The end-to-end throughput of stemming a generated file, from disk to disk;
+ * the "bytes" counter reports input bytes per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileStemmingBenchmark
+{
+    // Fields ******************************************************************
+    /**
+     * The approximate size of the file, in megabytes.
+     */
+    @Param({"16"})
+    public int sizeMb;
+    private UEALite                     stemmer;
+    private WhitespaceAlphaTokenizer    tokenizer;
+    private File                        fileIn;
+    private File                        fileOut;
+    // Methods *****************************************************************
+    @Setup(Level.Trial)
+    public void setup() throws IOException
+    {
+        stemmer = new UEALite();
+        tokenizer = new WhitespaceAlphaTokenizer();
+        fileIn = File.createTempFile("uea-lite-corpus", ".txt");
+        fileOut = File.createTempFile("uea-lite-stems", ".txt");
+        new ZipfCorpus().write(fileIn, sizeMb * 1024L * 1024L);
+    }
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        fileIn.delete();
+        fileOut.delete();
+    }
+    @Benchmark
+    public void stemFile(Bytes bytes) throws IOException
+    {
+        FileStemming.stemFile(stemmer, tokenizer, fileIn, fileOut);
+        bytes.bytes += fileIn.length();
+    }
+    @Benchmark
+    public long stemFileStreaming(Bytes bytes) throws IOException
+    {
+        bytes.bytes += fileIn.length();
+        return FileStemming.stemFileStreaming(stemmer, tokenizer, fileIn, fileOut);
+    }
+    @Benchmark
+    public long stemFileMapped(Bytes bytes) throws IOException
+    {
+        bytes.bytes += fileIn.length();
+        return MappedFileStemming.stemFile(stemmer, tokenizer, fileIn, fileOut);
+    }
+    // Classes *****************************************************************
+    /**
+     * Counts the input bytes stemmed, reported as a rate.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes
+    {
+        public long bytes;
+        
+        @Setup(Level.Iteration)
+        public void reset()
+        {
+            bytes = 0;
+        }
+    }
+}
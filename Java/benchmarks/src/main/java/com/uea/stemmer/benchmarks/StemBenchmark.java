@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *                      Interning stems as term IDs.
+ *******************************************************************************
+ */
+package com.uea.stemmer.benchmarks;
+
+import com.uea.stemmer.StemResult;
+import com.uea.stemmer.StemStatistics;
+import com.uea.stemmer.StemTable;
+import com.uea.stemmer.UEALite;
+import com.uea.stemmer.Word;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The latency of stemming a single word, by bucket of rules: the cleanup
+ * rules, the suffix rules deep within the rule order, and words falling
+ * through every rule (rule 0); the Zipfian bucket measures a realistic mix.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StemBenchmark
+{
+    // Constants ***************************************************************
+    private static final int WORDS = 1024;
+    private static final String[] CLEANUP =
+    {
+        "is", "during", "1984", "x-ray", "long-term", "snake_case", "NASAs", "NASA", "McDonald",
+        "Norwich", "can't", "world's", "they're", "we've", "-", "IBM"
+    };
+    private static final String[] DEEP_SUFFIX =
+    {
+        "shapes", "homes", "phones", "sizes", "pictures", "machines", "decides", "changes", "boxes",
+        "famous", "premiums", "dogs", "looked", "stepping", "leaves", "wolves", "studies", "crashing",
+        "running", "planned", "stopped", "cats", "trees", "tables"
+    };
+    private static final String[] FALL_THROUGH =
+    {
+        "the", "of", "and", "with", "from", "which", "about", "world", "quick", "brown", "fox",
+        "jump", "over", "lazy", "month", "good", "work", "each", "both", "much"
+    };
+    // Fields ******************************************************************
+    /**
+     * The bucket of rules exercised.
+     */
+    @Param({"cleanup", "deep-suffix", "fall-through", "zipf"})
+    public String bucket;
+    private UEALite     stemmer;
+    private UEALite     instrumented;
+    private StemResult  result;
+    private String[]    words;
+    private char[][]    chars;
+    private String[]    stems;
+    private int[]       rules;
+    private StemTable                   table;
+    private HashMap<String, Integer>    terms;
+    // Methods *****************************************************************
+    @Setup
+    public void setup()
+    {
+        stemmer = new UEALite();
+        instrumented = new UEALite();
+        instrumented.setStatistics(new StemStatistics());
+        result = new StemResult();
+        table = new StemTable(WORDS, WORDS * 32);
+        terms = new HashMap<>();
+        String[] source;
+        switch(bucket)
+        {
+            case "cleanup":
+                source = CLEANUP;
+                break;
+            case "deep-suffix":
+                source = DEEP_SUFFIX;
+                break;
+            case "fall-through":
+                source = FALL_THROUGH;
+                break;
+            case "zipf":
+                source = new ZipfCorpus().nextWords(WORDS);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown bucket '" + bucket + "'");
+        }
+        words = new String[WORDS];
+        chars = new char[WORDS][];
+        stems = new String[WORDS];
+        rules = new int[WORDS];
+        for(int i = 0; i < WORDS; i++)
+        {
+            // Copied so each word is a distinct instance, as when read from text
+            words[i] = new String(source[i % source.length].toCharArray());
+            chars[i] = words[i].toCharArray();
+        }
+    }
+    /**
+     * Stems each word through the string API, allocating a word per call.
+     * 
+     * @param bh Consumes the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(WORDS)
+    public void stemString(Blackhole bh)
+    {
+        for(String word : words)
+        {
+            Word stemmed = stemmer.stem(word);
+            bh.consume(stemmed);
+        }
+    }
+    /**
+     * Stems each word through the buffer API, which does not allocate.
+     * 
+     * @param bh Consumes the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(WORDS)
+    public void stemChars(Blackhole bh)
+    {
+        for(char[] word : chars)
+            bh.consume(stemmer.stem(word, 0, word.length, result));
+    }
+    /**
+     * Stems each word through the buffer API, recording statistics.
+     * 
+     * @param bh Consumes the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(WORDS)
+    public void stemCharsWithStatistics(Blackhole bh)
+    {
+        for(char[] word : chars)
+            bh.consume(instrumented.stem(word, 0, word.length, result));
+    }
+    /**
+     * Stems the words through the bulk API.
+     * 
+     * @return The stems.
+     */
+    @Benchmark
+    @OperationsPerInvocation(WORDS)
+    public String[] stemAll()
+    {
+        stemmer.stemAll(words, stems, rules);
+        return stems;
+    }
+    /**
+     * Stems each word to the term ID of its stem, interned off the heap,
+     * which does not allocate.
+     * 
+     * @param bh Consumes the IDs.
+     */
+    @Benchmark
+    @OperationsPerInvocation(WORDS)
+    public void stemToId(Blackhole bh)
+    {
+        for(char[] word : chars)
+            bh.consume(stemmer.stemToId(word, 0, word.length, table));
+    }
+    /**
+     * Stems each word to the term ID of its stem through a map of strings,
+     * for comparison with {@link #stemToId}.
+     * 
+     * @param bh Consumes the IDs.
+     */
+    @Benchmark
+    @OperationsPerInvocation(WORDS)
+    public void stemToIdByMap(Blackhole bh)
+    {
+        for(String word : words)
+        {
+            String stem = stemmer.stem(word).getWord();
+            Integer id = terms.get(stem);
+            if(id == null)
+                terms.put(stem, id = terms.size());
+            bh.consume(id.intValue());
+        }
+    }
+}
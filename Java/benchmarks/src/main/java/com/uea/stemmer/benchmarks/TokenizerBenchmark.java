@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer.benchmarks;
+
+import com.uea.stemmer.TokenHandler;
+import com.uea.stemmer.WhitespaceAlphaTokenizer;
+import com.uea.stemmer.WhitespaceTokenizer;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The throughput of the tokenizers on generated text, through the string,
+ * streaming and byte interfaces; each operation tokenizes the whole text.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenizerBenchmark
+{
+    // Fields ******************************************************************
+    /**
+     * The approximate size of the text, in characters.
+     */
+    @Param({"1048576"})
+    public int size;
+    private WhitespaceTokenizer         whitespace;
+    private WhitespaceAlphaTokenizer    alpha;
+    private String                      text;
+    private char[]                      chars;
+    private ByteBuffer                  bytes;
+    // Methods *****************************************************************
+    @Setup
+    public void setup()
+    {
+        whitespace = new WhitespaceTokenizer();
+        alpha = new WhitespaceAlphaTokenizer();
+        text = new ZipfCorpus().generate(size);
+        chars = text.toCharArray();
+        bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+    @Benchmark
+    public String[] whitespaceString()
+    {
+        return whitespace.tokenize(text);
+    }
+    @Benchmark
+    public String[] alphaString()
+    {
+        return alpha.tokenize(text);
+    }
+    @Benchmark
+    public int whitespaceStreaming(Blackhole bh) throws IOException
+    {
+        return whitespace.tokenize(chars, 0, chars.length, true, handler(bh));
+    }
+    @Benchmark
+    public int alphaStreaming(Blackhole bh) throws IOException
+    {
+        return alpha.tokenize(chars, 0, chars.length, true, handler(bh));
+    }
+    @Benchmark
+    public void whitespaceBytes(Blackhole bh) throws IOException
+    {
+        bytes.clear();
+        whitespace.tokenize(bytes, true, handler(bh));
+    }
+    @Benchmark
+    public void alphaBytes(Blackhole bh) throws IOException
+    {
+        bytes.clear();
+        alpha.tokenize(bytes, true, handler(bh));
+    }
+    private static TokenHandler handler(final Blackhole bh)
+    {
+        return new TokenHandler()
+        {
+            @Override
+            public void token(char[] data, int offset, int length)
+            {
+                bh.consume(length);
+            }
+        };
+    }
+}
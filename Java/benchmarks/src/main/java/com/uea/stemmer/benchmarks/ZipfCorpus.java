@@ -0,0 +1,278 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Random;
+
+/**
+ * A generator of synthetic, reproducible English-like text, with words drawn
+ * from a vocabulary by Zipf's law; the vocabulary mixes frequent function
+ * words with generated words carrying the suffixes of the stemmer, plus the
+ * capitalised words, acronyms, contractions, hyphenations and digits handled
+ * by the cleanup rules.
+ */
+public class ZipfCorpus
+{
+    // Constants ***************************************************************
+    /**
+     * The default seed, so corpora are identical between runs.
+     */
+    public static final long DEFAULT_SEED = 20131130L;
+    /**
+     * The default number of words in the vocabulary.
+     */
+    public static final int DEFAULT_VOCABULARY_SIZE = 50000;
+    /**
+     * The default exponent of Zipf's law, typical of English text.
+     */
+    public static final double DEFAULT_EXPONENT = 1.07;
+    private static final String[] FUNCTION_WORDS =
+    {
+        "the", "of", "and", "to", "a", "in", "is", "that", "for", "it", "as", "was", "with", "be", "by", "on",
+        "not", "he", "this", "are", "or", "his", "from", "at", "which", "but", "have", "an", "had", "they",
+        "you", "were", "their", "one", "all", "we", "can", "her", "has", "there", "been", "if", "more",
+        "when", "will", "would", "who", "so", "no", "during"
+    };
+    private static final String[] ONSETS = { "b", "c", "d", "f", "g", "h", "l", "m", "n", "p", "r", "s", "t", "v", "w", "br", "cr", "dr", "gr", "pl", "pr", "st", "tr", "sh", "ch", "th" };
+    private static final String[] VOWELS = { "a", "e", "i", "o", "u", "ea", "ai", "ou", "ee" };
+    private static final String[] CODAS = { "", "", "n", "r", "l", "t", "d", "s", "m", "ng", "ct", "st", "nd", "rt" };
+    private static final String[] SUFFIXES =
+    {
+        "", "", "", "", "s", "s", "s", "ed", "ed", "ing", "ing", "es", "er", "ers", "ly", "ion", "ions",
+        "ation", "ations", "ness", "ful", "fulness", "ousness", "ous", "ies", "ied", "ives", "ings",
+        "ment", "ments", "able", "ities", "ized", "izes", "ened", "ened", "ting", "tings", "ling",
+        "lings", "ding", "dings", "ming", "ning", "sing", "ving", "ging", "red", "reds", "eed", "eeds",
+        "aceous", "ces", "cs", "sis", "ses", "uses", "sses", "bled", "tled", "ained", "erred", "tored",
+        "ated", "uted", "ssed", "titudes", "ulted", "uming", "ealing", "oling", "ailing", "nting"
+    };
+    // Fields ******************************************************************
+    private final String[]  vocabulary;
+    private final double[]  cumulative;
+    private final Random    random;
+    // Methods - Constructors **************************************************
+    /**
+     * Creates a new generator, with the default vocabulary and seed.
+     */
+    public ZipfCorpus()
+    {
+        this(DEFAULT_VOCABULARY_SIZE, DEFAULT_EXPONENT, DEFAULT_SEED);
+    }
+    /**
+     * Creates a new generator.
+     * 
+     * @param vocabularySize The number of words in the vocabulary.
+     * @param exponent The exponent of Zipf's law.
+     * @param seed The seed of the generator; the same seed always generates
+     * the same vocabulary and text.
+     */
+    public ZipfCorpus(int vocabularySize, double exponent, long seed)
+    {
+        Random vocabularyRandom = new Random(seed);
+        // Build the vocabulary, most frequent first
+        LinkedHashSet<String> words = new LinkedHashSet<>(Arrays.asList(FUNCTION_WORDS));
+        while(words.size() < vocabularySize)
+            words.add(generateWord(vocabularyRandom));
+        vocabulary = words.toArray(new String[words.size()]);
+        // Weight each rank by Zipf's law
+        cumulative = new double[vocabulary.length];
+        double total = 0;
+        for(int i = 0; i < vocabulary.length; i++)
+        {
+            total += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = total;
+        }
+        for(int i = 0; i < cumulative.length; i++)
+            cumulative[i] /= total;
+        random = new Random(seed + 1);
+    }
+    // Methods *****************************************************************
+    /**
+     * @return The next word, drawn by Zipf's law.
+     */
+    public String nextWord()
+    {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return vocabulary[Math.min(index < 0 ? -index - 1 : index, vocabulary.length - 1)];
+    }
+    /**
+     * Generates the next words, as an array.
+     * 
+     * @param count The number of words.
+     * @return The words.
+     */
+    public String[] nextWords(int count)
+    {
+        String[] words = new String[count];
+        for(int i = 0; i < count; i++)
+            words[i] = nextWord();
+        return words;
+    }
+    /**
+     * Generates text of sentences, with the first word of each capitalised
+     * and sentences ending in punctuation; paragraphs are separated by blank
+     * lines.
+     * 
+     * @param out The destination of the text.
+     * @param chars The approximate number of characters generated.
+     * @throws IOException Thrown if an issue occurs writing the text.
+     */
+    public void generate(Appendable out, long chars) throws IOException
+    {
+        long written = 0;
+        int sentenceWord = 0;
+        int sentenceLength = 5 + random.nextInt(20);
+        while(written < chars)
+        {
+            String word = nextWord();
+            if(sentenceWord == 0)
+                word = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+            out.append(word);
+            written += word.length();
+            if(++sentenceWord == sentenceLength)
+            {
+                out.append(random.nextInt(10) == 0 ? '?' : '.');
+                out.append(random.nextInt(8) == 0 ? "\n\n" : " ");
+                written += 2;
+                sentenceWord = 0;
+                sentenceLength = 5 + random.nextInt(20);
+            }
+            else
+            {
+                if(random.nextInt(12) == 0)
+                {
+                    out.append(',');
+                    written++;
+                }
+                out.append(random.nextInt(15) == 0 ? '\n' : ' ');
+                written++;
+            }
+        }
+    }
+    /**
+     * Generates text, as a string.
+     * 
+     * @param chars The approximate number of characters generated.
+     * @return The text.
+     */
+    public String generate(int chars)
+    {
+        StringBuilder sb = new StringBuilder(chars + 64);
+        try
+        {
+            generate(sb, chars);
+        }
+        catch(IOException ex)
+        {
+            throw new IllegalStateException(ex);
+        }
+        return sb.toString();
+    }
+    /**
+     * Generates text to a file, as UTF-8.
+     * 
+     * @param file The destination file.
+     * @param bytes The approximate size of the file.
+     * @throws IOException Thrown if an issue occurs writing the file.
+     */
+    public void write(File file, long bytes) throws IOException
+    {
+        try(Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8), 1 << 16))
+        {
+            generate(out, bytes);
+        }
+    }
+    private static String generateWord(Random random)
+    {
+        int kind = random.nextInt(100);
+        if(kind < 2)
+            return Integer.toString(random.nextInt(10000));                            // digits
+        else if(kind < 4)
+            return generateRoot(random) + "-" + generateRoot(random);                  // hyphenated
+        else if(kind < 6)
+        {
+            String root = generateRoot(random).toUpperCase();
+            return root.substring(0, Math.min(root.length(), 2 + random.nextInt(3))) + (random.nextBoolean() ? "s" : "");  // acronym
+        }
+        else if(kind < 9)
+        {
+            String root = generateRoot(random);
+            return Character.toUpperCase(root.charAt(0)) + root.substring(1);          // proper noun
+        }
+        else if(kind < 11)
+            return generateRoot(random) + (random.nextBoolean() ? "'s" : "n't");      // possessive or contraction
+        return generateRoot(random) + SUFFIXES[random.nextInt(SUFFIXES.length)];
+    }
+    private static String generateRoot(Random random)
+    {
+        StringBuilder sb = new StringBuilder();
+        int syllables = 1 + random.nextInt(3);
+        for(int i = 0; i < syllables; i++)
+        {
+            sb.append(ONSETS[random.nextInt(ONSETS.length)]);
+            sb.append(VOWELS[random.nextInt(VOWELS.length)]);
+        }
+        sb.append(CODAS[random.nextInt(CODAS.length)]);
+        return sb.toString();
+    }
+    // Methods - Accessors *****************************************************
+    /**
+     * @return The vocabulary, most frequent first.
+     */
+    public String[] getVocabulary()
+    {
+        return vocabulary.clone();
+    }
+    // Methods - Static ********************************************************
+    /**
+     * Writes a corpus to a file.
+     * 
+     * @param args The file, its size in megabytes and optionally the seed.
+     * @throws IOException Thrown if an issue occurs writing the file.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if(args.length < 2)
+        {
+            System.err.println("Usage: ZipfCorpus <file> <size-mb> [seed]");
+            System.exit(1);
+        }
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        new ZipfCorpus(DEFAULT_VOCABULARY_SIZE, DEFAULT_EXPONENT, seed).write(new File(args[0]), Long.parseLong(args[1]) * 1024 * 1024);
+    }
+}
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Classifies characters with the Vector API, comparing as many characters at
+ * once as the preferred vector size holds, i.e. 16 with AVX2 and 32 with
+ * AVX-512; the results are identical to those of {@link CharClassifier}.
+ * 
+ * Vectors are loaded past the end of a range, masking the lanes beyond it,
+ * whilst within the array; the final characters of the array are left to
+ * the scalar methods.
+ */
+final class VectorCharClassifier extends CharClassifier
+{
+    // Constants ***************************************************************
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    /**
+     * The length of word from which vectors are faster than single
+     * characters; most words are shorter.
+     */
+    private static final int MIN_WORD_LENGTH = 8;
+    /**
+     * The first release to compile masks to bits; earlier releases box each
+     * mask converted, making vectors slower than single characters.
+     */
+    private static final int MIN_FEATURE_RELEASE = 21;
+    // Methods - Constructors **************************************************
+    VectorCharClassifier()
+    {
+        if(Runtime.version().feature() < MIN_FEATURE_RELEASE)
+            throw new UnsupportedOperationException("Vector classification requires Java " + MIN_FEATURE_RELEASE);
+    }
+    // Methods *****************************************************************
+    @Override
+    boolean isVectorized()
+    {
+        return true;
+    }
+    @Override
+    int findTokens(char[] data, int from, int to, boolean alpha, int[] bounds, int count)
+    {
+        int max = bounds.length / 2;
+        // The start of the token being scanned, or -1 between tokens
+        int start = -1;
+        int i = from;
+        for(; i < to && i <= data.length - LANES; i += LANES)
+        {
+            ShortVector v = ShortVector.fromCharArray(SPECIES, data, i);
+            long token = (alpha ? alpha(v) : whitespace(v).not()).toLong() & bits(Math.min(to - i, LANES));
+            // Each change between token and other characters is a bound
+            long changes = (token ^ (token << 1 | (start == -1 ? 0 : 1))) & bits(LANES);
+            while(changes != 0)
+            {
+                int index = i + Long.numberOfTrailingZeros(changes);
+                changes &= changes - 1;
+                if(start == -1)
+                    start = index;
+                else
+                {
+                    bounds[count * 2] = start;
+                    bounds[count * 2 + 1] = index;
+                    start = -1;
+                    if(++count == max)
+                        return count;
+                }
+            }
+        }
+        if(start != -1)
+        {
+            // Finish the token at the end of the range, or of the array
+            i = Math.min(i, to);
+            while(i < to && isTokenChar(data[i], alpha))
+                i++;
+            bounds[count * 2] = start;
+            bounds[count * 2 + 1] = i;
+            if(++count == max)
+                return count;
+        }
+        return super.findTokens(data, Math.min(i, to), to, alpha, bounds, count);
+    }
+    @Override
+    boolean toLowerCase(char[] data, int from, int to)
+    {
+        if(to - from < MIN_WORD_LENGTH)
+            return super.toLowerCase(data, from, to);
+        boolean ascii = true;
+        int i = from;
+        for(; i < to && i <= data.length - LANES; i += LANES)
+        {
+            ShortVector v = ShortVector.fromCharArray(SPECIES, data, i);
+            VectorMask<Short> range = SPECIES.indexInRange(i, to);
+            VectorMask<Short> upper = between(v, 'A', 'Z').and(range);
+            // Characters beyond the range are written back unchanged
+            if(upper.anyTrue())
+                v.add((short)('a' - 'A'), upper).intoCharArray(data, i);
+            // Characters from 0x8000 are negative as shorts
+            ascii &= !v.compare(VectorOperators.GT, (short)0x7F).or(v.compare(VectorOperators.LT, (short)0)).and(range).anyTrue();
+        }
+        if(i < to)
+            ascii &= super.toLowerCase(data, i, to);
+        return ascii;
+    }
+    @Override
+    int classify(char[] word, int offset, int length)
+    {
+        // Short words are classified faster one character at a time, as are
+        // words too near the end of the array for whole vectors
+        if(length < MIN_WORD_LENGTH || word.length - offset < (length + LANES - 1) / LANES * LANES)
+            return super.classify(word, offset, length);
+        int digits = 0, wordChars = 0, uppers = 0, hyphens = 0, hyphenIndex = -1;
+        boolean underscore = false, lineTerminator = false;
+        for(int i = 0; i < length; i += LANES)
+        {
+            ShortVector v = ShortVector.fromCharArray(SPECIES, word, offset + i);
+            VectorMask<Short> range = SPECIES.indexInRange(i, length);
+            VectorMask<Short> upper = between(v, 'A', 'Z').and(range);
+            VectorMask<Short> digit = between(v, '0', '9').and(range);
+            VectorMask<Short> under = v.eq((short)'_').and(range);
+            VectorMask<Short> hyphen = v.eq((short)'-').and(range);
+            VectorMask<Short> terminator = v.eq((short)'\n').or(v.eq((short)'\r')).or(v.eq((short)'\u0085'))
+                    .or(v.eq((short)'\u2028')).or(v.eq((short)'\u2029')).and(range);
+            uppers += upper.trueCount();
+            digits += digit.trueCount();
+            wordChars += between(v, 'a', 'z').or(upper).or(digit).or(under).and(range).trueCount();
+            int count = hyphen.trueCount();
+            if(count > 0)
+            {
+                hyphens += count;
+                hyphenIndex = i + hyphen.lastTrue();
+            }
+            underscore |= under.anyTrue();
+            lineTerminator |= terminator.anyTrue();
+        }
+        return TokenClass.flags(word, offset, length, digits, wordChars, uppers, hyphens, hyphenIndex, underscore, lineTerminator);
+    }
+    // Methods - Static ********************************************************
+    private static VectorMask<Short> whitespace(ShortVector v)
+    {
+        return v.eq((short)' ').or(between(v, '\t', '\r'));
+    }
+    private static VectorMask<Short> alpha(ShortVector v)
+    {
+        return between(v, 'a', 'z').or(between(v, 'A', 'Z'));
+    }
+    private static VectorMask<Short> between(ShortVector v, char min, char max)
+    {
+        // Only used for ASCII bounds, so signed comparison is safe
+        return v.compare(VectorOperators.GE, (short)min).and(v.compare(VectorOperators.LE, (short)max));
+    }
+    private static long bits(int count)
+    {
+        return count == 64 ? -1L : (1L << count) - 1;
+    }
+}
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A tokenizer able to tokenize UTF-8 (or ASCII) bytes directly, such as a
+ * memory-mapped file, decoding only tokens containing non-ASCII characters.
+ */
+public interface ByteTokenizer
+{
+    /**
+     * Tokenizes the bytes of a buffer, from its position to its limit; the
+     * position is advanced past the bytes consumed.
+     * 
+     * @param data The UTF-8 bytes to be tokenized; the buffer is not modified.
+     * @param endOfInput Indicates if no bytes follow the buffer; when false, a
+     * token at the end of the buffer is not handled, as it may continue into
+     * the next buffer.
+     * @param handler The handler of the tokens, lower-case.
+     * @throws IOException Thrown by the handler.
+     */
+    public void tokenize(ByteBuffer data, boolean endOfInput, TokenHandler handler) throws IOException;
+}
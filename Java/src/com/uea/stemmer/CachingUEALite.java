@@ -0,0 +1,321 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *                      Cache hits counted by the statistics.
+ *                      Tokens stemmed into results cached.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The UEA Lite-Stemmer with a bounded cache of stemmed words in front of it;
+ * this suits natural language, where a few thousand words account for most
+ * tokens.
+ * 
+ * Instances are safe to share between threads: look-ups do not lock, whilst
+ * insertions lock one of several segments, each evicting words by the CLOCK
+ * (second chance) policy. Every path of stemming is cached, keyed by the word
+ * as a string, so stemming characters into a {@link StemResult} creates a
+ * string per token; a token starting a sentence, passed by a case-preserving
+ * tokenizer, is stemmed without the cache, as its stem differs by flag.
+ * 
+ * Each word is cached with the configuration it was stemmed with, so a new
+ * configuration takes effect immediately; words cached with an earlier
+ * configuration are treated as misses and are evicted in time.
+ * 
+ * Any {@link StemStatistics} count every word, including those stemmed from
+ * the cache; latency is only sampled for words stemmed by the rules.
+ */
+public class CachingUEALite extends UEALite
+{
+    // Fields ******************************************************************
+    private final ConcurrentHashMap<String, Entry>  entries;
+    private final Segment[]                         segments;
+    private final int                               capacity;
+    private final LongAdder                         hits = new LongAdder();
+    private final LongAdder                         misses = new LongAdder();
+    private final LongAdder                         evictions = new LongAdder();
+    // Methods - Constructors **************************************************
+    /**
+     * Creates a new instance of the UEA Lite stemmer with a cache.
+     * 
+     * @param capacity The maximum number of words cached.
+     */
+    public CachingUEALite(int capacity)
+    {
+        this(DEFAULT_MAX_WORD_LENGTH, DEFAULT_MAX_ACRONYM_LENGTH, capacity);
+    }
+    /**
+     * Creates a new instance of the UEA Lite stemmer with a cache.
+     * 
+     * @param wordLength The maximum length of a word to be stemmed.
+     * @param acronymLength The maximum length of an acronym to be stemmed.
+     * @param capacity The maximum number of words cached.
+     */
+    public CachingUEALite(int wordLength, int acronymLength, int capacity)
+    {
+        this(StemmerConfig.builder().setMaxWordLength(wordLength).setMaxAcronymLength(acronymLength).build(), capacity);
+    }
+    /**
+     * Creates a new instance of the UEA Lite stemmer with a cache.
+     * 
+     * @param config The configuration of the stemmer.
+     * @param capacity The maximum number of words cached.
+     */
+    public CachingUEALite(StemmerConfig config, int capacity)
+    {
+        super(config);
+        if(capacity < 1)
+            throw new IllegalArgumentException("Capacity must be at least one!");
+        this.capacity = capacity;
+        // Segment insertions by the available processors, without giving any
+        // segment fewer than sixteen entries
+        int count = Integer.highestOneBit(Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 2, capacity / 16)));
+        segments = new Segment[count];
+        for(int i = 0; i < count; i++)
+            segments[i] = new Segment(capacity / count + (i < capacity % count ? 1 : 0));
+        entries = new ConcurrentHashMap<>(capacity * 4 / 3 + 1, 0.75f, count);
+    }
+    // Methods *****************************************************************
+    /**
+     * Stems a word, using the cache where possible.
+     * 
+     * @param word The word to be stemmed; this should be lower-case.
+     * @return The stemmed variant of the word.
+     */
+    @Override
+    public Word stem(String word)
+    {
+        StemmerConfig config = getConfig();
+        Entry entry = entries.get(word);
+        if(entry != null && entry.config == config)
+        {
+            if(!entry.referenced)
+                entry.referenced = true;
+            hits.increment();
+            StemStatistics statistics = config.getStatistics();
+            if(statistics != null)
+                statistics.record(entry.word.getRuleCode());
+            return entry.word;
+        }
+        misses.increment();
+        Word stemmed = stem(word, config);
+        segments[spread(word.hashCode()) & (segments.length - 1)].insert(word, stemmed, config);
+        return stemmed;
+    }
+    /**
+     * Stems a word into a reusable result, using the cache where possible.
+     * 
+     * @param word The word to be stemmed; this should be lower-case.
+     * @param result The result, which receives the stem and the rule applied.
+     * @return The length of the stem.
+     */
+    @Override
+    public int stem(CharSequence word, StemResult result)
+    {
+        return copy(stem(word.toString()), result);
+    }
+    /**
+     * Stems a word into a reusable result, using the cache where possible.
+     * 
+     * @param word The array holding the word to be stemmed; this should be
+     * lower-case.
+     * @param offset The offset of the word within the array.
+     * @param length The length of the word.
+     * @param result The result, which receives the stem and the rule applied.
+     * @return The length of the stem.
+     */
+    @Override
+    public int stem(char[] word, int offset, int length, StemResult result)
+    {
+        return copy(stem(new String(word, offset, length)), result);
+    }
+    /**
+     * Stems a token of original case, classified by the tokenizer, into a
+     * reusable result, using the cache unless the token starts a sentence.
+     * 
+     * @param word The array holding the token to be stemmed.
+     * @param offset The offset of the token within the array.
+     * @param length The length of the token.
+     * @param flags The flags of the token, as defined by {@link TokenClass}.
+     * @param result The result, which receives the stem and the rule applied.
+     * @return The length of the stem.
+     */
+    @Override
+    public int stem(char[] word, int offset, int length, int flags, StemResult result)
+    {
+        // Otherwise, the flags are those the stemmer would find itself
+        if((flags & TokenClass.SENTENCE_INITIAL) != 0)
+            return super.stem(word, offset, length, flags, result);
+        return copy(stem(new String(word, offset, length)), result);
+    }
+    private static int copy(Word stemmed, StemResult result)
+    {
+        result.set(stemmed.getWord());
+        result.setRuleCode(stemmed.getRuleCode());
+        return result.length();
+    }
+    /**
+     * Stems a range of an array of words in bulk, using the cache where
+     * possible.
+     * 
+     * @param in The words to be stemmed; these should be lower-case.
+     * @param offset The index of the first word.
+     * @param length The number of words.
+     * @param outStems Receives the stem of each word, at the same index.
+     * @param outRules Receives the code of the rule applied to each word, at
+     * the same index; can be null.
+     */
+    @Override
+    public void stemAll(String[] in, int offset, int length, String[] outStems, int[] outRules)
+    {
+        for(int i = offset; i < offset + length; i++)
+        {
+            Word stemmed = stem(in[i]);
+            outStems[i] = stemmed.getWord();
+            if(outRules != null)
+                outRules[i] = stemmed.getRuleCode();
+        }
+    }
+    /**
+     * Removes all the words from the cache; the counters are not reset.
+     */
+    public void clear()
+    {
+        for(Segment segment : segments)
+            segment.clear();
+    }
+    private static int spread(int hash)
+    {
+        return hash ^ (hash >>> 16);
+    }
+    // Methods - Accessors *****************************************************
+    /**
+     * @return The maximum number of words cached.
+     */
+    public int getCapacity()
+    {
+        return capacity;
+    }
+    /**
+     * @return The number of words currently cached.
+     */
+    public int getSize()
+    {
+        return entries.size();
+    }
+    /**
+     * @return The number of words stemmed from the cache.
+     */
+    public long getHits()
+    {
+        return hits.sum();
+    }
+    /**
+     * @return The number of words not found within the cache.
+     */
+    public long getMisses()
+    {
+        return misses.sum();
+    }
+    /**
+     * @return The number of words evicted from the cache to make room for
+     * others.
+     */
+    public long getEvictions()
+    {
+        return evictions.sum();
+    }
+    // Classes *****************************************************************
+    /**
+     * A cached word.
+     */
+    private static final class Entry
+    {
+        final String        key;
+        final Word          word;
+        final StemmerConfig config;
+        volatile boolean    referenced;
+        Entry(String key, Word word, StemmerConfig config)
+        {
+            this.key = key;
+            this.word = word;
+            this.config = config;
+        }
+    }
+    /**
+     * A share of the capacity of the cache, with its own clock.
+     */
+    private final class Segment
+    {
+        private final Entry[]   clock;
+        private int             hand;
+        Segment(int capacity)
+        {
+            clock = new Entry[capacity];
+        }
+        synchronized void insert(String key, Word word, StemmerConfig config)
+        {
+            // Another thread may have stemmed the same word
+            Entry existing = entries.get(key);
+            if(existing != null && existing.config == config)
+                return;
+            // Advance the hand past recently used entries, giving each a
+            // second chance
+            Entry victim;
+            while((victim = clock[hand]) != null && victim.referenced)
+            {
+                victim.referenced = false;
+                hand = (hand + 1) % clock.length;
+            }
+            if(victim != null)
+            {
+                entries.remove(victim.key, victim);
+                evictions.increment();
+            }
+            Entry entry = new Entry(key, word, config);
+            clock[hand] = entry;
+            hand = (hand + 1) % clock.length;
+            entries.put(key, entry);
+        }
+        synchronized void clear()
+        {
+            for(int i = 0; i < clock.length; i++)
+            {
+                if(clock[i] != null)
+                {
+                    entries.remove(clock[i].key, clock[i]);
+                    clock[i] = null;
+                }
+            }
+            hand = 0;
+        }
+    }
+}
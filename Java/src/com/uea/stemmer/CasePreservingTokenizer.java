@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *                      Mode of tokens exposed, for incremental signatures.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * A tokenizer which keeps the original case of each token, so the rules of
+ * the stemmer for acronyms and proper nouns can fire; whilst finding each
+ * token, the tokenizer classifies it and notes if it starts a sentence,
+ * passing the flags to {@link TokenHandler#token(char[], int, int, int)}.
+ * 
+ * The proper noun rule then follows the heuristic of the stemmer, i.e. a
+ * capitalised token not preceded by sentence breaking punctuation is a
+ * proper noun, when the flags are passed to
+ * {@link UEALite#stem(char[], int, int, int, StemResult)}; tokens returned as
+ * strings carry no flags. A sentence is broken by a full stop, question mark
+ * or exclamation mark, ending a token or between tokens, and the first token
+ * of each buffer, or of each stream, starts a sentence. Instances hold no
+ * state, so are safe for use by multiple threads.
+ */
+public class CasePreservingTokenizer implements StreamingTokenizer
+{
+    // Fields ******************************************************************
+    private final boolean alpha;
+    // Methods - Constructors **************************************************
+    /**
+     * Creates a tokenizer of runs of characters other than whitespace, as
+     * {@link WhitespaceTokenizer}.
+     */
+    public CasePreservingTokenizer()
+    {
+        this(false);
+    }
+    /**
+     * Creates a tokenizer.
+     * 
+     * @param alpha Indicates if tokens are runs of alpha characters, as
+     * {@link WhitespaceAlphaTokenizer}, rather than runs of characters other
+     * than whitespace.
+     */
+    public CasePreservingTokenizer(boolean alpha)
+    {
+        this.alpha = alpha;
+    }
+    // Methods *****************************************************************
+    /**
+     * Tokenizes the data, keeping the case of each token.
+     * 
+     * @param data The data to be tokenized.
+     * @return Tokens of data, of original case.
+     */
+    @Override
+    public String[] tokenize(String data)
+    {
+        final ArrayList<String> tokens = new ArrayList<>();
+        char[] chars = data.toCharArray();
+        try
+        {
+            tokenize(chars, 0, chars.length, true, new TokenHandler()
+            {
+                @Override
+                public void token(char[] data, int offset, int length)
+                {
+                    tokens.add(new String(data, offset, length));
+                }
+            }, new Sentence());
+        }
+        catch(IOException ex)
+        {
+            // Not thrown by the handler
+            throw new IllegalStateException(ex);
+        }
+        return tokens.toArray(new String[tokens.size()]);
+    }
+    /**
+     * Tokenizes a buffer of characters, keeping the case of each token; the
+     * first token of the buffer starts a sentence.
+     * 
+     * @param data The array holding the characters, which are not altered.
+     * @param offset The offset of the characters within the array.
+     * @param length The number of characters.
+     * @param endOfInput Indicates if no characters follow the buffer.
+     * @param handler The handler of the tokens, of original case, with their
+     * flags.
+     * @return The number of characters consumed.
+     * @throws IOException Thrown by the handler.
+     */
+    @Override
+    public int tokenize(char[] data, int offset, int length, boolean endOfInput, TokenHandler handler) throws IOException
+    {
+        return tokenize(data, offset, length, endOfInput, handler, new Sentence());
+    }
+    /**
+     * Tokenizes a stream of characters, read in chunks, keeping the case of
+     * each token; sentences continue from one chunk to the next.
+     * 
+     * @param in The stream to be tokenized; this is not closed.
+     * @param handler The handler of the tokens, of original case, with their
+     * flags.
+     * @throws IOException Thrown if an issue occurs reading the stream, or by
+     * the handler.
+     */
+    @Override
+    public void tokenize(Reader in, TokenHandler handler) throws IOException
+    {
+        Sentence sentence = new Sentence();
+        char[] buffer = new char[8192];
+        int end = 0;
+        int read;
+        while((read = in.read(buffer, end, buffer.length - end)) != -1)
+        {
+            end += read;
+            int consumed = tokenize(buffer, 0, end, false, handler, sentence);
+            System.arraycopy(buffer, consumed, buffer, 0, end - consumed);
+            end -= consumed;
+            if(end == buffer.length)
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        tokenize(buffer, 0, end, true, handler, sentence);
+    }
+    /**
+     * Tokenizes a buffer of characters, classifying each token in the same
+     * pass; refer to {@link TokenClass#classify} for the counts taken.
+     */
+    private int tokenize(char[] data, int offset, int length, boolean endOfInput, TokenHandler handler, Sentence sentence) throws IOException
+    {
+        int end = offset + length;
+        int i = offset;
+        while(true)
+        {
+            // Skip to the next token, noting any break of sentence between
+            for(; i < end && !CharClassifier.isTokenChar(data[i], alpha); i++)
+            {
+                if(isSentenceBreak(data[i]))
+                    sentence.start = true;
+            }
+            if(i == end)
+                return length;
+            int start = i;
+            int digits = 0, wordChars = 0, uppers = 0, hyphens = 0, hyphenIndex = -1;
+            boolean underscore = false, lineTerminator = false;
+            char c;
+            for(; i < end && CharClassifier.isTokenChar(c = data[i], alpha); i++)
+            {
+                if(c >= 'a' && c <= 'z')
+                    wordChars++;
+                else if(c >= 'A' && c <= 'Z')
+                {
+                    wordChars++;
+                    uppers++;
+                }
+                else if(c >= '0' && c <= '9')
+                {
+                    wordChars++;
+                    digits++;
+                }
+                else if(c == '_')
+                {
+                    wordChars++;
+                    underscore = true;
+                }
+                else if(c == '-')
+                {
+                    hyphens++;
+                    hyphenIndex = i - start;
+                }
+                else if(SuffixRule.isLineTerminator(c))
+                    lineTerminator = true;
+            }
+            if(i == end && !endOfInput)
+                return start - offset;
+            int flags = TokenClass.flags(data, start, i - start, digits, wordChars, uppers, hyphens, hyphenIndex, underscore, lineTerminator);
+            if(sentence.start)
+                flags |= TokenClass.SENTENCE_INITIAL;
+            sentence.start = endsSentence(data, start, i);
+            handler.token(data, start, i - start, flags);
+        }
+    }
+    // Methods - Accessors *****************************************************
+    /**
+     * @return Indicates if tokens are runs of alpha characters, rather than
+     * runs of characters other than whitespace.
+     */
+    public boolean isAlpha()
+    {
+        return alpha;
+    }
+    // Methods - Static ********************************************************
+    /**
+     * @param c The character to be tested.
+     * @return True if the character breaks a sentence.
+     */
+    private static boolean isSentenceBreak(char c)
+    {
+        return c == '.' || c == '?' || c == '!';
+    }
+    /**
+     * @param data The array holding a token.
+     * @param start The start of the token.
+     * @param end The end of the token, exclusive.
+     * @return True if the token ends with a break of sentence, ignoring any
+     * closing quotes or brackets, e.g. "end." or "end.)".
+     */
+    private static boolean endsSentence(char[] data, int start, int end)
+    {
+        int i = end - 1;
+        while(i > start && (data[i] == '"' || data[i] == '\'' || data[i] == ')' || data[i] == ']'))
+            i--;
+        return isSentenceBreak(data[i]);
+    }
+    // Classes *****************************************************************
+    /**
+     * The state of the sentence between tokens.
+     */
+    private static final class Sentence
+    {
+        boolean start = true;
+    }
+}
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *                      Bytes written as-is, for binary files of stems.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes characters to a channel as UTF-8, through a direct buffer; ASCII is
+ * written without any encoder. Lone surrogates are written as '?', as with
+ * {@link String#getBytes(java.nio.charset.Charset)}.
+ */
+final class ChannelWriter implements Closeable
+{
+    // Fields ******************************************************************
+    private final WritableByteChannel   channel;
+    private final ByteBuffer            buffer;
+    // Methods - Constructors **************************************************
+    /**
+     * @param channel The channel written.
+     * @param capacity The capacity of the buffer, in bytes.
+     */
+    ChannelWriter(WritableByteChannel channel, int capacity)
+    {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(Math.max(capacity, 4));
+    }
+    // Methods *****************************************************************
+    /**
+     * @param b The byte to be written.
+     * @throws IOException Thrown if an issue occurs writing to the channel.
+     */
+    void write(byte b) throws IOException
+    {
+        if(!buffer.hasRemaining())
+            flush();
+        buffer.put(b);
+    }
+    /**
+     * @param bytes The array holding the bytes to be written.
+     * @param offset The offset of the bytes within the array.
+     * @param length The number of bytes.
+     * @throws IOException Thrown if an issue occurs writing to the channel.
+     */
+    void write(byte[] bytes, int offset, int length) throws IOException
+    {
+        while(length > 0)
+        {
+            if(!buffer.hasRemaining())
+                flush();
+            int count = Math.min(length, buffer.remaining());
+            buffer.put(bytes, offset, count);
+            offset += count;
+            length -= count;
+        }
+    }
+    /**
+     * @param chars The array holding the characters to be written.
+     * @param offset The offset of the characters within the array.
+     * @param length The number of characters.
+     * @throws IOException Thrown if an issue occurs writing to the channel.
+     */
+    void write(char[] chars, int offset, int length) throws IOException
+    {
+        int end = offset + length;
+        for(int i = offset; i < end; i++)
+        {
+            if(buffer.remaining() < 4)
+                flush();
+            char c = chars[i];
+            if(c < 0x80)
+                buffer.put((byte)c);
+            else if(c < 0x800)
+            {
+                buffer.put((byte)(0xC0 | (c >> 6)));
+                buffer.put((byte)(0x80 | (c & 0x3F)));
+            }
+            else if(Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1]))
+            {
+                int cp = Character.toCodePoint(c, chars[++i]);
+                buffer.put((byte)(0xF0 | (cp >> 18)));
+                buffer.put((byte)(0x80 | ((cp >> 12) & 0x3F)));
+                buffer.put((byte)(0x80 | ((cp >> 6) & 0x3F)));
+                buffer.put((byte)(0x80 | (cp & 0x3F)));
+            }
+            else if(Character.isSurrogate(c))
+                buffer.put((byte)'?');
+            else
+            {
+                buffer.put((byte)(0xE0 | (c >> 12)));
+                buffer.put((byte)(0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte)(0x80 | (c & 0x3F)));
+            }
+        }
+    }
+    /**
+     * Writes any buffered bytes to the channel.
+     * 
+     * @throws IOException Thrown if an issue occurs writing to the channel.
+     */
+    void flush() throws IOException
+    {
+        buffer.flip();
+        while(buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+    /**
+     * Flushes the buffer and closes the channel.
+     * 
+     * @throws IOException Thrown if an issue occurs writing to the channel.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            flush();
+        }
+        finally
+        {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+/**
+ * Classifies runs of characters for the tokenizers and the cleanup rules of
+ * the stemmer, one character at a time.
+ * 
+ * Where the JDK provides the incubating Vector API (module
+ * jdk.incubator.vector, added with --add-modules), {@link #INSTANCE} is
+ * instead a subclass classifying many characters per instruction; this is
+ * compiled from the src-vector directory by the "vector" build profile,
+ * present on JDK 17 and later, and used on Java 21 and later. Both produce
+ * identical results. Setting the system property com.uea.stemmer.vector to
+ * false forces this class.
+ */
+class CharClassifier
+{
+    // Constants ***************************************************************
+    /**
+     * The classifier in use.
+     */
+    static final CharClassifier INSTANCE = create();
+    private static final String VECTOR_CLASS = "com.uea.stemmer.VectorCharClassifier";
+    // Methods - Constructors **************************************************
+    CharClassifier()
+    { }
+    // Methods *****************************************************************
+    /**
+     * @return True if characters are classified many at a time, in which case
+     * callers should favour {@link #findTokens} over their own loops.
+     */
+    boolean isVectorized()
+    {
+        return false;
+    }
+    /**
+     * Finds the tokens of a range of characters, until the range ends or the
+     * array of bounds is full; a token reaching the end of the range ends
+     * there.
+     * 
+     * @param data The characters.
+     * @param from The index of the first character; this should not be
+     * within a token.
+     * @param to The index at which to stop, exclusive.
+     * @param alpha Indicates if tokens are runs of alpha characters, rather
+     * than runs of characters other than whitespace.
+     * @param bounds Receives the start and end (exclusive) of each token, in
+     * pairs.
+     * @param count The number of tokens already within the array of bounds,
+     * after which any tokens found are stored.
+     * @return The number of tokens within the array of bounds; if the array
+     * is full, the range may hold further tokens after the end of the last.
+     */
+    int findTokens(char[] data, int from, int to, boolean alpha, int[] bounds, int count)
+    {
+        int max = bounds.length / 2;
+        int i = from;
+        // Separate loops for each kind of token keep the test of each
+        // character free of branches on the kind
+        if(alpha)
+        {
+            while(count < max)
+            {
+                while(i < to && !WhitespaceAlphaTokenizer.isAlpha(data[i]))
+                    i++;
+                if(i == to)
+                    break;
+                bounds[count * 2] = i;
+                while(i < to && WhitespaceAlphaTokenizer.isAlpha(data[i]))
+                    i++;
+                bounds[count * 2 + 1] = i;
+                count++;
+            }
+        }
+        else
+        {
+            while(count < max)
+            {
+                while(i < to && WhitespaceTokenizer.isWhitespace(data[i]))
+                    i++;
+                if(i == to)
+                    break;
+                bounds[count * 2] = i;
+                while(i < to && !WhitespaceTokenizer.isWhitespace(data[i]))
+                    i++;
+                bounds[count * 2 + 1] = i;
+                count++;
+            }
+        }
+        return count;
+    }
+    /**
+     * Lower-cases the ASCII characters of a range in-place; any other
+     * characters are untouched.
+     * 
+     * @param data The characters.
+     * @param from The index of the first character.
+     * @param to The index at which to stop, exclusive.
+     * @return True if every character of the range is ASCII.
+     */
+    boolean toLowerCase(char[] data, int from, int to)
+    {
+        boolean ascii = true;
+        for(int i = from; i < to; i++)
+        {
+            char c = data[i];
+            if(c >= 'A' && c <= 'Z')
+                data[i] = (char)(c + ('a' - 'A'));
+            else if(c > 0x7F)
+                ascii = false;
+        }
+        return ascii;
+    }
+    /**
+     * Classifies a token for the cleanup rules of the stemmer.
+     * 
+     * @param word The array holding the token.
+     * @param offset The offset of the token within the array.
+     * @param length The length of the token.
+     * @return The flags of the classes the token belongs to, as defined by
+     * {@link TokenClass}.
+     */
+    int classify(char[] word, int offset, int length)
+    {
+        return TokenClass.classify(word, offset, length);
+    }
+    // Methods - Static ********************************************************
+    /**
+     * @param c The character to be tested.
+     * @param alpha Indicates if tokens are runs of alpha characters, rather
+     * than runs of characters other than whitespace.
+     * @return True if the character belongs within a token.
+     */
+    static boolean isTokenChar(char c, boolean alpha)
+    {
+        return alpha ? WhitespaceAlphaTokenizer.isAlpha(c) : !WhitespaceTokenizer.isWhitespace(c);
+    }
+    private static CharClassifier create()
+    {
+        if(!"false".equals(System.getProperty("com.uea.stemmer.vector")))
+        {
+            try
+            {
+                return (CharClassifier)Class.forName(VECTOR_CLASS).getDeclaredConstructor().newInstance();
+            }
+            catch(ReflectiveOperationException | LinkageError ex)
+            {
+                // Not compiled, the module is absent at runtime or the
+                // release is too early
+            }
+        }
+        return new CharClassifier();
+    }
+}
@@ -25,21 +25,77 @@
  *******************************************************************************
  * Change-log:
  *      2013-11-30      New headers.
+ *      2026-10-18      Stemmed tokens share instances of Word.
+ *                      Streaming of files in chunks.
+ *                      Streaming tokenizers feed the stemmer directly.
+ *                      Files stemmed in bulk when written back.
+ *                      Stem frequencies counted without intermediate files.
+ *                      Large outputs written by a dedicated I/O thread.
+ *                      Directories stemmed incrementally.
+ *                      Rules included in the incremental signature.
+ *                      Flags of tokens preserving case passed to the stemmer.
+ *                      Stems optionally written as binary stem files.
+ *                      Files stemmed with the flags of streaming tokenizers.
+ *                      Settings of the tokenizer in the incremental signature.
+ *                      Files of streaming tokenizers read in chunks.
+ *                      Pipelined writing tuned by system properties.
+ *                      Incremental outputs synced, optionally binary.
  *******************************************************************************
  */
 package com.uea.stemmer;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 
 /**
  * A utilities class for stemming files.
+ * 
+ * Outputs of text larger than an input of 1 MB are written by a dedicated I/O
+ * thread, refer to {@link PipelinedWriter}; this is tuned by the system
+ * properties com.uea.stemmer.pipeline.threshold, the size in bytes of input
+ * above which the thread is used, com.uea.stemmer.pipeline.batch, the number
+ * of characters handed over at a time, and com.uea.stemmer.pipeline.queue,
+ * the number of batches pending before stemming waits for the disk. The
+ * properties are read as each file is opened.
  */
 public class FileStemming
 {
+    // Constants ***************************************************************
+    /**
+     * The number of characters read at a time.
+     */
+    static final int CHUNK_SIZE = 64 * 1024;
+    /**
+     * The default size, in bytes, of input above which the output is written
+     * by a dedicated I/O thread.
+     */
+    static final long PIPELINE_THRESHOLD = 1024 * 1024;
+    /**
+     * The format of stems written as text, one per line.
+     */
+    public static final int FORMAT_TEXT = 0;
+    /**
+     * The format of stems written as a binary {@link StemFile}.
+     */
+    public static final int FORMAT_BINARY = 1;
+    /**
+     * The format of stems written as a binary {@link StemFile}, including
+     * the code of the rule applied to each token.
+     */
+    public static final int FORMAT_BINARY_RULES = 2;
     // Methods - Static ********************************************************
     /**
      * Stems an entire directory (top-level only).
@@ -67,6 +123,42 @@ public class FileStemming
      */
     public static void stemDirectory(UEALite stemmer, Tokenizer tokenizer, File dirIn, File dirOut, String extension) throws IOException
     {
+        stemDirectory(stemmer, tokenizer, dirIn, dirOut, extension, false);
+    }
+    /**
+     * Stems an entire directory (top-level only).
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param tokenizer The tokenizer used for reading the tokens of the file.
+     * @param dirIn The directory to be stemmed.
+     * @param dirOut The output directory of the stemmed files.
+     * @param extension The extension appended to the stemmed files.
+     * @param streaming Indicates if files are streamed in chunks, rather than
+     * read entirely into memory; refer to {@link #stemFileStreaming}.
+     * @throws IOException Thrown if an issue occurs reading or writing to a file.
+     */
+    public static void stemDirectory(UEALite stemmer, Tokenizer tokenizer, File dirIn, File dirOut, String extension, boolean streaming) throws IOException
+    {
+        stemDirectory(stemmer, tokenizer, dirIn, dirOut, extension, streaming, FORMAT_TEXT);
+    }
+    /**
+     * Stems an entire directory (top-level only).
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param tokenizer The tokenizer used for reading the tokens of the file.
+     * @param dirIn The directory to be stemmed.
+     * @param dirOut The output directory of the stemmed files.
+     * @param extension The extension appended to the stemmed files.
+     * @param streaming Indicates if files are streamed in chunks, rather than
+     * read entirely into memory; refer to {@link #stemFileStreaming}. Binary
+     * formats are always streamed.
+     * @param format The format of the stemmed files, e.g.
+     * {@link #FORMAT_BINARY}.
+     * @throws IOException Thrown if an issue occurs reading or writing to a file.
+     */
+    public static void stemDirectory(UEALite stemmer, Tokenizer tokenizer, File dirIn, File dirOut, String extension, boolean streaming, int format) throws IOException
+    {
+        checkFormat(format);
         // Check both directories are in-fact a directory
         if(!dirIn.isDirectory())
             throw new IOException("Specified input file/path '" + dirIn.getPath() + "' is not a directory!");
@@ -76,9 +168,128 @@ public class FileStemming
         File[] files = dirIn.listFiles();
         for(File f : files)
         {
-            stemFile(stemmer, tokenizer, f, new File(dirOut.getAbsolutePath() + "/" + f.getName() + "." + extension));
+            File fileOut = new File(dirOut.getAbsolutePath() + "/" + f.getName() + "." + extension);
+            if(format != FORMAT_TEXT)
+                stemFileBinary(stemmer, tokenizer, f, fileOut, format == FORMAT_BINARY_RULES);
+            else if(streaming)
+                stemFileStreaming(stemmer, tokenizer, f, fileOut);
+            else
+                stemFile(stemmer, tokenizer, f, fileOut);
         }
     }
+    /**
+     * Stems an entire directory (top-level only) incrementally, stemming only
+     * the files which are new or have changed since the last run; outputs of
+     * files no longer present are deleted. The outputs are written as text,
+     * refer to {@link #stemDirectoryIncremental(UEALite, Tokenizer, File, File, String, boolean, int)}
+     * for binary stem files.
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param tokenizer The tokenizer used for reading the tokens of the file.
+     * @param dirIn The directory to be stemmed.
+     * @param dirOut The output directory of the stemmed files.
+     * @param extension The extension appended to the stemmed files.
+     * @param streaming Indicates if files are streamed in chunks, rather than
+     * read entirely into memory; refer to {@link #stemFileStreaming}.
+     * @return The number of files stemmed.
+     * @throws IOException Thrown if an issue occurs reading or writing to a file.
+     */
+    public static int stemDirectoryIncremental(UEALite stemmer, Tokenizer tokenizer, File dirIn, File dirOut, String extension, boolean streaming) throws IOException
+    {
+        return stemDirectoryIncremental(stemmer, tokenizer, dirIn, dirOut, extension, streaming, FORMAT_TEXT);
+    }
+    /**
+     * Stems an entire directory (top-level only) incrementally, stemming only
+     * the files which are new or have changed since the last run; outputs of
+     * files no longer present are deleted.
+     * 
+     * A manifest within the output directory records the size, modification
+     * time and content hash of each file stemmed. A file is unchanged if its
+     * size and modification time match, or if only its modification time
+     * differs and its contents hash the same; an output which is missing or
+     * of an unexpected length is written again. Each output is written to a
+     * temporary file, synced to disk and moved into place before being
+     * recorded, so an interrupted run resumes from the last file recorded.
+     * Any change to the settings, e.g. of the stemmer, tokenizer, extension
+     * or format, deletes every output recorded and stems every file again.
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param tokenizer The tokenizer used for reading the tokens of the file.
+     * @param dirIn The directory to be stemmed.
+     * @param dirOut The output directory of the stemmed files.
+     * @param extension The extension appended to the stemmed files.
+     * @param streaming Indicates if files are streamed in chunks, rather than
+     * read entirely into memory; refer to {@link #stemFileStreaming}. Binary
+     * formats are always streamed.
+     * @param format The format of the stemmed files, e.g. {@link #FORMAT_TEXT}.
+     * @return The number of files stemmed.
+     * @throws IOException Thrown if an issue occurs reading or writing to a file.
+     */
+    public static int stemDirectoryIncremental(UEALite stemmer, Tokenizer tokenizer, File dirIn, File dirOut, String extension, boolean streaming, int format) throws IOException
+    {
+        checkFormat(format);
+        if(!dirIn.isDirectory())
+            throw new IOException("Specified input file/path '" + dirIn.getPath() + "' is not a directory!");
+        if(!dirOut.isDirectory() && !dirOut.mkdir())
+            throw new IOException("Specified output file/path '" + dirOut.getPath() + "' is not a directory!");
+        // Any change to the settings affecting the outputs stems every file
+        String signature = describe(tokenizer) + " " + extension + " " + stemmer.getMaxWordLength() + " " + stemmer.getMaxAcronymLength() + " " + stemmer.getRules().getDigest() + " " + format;
+        StemManifest manifest = StemManifest.open(dirOut, signature);
+        int stemmed = 0;
+        try
+        {
+            HashSet<String> present = new HashSet<>();
+            for(File f : dirIn.listFiles())
+            {
+                if(f.isDirectory())
+                    continue;
+                String name = f.getName();
+                present.add(name);
+                File fileOut = new File(dirOut, name + "." + extension);
+                long size = f.length();
+                long modified = f.lastModified();
+                StemManifest.Entry entry = manifest.get(name);
+                boolean outputValid = entry != null && fileOut.isFile() && fileOut.length() == entry.outputLength;
+                if(outputValid && entry.size == size && entry.modified == modified)
+                    continue;
+                // Only hash files which appear to have changed
+                String hash = StemManifest.hash(f);
+                if(!outputValid || entry.size != size || !entry.hash.equals(hash))
+                {
+                    File temp = StemManifest.createTempFile(dirOut);
+                    try
+                    {
+                        if(format != FORMAT_TEXT)
+                            stemFileBinary(stemmer, tokenizer, f, temp, format == FORMAT_BINARY_RULES);
+                        else if(streaming)
+                            stemFileStreaming(stemmer, tokenizer, f, temp);
+                        else
+                            stemFile(stemmer, tokenizer, f, temp);
+                        // The output reaches the disk before it is recorded
+                        StemManifest.sync(temp);
+                        StemManifest.replace(temp, fileOut);
+                    }
+                    finally
+                    {
+                        temp.delete();
+                    }
+                    stemmed++;
+                }
+                manifest.record(name, new StemManifest.Entry(size, modified, hash, fileOut.getName(), fileOut.length()));
+            }
+            // Delete the outputs of files since removed
+            for(String name : manifest.getNames())
+            {
+                if(!present.contains(name))
+                    manifest.remove(name);
+            }
+        }
+        finally
+        {
+            manifest.close();
+        }
+        return stemmed;
+    }
     /**
      * Applies the stemmer to a file.
      * 
@@ -120,25 +331,36 @@ public class FileStemming
      * @param fileIn The file to be stemmed; this should be a plain-text file,
      * with tokens separated by whitespace.
      * @param fileOut The file for outputting the stemmed data, with each token
-     * on a new line (\n).
+     * on a new line (\n); the stems are identical to those of
+     * {@link #stemFileStreaming}.
      * @throws FileNotFoundException Thrown if the file to be stemmed cannot be
      * located.
      * @throws IOException Thrown if an issue occurs reading the file.
      */
     public static void stemFile(UEALite stemmer, Tokenizer tokenizer, File fileIn, File fileOut) throws FileNotFoundException, IOException
     {
-        // Stem the file's tokens
-        Word[] words = stemFile(stemmer, tokenizer, fileIn);
+        // Streaming tokenizers pass each token straight to the stemmer, with
+        // any flags, e.g. of case, which tokens returned as strings lack; the
+        // file is read in chunks, rather than held whole
+        if(tokenizer instanceof StreamingTokenizer)
+        {
+            stemFileStreaming(stemmer, tokenizer, fileIn, fileOut);
+            return;
+        }
+        // Stem the file's tokens in bulk
+        String[] tokens = tokenizer.tokenize(read(fileIn));
+        String[] stems = new String[tokens.length];
+        stemmer.stemAll(tokens, stems, null);
         // Write back to file
-        FileWriter fw = new FileWriter(fileOut);
-        for(int i = 0; i < words.length; i++)
+        try(Writer fw = openWriter(fileOut, fileIn.length()))
         {
-            fw.append(words[i].getWord());
-            if(i < words.length-1)
-                fw.append('\n');
+            for(int i = 0; i < stems.length; i++)
+            {
+                fw.write(stems[i]);
+                if(i < stems.length-1)
+                    fw.write('\n');
+            }
         }
-        fw.flush();
-        fw.close();
     }
     /**
      * Applies the stemmer to a file.
@@ -147,27 +369,500 @@ public class FileStemming
      * @param tokenizer The tokenizer used for reading the tokens of the file.
      * @param fileIn The file to be stemmed; this should be a plain-text file,
      * with tokens separated by whitespace.
-     * @return Tokens of file, with stemming applied.
+     * @param fileOut The file for outputting the stemmed data.
+     * @param format The format of the stemmed data, e.g.
+     * {@link #FORMAT_BINARY}; binary formats are always streamed, refer to
+     * {@link #stemFileBinary}.
+     * @throws FileNotFoundException Thrown if the file to be stemmed cannot be
+     * located.
+     * @throws IOException Thrown if an issue occurs reading or writing the
+     * file.
+     */
+    public static void stemFile(UEALite stemmer, Tokenizer tokenizer, File fileIn, File fileOut, int format) throws FileNotFoundException, IOException
+    {
+        checkFormat(format);
+        if(format == FORMAT_TEXT)
+            stemFile(stemmer, tokenizer, fileIn, fileOut);
+        else
+            stemFileBinary(stemmer, tokenizer, fileIn, fileOut, format == FORMAT_BINARY_RULES);
+    }
+    /**
+     * Applies the stemmer to a file, streaming the file in chunks and writing
+     * the stems as a binary {@link StemFile}; each distinct stem is written
+     * once, and each token as the ID of its stem.
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param tokenizer The tokenizer used for reading the tokens of the file;
+     * tokens must not span whitespace, as is the case for the tokenizers of
+     * this package.
+     * @param fileIn The file to be stemmed; this should be a plain-text file,
+     * with tokens separated by whitespace.
+     * @param fileOut The stem file to be written.
+     * @param rules Indicates if the code of the rule applied to each token is
+     * included.
+     * @return The number of tokens stemmed.
+     * @throws FileNotFoundException Thrown if the file to be stemmed cannot be
+     * located.
+     * @throws IOException Thrown if an issue occurs reading or writing the
+     * file.
+     */
+    public static long stemFileBinary(UEALite stemmer, Tokenizer tokenizer, File fileIn, File fileOut, boolean rules) throws FileNotFoundException, IOException
+    {
+        try(Reader in = new FileReader(fileIn);
+            StemFileWriter out = new StemFileWriter(FileChannel.open(fileOut.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), rules))
+        {
+            tokenize(tokenizer, in, new BinaryHandler(stemmer, out));
+            return out.getTokenCount();
+        }
+    }
+    /**
+     * Describes a tokenizer by its class and any settings altering its
+     * tokens, for the signature of an incremental run.
+     */
+    private static String describe(Tokenizer tokenizer)
+    {
+        String name = tokenizer.getClass().getName();
+        if(tokenizer instanceof CasePreservingTokenizer)
+            return name + (((CasePreservingTokenizer)tokenizer).isAlpha() ? "(alpha)" : "");
+        return name;
+    }
+    private static void checkFormat(int format)
+    {
+        if(format < FORMAT_TEXT || format > FORMAT_BINARY_RULES)
+            throw new IllegalArgumentException("Unknown output format " + format + "!");
+    }
+    /**
+     * Applies the stemmer to a file.
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param tokenizer The tokenizer used for reading the tokens of the file.
+     * @param fileIn The file to be stemmed; this should be a plain-text file,
+     * with tokens separated by whitespace.
+     * @return Tokens of file, with stemming applied; identical tokens share
+     * the same instance, as do tokens of identical stem and rule when the
+     * tokenizer is a {@link StreamingTokenizer}.
      * @throws FileNotFoundException Thrown if the file to be stemmed cannot be
      * located.
      * @throws IOException Thrown if an issue occurs reading the file.
      */
     public static Word[] stemFile(UEALite stemmer, Tokenizer tokenizer, File fileIn) throws FileNotFoundException, IOException
     {
-        // Read the file
-        FileReader fr = new FileReader(fileIn);
-        char[] buffer = new char[(int)fileIn.length()];
-        fr.read(buffer);
-        fr.close();
-        String data = new String(buffer);
+        // The same token may be stemmed differently by its flags, e.g. when
+        // starting a sentence, so streamed tokens share by stem instead
+        if(tokenizer instanceof StreamingTokenizer)
+        {
+            WordHandler handler = new WordHandler(stemmer);
+            try(Reader in = new FileReader(fileIn))
+            {
+                tokenize(tokenizer, in, handler);
+            }
+            return handler.words.toArray(new Word[handler.words.size()]);
+        }
         // Apply tokenizer to data
-        String[] tokens = tokenizer.tokenize(data);
-        // Stem each token
+        String[] tokens = tokenizer.tokenize(read(fileIn));
+        // Stem each token; repeated tokens share the same instance, as the
+        // result never varies
         Word[] tokensStemmed = new Word[tokens.length];
+        HashMap<String, Word> stemmed = new HashMap<>();
         for(int i = 0; i < tokens.length; i++)
         {
-            tokensStemmed[i] = stemmer.stem(tokens[i]);
+            Word word = stemmed.get(tokens[i]);
+            if(word == null)
+            {
+                word = stemmer.stem(tokens[i]);
+                stemmed.put(tokens[i], word);
+            }
+            tokensStemmed[i] = word;
         }
         return tokensStemmed;
     }
+    /**
+     * Opens a writer of a file of stems, with the default charset; for large
+     * inputs, the writer hands the stems to a dedicated I/O thread, so
+     * stemming and writing overlap, as set by the system properties of the
+     * pipeline.
+     * 
+     * @param fileOut The file to be written.
+     * @param inputLength The length of the input being stemmed, in bytes.
+     * @return The writer.
+     * @throws IOException Thrown if the file cannot be opened.
+     */
+    static Writer openWriter(File fileOut, long inputLength) throws IOException
+    {
+        if(inputLength > Long.getLong("com.uea.stemmer.pipeline.threshold", PIPELINE_THRESHOLD))
+        {
+            return new PipelinedWriter(fileOut, Charset.defaultCharset(),
+                    Integer.getInteger("com.uea.stemmer.pipeline.batch", PipelinedWriter.DEFAULT_BATCH_SIZE),
+                    Integer.getInteger("com.uea.stemmer.pipeline.queue", PipelinedWriter.DEFAULT_QUEUE_DEPTH));
+        }
+        return new BufferedWriter(new FileWriter(fileOut), CHUNK_SIZE);
+    }
+    /**
+     * Reads an entire file; a single read is not guaranteed to fill the
+     * buffer, so reads continue until the end of the file.
+     * 
+     * @param file The file to be read.
+     * @return The contents of the file.
+     * @throws FileNotFoundException Thrown if the file cannot be located.
+     * @throws IOException Thrown if an issue occurs reading the file.
+     */
+    private static String read(File file) throws FileNotFoundException, IOException
+    {
+        StringBuilder data = new StringBuilder((int)Math.min(file.length(), Integer.MAX_VALUE - 8));
+        try(FileReader fr = new FileReader(file))
+        {
+            char[] buffer = new char[CHUNK_SIZE];
+            int read;
+            while((read = fr.read(buffer)) != -1)
+                data.append(buffer, 0, read);
+        }
+        return data.toString();
+    }
+    /**
+     * Applies the stemmer to a file, streaming the file in chunks; memory use
+     * is constant, regardless of the size of the file.
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param tokenizer The tokenizer used for reading the tokens of the file;
+     * tokens must not span whitespace, as is the case for the tokenizers of
+     * this package.
+     * @param fileIn The file to be stemmed; this should be a plain-text file,
+     * with tokens separated by whitespace.
+     * @param fileOut The file for outputting the stemmed data, with each token
+     * on a new line (\n).
+     * @return The number of tokens stemmed.
+     * @throws FileNotFoundException Thrown if the file to be stemmed cannot be
+     * located.
+     * @throws IOException Thrown if an issue occurs reading or writing the
+     * file.
+     */
+    public static long stemFileStreaming(UEALite stemmer, Tokenizer tokenizer, File fileIn, File fileOut) throws FileNotFoundException, IOException
+    {
+        try(Reader in = new FileReader(fileIn); Writer out = openWriter(fileOut, fileIn.length()))
+        {
+            return stemStream(stemmer, tokenizer, in, out);
+        }
+    }
+    /**
+     * Applies the stemmer to a stream of characters, reading the stream in
+     * chunks and writing the stems as each chunk is tokenized; a chunk only
+     * grows when a single token does not fit within it. A
+     * {@link StreamingTokenizer} is used as such, so no strings are created
+     * per token.
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param tokenizer The tokenizer used for reading the tokens of the stream;
+     * tokens must not span whitespace, as is the case for the tokenizers of
+     * this package.
+     * @param in The stream to be stemmed; this is not closed.
+     * @param out The stream for outputting the stemmed data, with each token
+     * on a new line (\n); this is not closed.
+     * @return The number of tokens stemmed.
+     * @throws IOException Thrown if an issue occurs reading or writing a
+     * stream.
+     */
+    public static long stemStream(UEALite stemmer, Tokenizer tokenizer, Reader in, Writer out) throws IOException
+    {
+        StemmingHandler handler = new StemmingHandler(stemmer, out);
+        tokenize(tokenizer, in, handler);
+        out.flush();
+        return handler.tokens;
+    }
+    /**
+     * Counts the frequency of each stem of a directory (top-level only), in a
+     * single pass without writing the stemmed tokens.
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param tokenizer The tokenizer used for reading the tokens of the files;
+     * tokens must not span whitespace, as is the case for the tokenizers of
+     * this package.
+     * @param dirIn The directory to be counted.
+     * @param dirOut The output directory of the frequencies of each file, or
+     * null to only count the directory as a whole.
+     * @param extension The extension appended to the frequency files.
+     * @return The frequencies of the directory as a whole.
+     * @throws IOException Thrown if an issue occurs reading or writing to a file.
+     * @see StemCounts#write(Writer)
+     */
+    public static StemCounts countDirectory(UEALite stemmer, Tokenizer tokenizer, File dirIn, File dirOut, String extension) throws IOException
+    {
+        if(!dirIn.isDirectory())
+            throw new IOException("Specified input file/path '" + dirIn.getPath() + "' is not a directory!");
+        if(dirOut != null && !dirOut.isDirectory() && !dirOut.mkdir())
+            throw new IOException("Specified output file/path '" + dirOut.getPath() + "' is not a directory!");
+        StemCounts corpus = new StemCounts();
+        StemCounts document = new StemCounts();
+        for(File f : dirIn.listFiles())
+        {
+            if(f.isDirectory())
+                continue;
+            document.clear();
+            countFile(stemmer, tokenizer, f, document);
+            if(dirOut != null)
+                document.write(new File(dirOut, f.getName() + "." + extension));
+            corpus.merge(document);
+        }
+        return corpus;
+    }
+    /**
+     * Counts the frequency of each stem of a file, in a single pass without
+     * writing the stemmed tokens.
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param tokenizer The tokenizer used for reading the tokens of the file;
+     * tokens must not span whitespace, as is the case for the tokenizers of
+     * this package.
+     * @param fileIn The file to be counted; this should be a plain-text file,
+     * with tokens separated by whitespace.
+     * @return The frequencies of the file.
+     * @throws FileNotFoundException Thrown if the file cannot be located.
+     * @throws IOException Thrown if an issue occurs reading the file.
+     */
+    public static StemCounts countFile(UEALite stemmer, Tokenizer tokenizer, File fileIn) throws FileNotFoundException, IOException
+    {
+        StemCounts counts = new StemCounts();
+        countFile(stemmer, tokenizer, fileIn, counts);
+        return counts;
+    }
+    /**
+     * Counts the frequency of each stem of a file, in a single pass without
+     * writing the stemmed tokens.
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param tokenizer The tokenizer used for reading the tokens of the file;
+     * tokens must not span whitespace, as is the case for the tokenizers of
+     * this package.
+     * @param fileIn The file to be counted; this should be a plain-text file,
+     * with tokens separated by whitespace.
+     * @param counts The frequencies, to which the stems of the file are added.
+     * @return The number of tokens counted.
+     * @throws FileNotFoundException Thrown if the file cannot be located.
+     * @throws IOException Thrown if an issue occurs reading the file.
+     */
+    public static long countFile(UEALite stemmer, Tokenizer tokenizer, File fileIn, StemCounts counts) throws FileNotFoundException, IOException
+    {
+        try(Reader in = new FileReader(fileIn))
+        {
+            return countStream(stemmer, tokenizer, in, counts);
+        }
+    }
+    /**
+     * Counts the frequency of each stem of a stream of characters, reading the
+     * stream in chunks as with {@link #stemStream}.
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param tokenizer The tokenizer used for reading the tokens of the stream;
+     * tokens must not span whitespace, as is the case for the tokenizers of
+     * this package.
+     * @param in The stream to be counted; this is not closed.
+     * @param counts The frequencies, to which the stems of the stream are
+     * added.
+     * @return The number of tokens counted.
+     * @throws IOException Thrown if an issue occurs reading the stream.
+     */
+    public static long countStream(UEALite stemmer, Tokenizer tokenizer, Reader in, StemCounts counts) throws IOException
+    {
+        CountingHandler handler = new CountingHandler(stemmer, counts);
+        tokenize(tokenizer, in, handler);
+        return handler.tokens;
+    }
+    /**
+     * Tokenizes a stream of characters in chunks, passing each token to a
+     * handler; a chunk only grows when a single token does not fit within it.
+     */
+    private static void tokenize(Tokenizer tokenizer, Reader in, StemHandler handler) throws IOException
+    {
+        // Streaming tokenizers pass each token straight to the stemmer, without
+        // any strings being created
+        if(tokenizer instanceof StreamingTokenizer)
+        {
+            ((StreamingTokenizer)tokenizer).tokenize(in, handler);
+            return;
+        }
+        char[] buffer = new char[CHUNK_SIZE];
+        int end = 0;
+        int read;
+        while((read = in.read(buffer, end, buffer.length - end)) != -1)
+        {
+            end += read;
+            // Tokenize up to the last whitespace, carrying any partial token
+            // over to the next chunk
+            int split = end;
+            while(split > 0 && !WhitespaceTokenizer.isWhitespace(buffer[split - 1]))
+                split--;
+            if(split > 0)
+            {
+                for(String token : tokenizer.tokenize(new String(buffer, 0, split)))
+                    handler.token(token);
+                System.arraycopy(buffer, split, buffer, 0, end - split);
+                end -= split;
+            }
+            else if(end == buffer.length)
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        if(end > 0)
+        {
+            for(String token : tokenizer.tokenize(new String(buffer, 0, end)))
+                handler.token(token);
+        }
+    }
+    // Classes *****************************************************************
+    /**
+     * Stems each token handled, whether passed as characters by a streaming
+     * tokenizer or as a string.
+     */
+    private abstract static class StemHandler implements TokenHandler
+    {
+        final UEALite       stemmer;
+        final StemResult    result = new StemResult();
+        long                tokens;
+        StemHandler(UEALite stemmer)
+        {
+            this.stemmer = stemmer;
+        }
+        abstract void token(String token) throws IOException;
+    }
+    /**
+     * Stems each token handled, writing the stems to a stream.
+     */
+    private static final class StemmingHandler extends StemHandler
+    {
+        private final Writer        out;
+        StemmingHandler(UEALite stemmer, Writer out)
+        {
+            super(stemmer);
+            this.out = out;
+        }
+        @Override
+        public void token(char[] data, int offset, int length) throws IOException
+        {
+            if(tokens++ > 0)
+                out.write('\n');
+            int stemLength = stemmer.stem(data, offset, length, result);
+            out.write(result.getBuffer(), 0, stemLength);
+        }
+        @Override
+        public void token(char[] data, int offset, int length, int flags) throws IOException
+        {
+            if(tokens++ > 0)
+                out.write('\n');
+            int stemLength = stemmer.stem(data, offset, length, flags, result);
+            out.write(result.getBuffer(), 0, stemLength);
+        }
+        @Override
+        void token(String token) throws IOException
+        {
+            if(tokens++ > 0)
+                out.write('\n');
+            out.write(stemmer.stem(token).getWord());
+        }
+    }
+    /**
+     * Stems each token handled, collecting the stems as words; words of
+     * identical stem and rule share the same instance.
+     */
+    private static final class WordHandler extends StemHandler
+    {
+        final ArrayList<Word>           words = new ArrayList<>();
+        private final HashMap<String, Word> stems = new HashMap<>();
+        WordHandler(UEALite stemmer)
+        {
+            super(stemmer);
+        }
+        @Override
+        public void token(char[] data, int offset, int length)
+        {
+            stemmer.stem(data, offset, length, result);
+            add();
+        }
+        @Override
+        public void token(char[] data, int offset, int length, int flags)
+        {
+            stemmer.stem(data, offset, length, flags, result);
+            add();
+        }
+        @Override
+        void token(String token)
+        {
+            stemmer.stem(token, result);
+            add();
+        }
+        private void add()
+        {
+            tokens++;
+            String stem = result.toString();
+            Word word = stems.get(stem);
+            if(word == null || word.getRuleCode() != result.getRuleCode())
+            {
+                word = Word.of(stem, result.getRuleCode());
+                stems.put(stem, word);
+            }
+            words.add(word);
+        }
+    }
+    /**
+     * Stems each token handled, writing the stems to a stem file.
+     */
+    private static final class BinaryHandler extends StemHandler
+    {
+        private final StemFileWriter    out;
+        BinaryHandler(UEALite stemmer, StemFileWriter out)
+        {
+            super(stemmer);
+            this.out = out;
+        }
+        @Override
+        public void token(char[] data, int offset, int length) throws IOException
+        {
+            tokens++;
+            stemmer.stem(data, offset, length, result);
+            out.write(result);
+        }
+        @Override
+        public void token(char[] data, int offset, int length, int flags) throws IOException
+        {
+            tokens++;
+            stemmer.stem(data, offset, length, flags, result);
+            out.write(result);
+        }
+        @Override
+        void token(String token) throws IOException
+        {
+            tokens++;
+            stemmer.stem(token, result);
+            out.write(result);
+        }
+    }
+    /**
+     * Stems each token handled, counting the stems.
+     */
+    private static final class CountingHandler extends StemHandler
+    {
+        private final StemCounts    counts;
+        CountingHandler(UEALite stemmer, StemCounts counts)
+        {
+            super(stemmer);
+            this.counts = counts;
+        }
+        @Override
+        public void token(char[] data, int offset, int length)
+        {
+            tokens++;
+            stemmer.stem(data, offset, length, result);
+            counts.add(result);
+        }
+        @Override
+        public void token(char[] data, int offset, int length, int flags)
+        {
+            tokens++;
+            stemmer.stem(data, offset, length, flags, result);
+            counts.add(result);
+        }
+        @Override
+        void token(String token)
+        {
+            tokens++;
+            counts.add(stemmer.stem(token));
+        }
+    }
 }
@@ -0,0 +1,363 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *                      Digest of the rules recorded, checked when configured.
+ *                      Words shared once found; probing bounded.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+
+/**
+ * A precomputed dictionary of words and their stems, consulted by the stemmer
+ * before any rules; a lexicon is built once from a list of words and loaded
+ * by memory-mapping the file, so loading takes constant time regardless of
+ * the size of the vocabulary.
+ * 
+ * The file holds a header, an open-addressed hash table and the entries:
+ * 
+ *  int magic, int version, int max word length, int entries, int slots,
+ *  digest of the rules as 64 hexadecimal ASCII characters
+ *  slots x (int hash, int entry offset, or -1 if empty)
+ *  entries x (char word length, char stem length, char rule code, word, stem)
+ * 
+ * The table is at most half full, so a lookup usually probes a single slot;
+ * the stored hash avoids reading the entries of colliding words. The word of
+ * each entry is created once found, and then shared. Instances are safe for
+ * use by multiple threads.
+ */
+public final class Lexicon
+{
+    // Constants ***************************************************************
+    private static final int MAGIC = 0x5545414C;        // "UEAL"
+    private static final int VERSION = 2;
+    private static final int DIGEST_SIZE = 64;
+    private static final int HEADER_SIZE = 20 + DIGEST_SIZE;
+    private static final int SLOT_SIZE = 8;
+    private static final int ENTRY_HEADER_CHARS = 3;
+    private static final int PAGE_BITS = 10;
+    // Fields ******************************************************************
+    private final ByteBuffer    table;
+    private final CharBuffer    entries;
+    private final int           slotMask;
+    private final int           size;
+    private final int           maxWordLength;
+    private final String        rulesDigest;
+    private final Word[][]      words;
+    // Methods - Constructors **************************************************
+    private Lexicon(ByteBuffer buffer) throws IOException
+    {
+        if(buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+            throw new IOException("Not a lexicon file");
+        if(buffer.getInt(4) != VERSION)
+            throw new IOException("Unsupported lexicon version " + buffer.getInt(4));
+        maxWordLength = buffer.getInt(8);
+        size = buffer.getInt(12);
+        int slots = buffer.getInt(16);
+        if(Integer.bitCount(slots) != 1 || HEADER_SIZE + (long)slots * SLOT_SIZE > buffer.capacity())
+            throw new IOException("Corrupt lexicon table");
+        if(size < 0 || (long)size * 2 > slots)
+            throw new IOException("Corrupt lexicon table, more than half full");
+        slotMask = slots - 1;
+        words = new Word[((slots - 1) >>> PAGE_BITS) + 1][];
+        byte[] digest = new byte[DIGEST_SIZE];
+        buffer.position(20);
+        buffer.get(digest);
+        rulesDigest = new String(digest, StandardCharsets.US_ASCII);
+        table = buffer;
+        buffer.position(HEADER_SIZE + slots * SLOT_SIZE);
+        entries = buffer.slice().asCharBuffer();
+        buffer.position(0);
+    }
+    // Methods *****************************************************************
+    /**
+     * Looks up a word.
+     * 
+     * @param word The word; this should be lower-case.
+     * @return The stemmed variant of the word, or null if the word is not
+     * within the lexicon.
+     */
+    public Word get(String word)
+    {
+        int slot = find(word);
+        if(slot == -1)
+            return null;
+        // Pages of words are created on demand; as words are immutable, a
+        // lost write to the table only costs an instance
+        Word[] page = words[slot >>> PAGE_BITS];
+        if(page == null)
+            words[slot >>> PAGE_BITS] = page = new Word[1 << PAGE_BITS];
+        Word stemmed = page[slot & ((1 << PAGE_BITS) - 1)];
+        if(stemmed == null)
+            page[slot & ((1 << PAGE_BITS) - 1)] = stemmed = read(word, entry(slot));
+        return stemmed;
+    }
+    private Word read(String word, int entry)
+    {
+        int wordLength = entries.get(entry);
+        int stemLength = entries.get(entry + 1);
+        int rule = entries.get(entry + 2);
+        int stemOffset = entry + ENTRY_HEADER_CHARS + wordLength;
+        // Avoid a new string when the word is unchanged
+        if(stemLength == wordLength && equals(word, stemOffset))
+            return Word.of(word, rule);
+        char[] stem = new char[stemLength];
+        for(int i = 0; i < stemLength; i++)
+            stem[i] = entries.get(stemOffset + i);
+        return Word.of(new String(stem), rule);
+    }
+    /**
+     * Looks up a word, replacing it with its stem if present.
+     * 
+     * @param word The word, which is altered in-place.
+     * @return The code of the rule applied to the word, or -1 if the word is
+     * not within the lexicon.
+     */
+    int stem(StemResult word)
+    {
+        int slot = find(word);
+        if(slot == -1)
+            return -1;
+        int entry = entry(slot);
+        int wordLength = entries.get(entry);
+        word.set(entries, entry + ENTRY_HEADER_CHARS + wordLength, entries.get(entry + 1));
+        return entries.get(entry + 2);
+    }
+    /**
+     * @param word The word to be found.
+     * @return The slot of the word, or -1 if not present.
+     */
+    private int find(CharSequence word)
+    {
+        int wordLength = word.length();
+        if(size == 0 || wordLength > maxWordLength)
+            return -1;
+        int hash = hash(word);
+        int slot = spread(hash) & slotMask;
+        // Bounded, should the table of a corrupt file have no empty slot
+        for(int probes = 0; probes <= slotMask; probes++)
+        {
+            int position = HEADER_SIZE + slot * SLOT_SIZE;
+            int entry = table.getInt(position + 4);
+            if(entry == -1)
+                return -1;
+            if(table.getInt(position) == hash && entries.get(entry) == wordLength && equals(word, entry + ENTRY_HEADER_CHARS))
+                return slot;
+            slot = (slot + 1) & slotMask;
+        }
+        return -1;
+    }
+    private int entry(int slot)
+    {
+        return table.getInt(HEADER_SIZE + slot * SLOT_SIZE + 4);
+    }
+    private boolean equals(CharSequence word, int offset)
+    {
+        for(int i = 0; i < word.length(); i++)
+        {
+            if(word.charAt(i) != entries.get(offset + i))
+                return false;
+        }
+        return true;
+    }
+    // Methods - Accessors *****************************************************
+    /**
+     * @return The number of words within the lexicon.
+     */
+    public int getSize()
+    {
+        return size;
+    }
+    /**
+     * @return The maximum length of a word to be stemmed, of the stemmer which
+     * built the lexicon.
+     */
+    public int getMaxWordLength()
+    {
+        return maxWordLength;
+    }
+    /**
+     * @return The digest of the rules of the stemmer which built the lexicon;
+     * refer to {@link RuleSet#getDigest()}.
+     */
+    public String getRulesDigest()
+    {
+        return rulesDigest;
+    }
+    // Methods - Static ********************************************************
+    /**
+     * Loads a lexicon, by memory-mapping the file; the file should not be
+     * altered while the lexicon is in use.
+     * 
+     * @param file The lexicon file.
+     * @return The lexicon.
+     * @throws IOException Thrown if the file cannot be read or is not a
+     * lexicon.
+     */
+    public static Lexicon load(File file) throws IOException
+    {
+        try(RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel())
+        {
+            if(channel.size() > Integer.MAX_VALUE)
+                throw new IOException("Lexicon '" + file.getPath() + "' is too large");
+            // The mapping remains valid once the channel is closed
+            return new Lexicon(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+    /**
+     * Builds a lexicon, by stemming each word with the rules of the stemmer;
+     * duplicate words are stored once and words longer than the maximum word
+     * length of the stemmer are skipped.
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param words The words; these should be lower-case.
+     * @param file The destination lexicon file.
+     * @throws IOException Thrown if an issue occurs writing the file.
+     */
+    public static void write(UEALite stemmer, Collection<String> words, File file) throws IOException
+    {
+        // Stem each distinct word
+        int maxWordLength = stemmer.getMaxWordLength();
+        ArrayList<String> distinct = new ArrayList<>();
+        for(String word : new LinkedHashSet<>(words))
+        {
+            if(word.length() <= maxWordLength)
+                distinct.add(word);
+        }
+        String[] in = distinct.toArray(new String[distinct.size()]);
+        String[] stems = new String[in.length];
+        int[] rules = new int[in.length];
+        stemmer.stemAll(in, stems, rules);
+        // Size the table to at most half full
+        int slots = Integer.highestOneBit(Math.max(1, in.length) * 2 - 1) << 1;
+        long charCount = 0;
+        for(int i = 0; i < in.length; i++)
+        {
+            if(in[i].length() > Character.MAX_VALUE || stems[i].length() > Character.MAX_VALUE)
+                throw new IllegalArgumentException("Word too long for a lexicon: " + in[i]);
+            charCount += ENTRY_HEADER_CHARS + in[i].length() + stems[i].length();
+        }
+        long fileSize = HEADER_SIZE + (long)slots * SLOT_SIZE + charCount * 2;
+        if(fileSize > Integer.MAX_VALUE)
+            throw new IOException("Too many words for a lexicon");
+        ByteBuffer buffer = ByteBuffer.allocate((int)fileSize);
+        byte[] digest = stemmer.getRules().getDigest().getBytes(StandardCharsets.US_ASCII);
+        if(digest.length != DIGEST_SIZE)
+            throw new IllegalStateException("Digest of the rules is not " + DIGEST_SIZE + " characters");
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(maxWordLength).putInt(in.length).putInt(slots).put(digest);
+        for(int i = 0; i < slots; i++)
+            buffer.putInt(0).putInt(-1);
+        // Append each entry, claiming a slot by linear probing
+        int entry = 0;
+        for(int i = 0; i < in.length; i++)
+        {
+            int hash = hash(in[i]);
+            int slot = spread(hash) & (slots - 1);
+            while(buffer.getInt(HEADER_SIZE + slot * SLOT_SIZE + 4) != -1)
+                slot = (slot + 1) & (slots - 1);
+            buffer.putInt(HEADER_SIZE + slot * SLOT_SIZE, hash);
+            buffer.putInt(HEADER_SIZE + slot * SLOT_SIZE + 4, entry);
+            buffer.putChar((char)in[i].length()).putChar((char)stems[i].length()).putChar((char)rules[i]);
+            for(int j = 0; j < in[i].length(); j++)
+                buffer.putChar(in[i].charAt(j));
+            for(int j = 0; j < stems[i].length(); j++)
+                buffer.putChar(stems[i].charAt(j));
+            entry += ENTRY_HEADER_CHARS + in[i].length() + stems[i].length();
+        }
+        try(FileOutputStream out = new FileOutputStream(file))
+        {
+            out.write(buffer.array());
+        }
+    }
+    /**
+     * Builds a lexicon from a file of words, one or more per line separated
+     * by whitespace.
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param wordList The file of words, as UTF-8; these should be lower-case.
+     * @param file The destination lexicon file.
+     * @throws IOException Thrown if an issue occurs reading or writing the
+     * files.
+     */
+    public static void write(UEALite stemmer, File wordList, File file) throws IOException
+    {
+        ArrayList<String> words = new ArrayList<>();
+        WhitespaceTokenizer tokenizer = new WhitespaceTokenizer();
+        try(BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(wordList), StandardCharsets.UTF_8)))
+        {
+            String line;
+            while((line = br.readLine()) != null)
+            {
+                for(String word : tokenizer.tokenize(line))
+                    words.add(word);
+            }
+        }
+        write(stemmer, words, file);
+    }
+    private static int hash(CharSequence word)
+    {
+        int hash = 0;
+        for(int i = 0; i < word.length(); i++)
+            hash = 31 * hash + word.charAt(i);
+        return hash;
+    }
+    private static int spread(int hash)
+    {
+        return hash ^ (hash >>> 16);
+    }
+    /**
+     * Builds a lexicon from a file of words, with the default settings of the
+     * stemmer.
+     * 
+     * @param args The file of words and the destination lexicon file.
+     * @throws IOException Thrown if an issue occurs reading or writing the
+     * files.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if(args.length != 2)
+        {
+            System.err.println("Usage: Lexicon <word-list> <lexicon>");
+            System.exit(1);
+        }
+        write(new UEALite(), new File(args[0]), new File(args[1]));
+    }
+}
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A utilities class for stemming large files by memory-mapping them and
+ * tokenizing their bytes directly; only tokens containing non-ASCII
+ * characters are decoded, and the stems are written through a direct buffer
+ * to a channel.
+ * 
+ * Unlike {@link FileStemming}, which uses the default charset, files are read
+ * and written as UTF-8; for ASCII and UTF-8 files the output is identical.
+ */
+public class MappedFileStemming
+{
+    // Constants ***************************************************************
+    /**
+     * The default number of bytes mapped at a time.
+     */
+    public static final long DEFAULT_WINDOW_SIZE = 256L * 1024 * 1024;
+    /**
+     * The size of the output buffer, in bytes.
+     */
+    static final int OUTPUT_BUFFER_SIZE = 1024 * 1024;
+    // Methods - Constructors **************************************************
+    private MappedFileStemming()
+    { }
+    // Methods - Static ********************************************************
+    /**
+     * Applies the stemmer to a file.
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param tokenizer The tokenizer used for reading the tokens of the file.
+     * @param fileIn The file to be stemmed; this should be a UTF-8 plain-text
+     * file, with tokens separated by whitespace.
+     * @param fileOut The file for outputting the stemmed data, with each token
+     * on a new line (\n).
+     * @return The number of tokens stemmed.
+     * @throws IOException Thrown if an issue occurs reading or writing the
+     * file.
+     */
+    public static long stemFile(UEALite stemmer, ByteTokenizer tokenizer, File fileIn, File fileOut) throws IOException
+    {
+        return stemFile(stemmer, tokenizer, fileIn, fileOut, DEFAULT_WINDOW_SIZE);
+    }
+    /**
+     * Applies the stemmer to a file, mapping the file one window at a time;
+     * a window only grows when a single token does not fit within it.
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param tokenizer The tokenizer used for reading the tokens of the file.
+     * @param fileIn The file to be stemmed; this should be a UTF-8 plain-text
+     * file, with tokens separated by whitespace.
+     * @param fileOut The file for outputting the stemmed data, with each token
+     * on a new line (\n).
+     * @param windowSize The number of bytes mapped at a time.
+     * @return The number of tokens stemmed.
+     * @throws IOException Thrown if an issue occurs reading or writing the
+     * file.
+     */
+    public static long stemFile(UEALite stemmer, ByteTokenizer tokenizer, File fileIn, File fileOut, long windowSize) throws IOException
+    {
+        if(windowSize < 1 || windowSize > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Window size must be between one byte and 2 GB!");
+        try(FileChannel in = FileChannel.open(fileIn.toPath(), StandardOpenOption.READ);
+            ChannelWriter out = new ChannelWriter(FileChannel.open(fileOut.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), OUTPUT_BUFFER_SIZE))
+        {
+            StemmingHandler handler = new StemmingHandler(stemmer, out);
+            long size = in.size();
+            long position = 0;
+            long window = windowSize;
+            while(position < size)
+            {
+                long length = Math.min(window, size - position);
+                boolean last = position + length == size;
+                MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, position, length);
+                tokenizer.tokenize(buffer, last, handler);
+                if(last)
+                    break;
+                else if(buffer.position() > 0)
+                {
+                    position += buffer.position();
+                    window = windowSize;
+                }
+                else if(window < Integer.MAX_VALUE)
+                    window = Math.min(window * 2, Integer.MAX_VALUE);
+                else
+                    throw new IOException("Token at byte " + position + " of '" + fileIn.getPath() + "' exceeds 2 GB!");
+            }
+            return handler.tokens;
+        }
+    }
+    // Classes *****************************************************************
+    /**
+     * Stems each token handled, writing the stems to a channel.
+     */
+    private static final class StemmingHandler implements TokenHandler
+    {
+        private final UEALite       stemmer;
+        private final ChannelWriter out;
+        private final StemResult    result = new StemResult();
+        long                        tokens;
+        StemmingHandler(UEALite stemmer, ChannelWriter out)
+        {
+            this.stemmer = stemmer;
+            this.out = out;
+        }
+        @Override
+        public void token(char[] data, int offset, int length) throws IOException
+        {
+            if(tokens++ > 0)
+                out.write((byte)'\n');
+            int stemLength = stemmer.stem(data, offset, length, result);
+            out.write(result.getBuffer(), 0, stemLength);
+        }
+    }
+}
@@ -0,0 +1,530 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *                      Files not split for tokenizers continuing sentences.
+ *                      Serial versions of the tasks declared.
+ *                      Symbolic links to directories skipped; output within
+ *                      the input rejected.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A utilities class for stemming directory trees in parallel, using a
+ * work-stealing pool of threads; large files are split into ranges, stemmed
+ * in parallel and joined, so a single large file does not stall the rest.
+ * 
+ * The stemmer and tokenizer are shared by all threads, which is safe for the
+ * classes of this package. Files are read and written with the default
+ * charset, as with {@link FileStemming}. Files tokenized by a
+ * {@link CasePreservingTokenizer} are not split, as a range would start a
+ * new sentence.
+ * 
+ * Symbolic links to directories are skipped, so a link to a parent cannot
+ * recurse without end, and the output directory must not be within the
+ * input directory.
+ */
+public class ParallelFileStemming
+{
+    // Constants ***************************************************************
+    /**
+     * The default size, in bytes, above which files are split into ranges.
+     */
+    public static final long DEFAULT_SPLIT_SIZE = 64L * 1024 * 1024;
+    // Methods - Constructors **************************************************
+    private ParallelFileStemming()
+    { }
+    // Methods - Static ********************************************************
+    /**
+     * Stems an entire directory, including sub-directories, in parallel.
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param tokenizer The tokenizer used for reading the tokens of the files;
+     * tokens must not span whitespace, as is the case for the tokenizers of
+     * this package.
+     * @param dirIn The directory to be stemmed.
+     * @param dirOut The output directory of the stemmed files; the structure
+     * of the input directory is mirrored.
+     * @param extension The extension appended to the stemmed files.
+     * @param parallelism The number of threads used.
+     * @return The throughput of each file and overall.
+     * @throws IOException Thrown if an issue occurs reading or writing to a
+     * file, or the output directory is within the input directory.
+     */
+    public static StemmingReport stemDirectory(UEALite stemmer, Tokenizer tokenizer, File dirIn, File dirOut, String extension, int parallelism) throws IOException
+    {
+        return stemDirectory(stemmer, tokenizer, dirIn, dirOut, extension, parallelism, DEFAULT_SPLIT_SIZE);
+    }
+    /**
+     * Stems an entire directory, including sub-directories, in parallel.
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param tokenizer The tokenizer used for reading the tokens of the files;
+     * tokens must not span whitespace, as is the case for the tokenizers of
+     * this package.
+     * @param dirIn The directory to be stemmed.
+     * @param dirOut The output directory of the stemmed files; the structure
+     * of the input directory is mirrored.
+     * @param extension The extension appended to the stemmed files.
+     * @param parallelism The number of threads used.
+     * @param splitSize The size, in bytes, above which a file is split into
+     * ranges of roughly this size.
+     * @return The throughput of each file and overall.
+     * @throws IOException Thrown if an issue occurs reading or writing to a
+     * file, or the output directory is within the input directory.
+     */
+    public static StemmingReport stemDirectory(UEALite stemmer, Tokenizer tokenizer, File dirIn, File dirOut, String extension, int parallelism, long splitSize) throws IOException
+    {
+        if(!dirIn.isDirectory())
+            throw new IOException("Specified input file/path '" + dirIn.getPath() + "' is not a directory!");
+        checkOutside(dirIn, dirOut);
+        if(splitSize < 1)
+            throw new IllegalArgumentException("Split size must be at least one byte!");
+        Job job = new Job(stemmer, tokenizer, extension, splitSize, false);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try
+        {
+            long start = System.nanoTime();
+            pool.invoke(new DirectoryTask(job, dirIn, dirOut));
+            return new StemmingReport(new ArrayList<>(job.reports), System.nanoTime() - start);
+        }
+        catch(UncheckedIOException ex)
+        {
+            throw ex.getCause();
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+    /**
+     * Counts the frequency of each stem of an entire directory, including
+     * sub-directories, in parallel and without writing the stemmed tokens;
+     * each thread counts into its own frequencies, merged once finished.
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param tokenizer The tokenizer used for reading the tokens of the files;
+     * tokens must not span whitespace, as is the case for the tokenizers of
+     * this package.
+     * @param dirIn The directory to be counted.
+     * @param dirOut The output directory of the frequencies of each file, or
+     * null to only count the directory as a whole; the structure of the input
+     * directory is mirrored.
+     * @param extension The extension appended to the frequency files.
+     * @param parallelism The number of threads used.
+     * @return The frequencies of the directory as a whole.
+     * @throws IOException Thrown if an issue occurs reading or writing to a
+     * file, or the output directory is within the input directory.
+     * @see StemCounts#write(Writer)
+     */
+    public static StemCounts countDirectory(UEALite stemmer, Tokenizer tokenizer, File dirIn, File dirOut, String extension, int parallelism) throws IOException
+    {
+        return countDirectory(stemmer, tokenizer, dirIn, dirOut, extension, parallelism, DEFAULT_SPLIT_SIZE);
+    }
+    /**
+     * Counts the frequency of each stem of an entire directory, including
+     * sub-directories, in parallel and without writing the stemmed tokens;
+     * each thread counts into its own frequencies, merged once finished.
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param tokenizer The tokenizer used for reading the tokens of the files;
+     * tokens must not span whitespace, as is the case for the tokenizers of
+     * this package.
+     * @param dirIn The directory to be counted.
+     * @param dirOut The output directory of the frequencies of each file, or
+     * null to only count the directory as a whole; the structure of the input
+     * directory is mirrored.
+     * @param extension The extension appended to the frequency files.
+     * @param parallelism The number of threads used.
+     * @param splitSize The size, in bytes, above which a file is split into
+     * ranges of roughly this size.
+     * @return The frequencies of the directory as a whole.
+     * @throws IOException Thrown if an issue occurs reading or writing to a
+     * file, or the output directory is within the input directory.
+     */
+    public static StemCounts countDirectory(UEALite stemmer, Tokenizer tokenizer, File dirIn, File dirOut, String extension, int parallelism, long splitSize) throws IOException
+    {
+        if(!dirIn.isDirectory())
+            throw new IOException("Specified input file/path '" + dirIn.getPath() + "' is not a directory!");
+        checkOutside(dirIn, dirOut);
+        if(splitSize < 1)
+            throw new IllegalArgumentException("Split size must be at least one byte!");
+        Job job = new Job(stemmer, tokenizer, extension, splitSize, true);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try
+        {
+            pool.invoke(new DirectoryTask(job, dirIn, dirOut));
+        }
+        catch(UncheckedIOException ex)
+        {
+            throw ex.getCause();
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+        // Merge the frequencies of each thread
+        StemCounts corpus = new StemCounts();
+        for(StemCounts counts : job.threadCounts)
+            corpus.merge(counts);
+        return corpus;
+    }
+    /**
+     * Rejects an output directory within the input directory, or the same,
+     * whose outputs would be stemmed in turn; links are resolved.
+     */
+    private static void checkOutside(File dirIn, File dirOut) throws IOException
+    {
+        if(dirOut == null)
+            return;
+        File in = dirIn.getCanonicalFile();
+        for(File f = dirOut.getCanonicalFile(); f != null; f = f.getParentFile())
+        {
+            if(f.equals(in))
+                throw new IOException("Specified output file/path '" + dirOut.getPath() + "' is within the input directory '" + dirIn.getPath() + "'!");
+        }
+    }
+    /**
+     * Indicates if files in the default charset can be split at whitespace
+     * bytes, i.e. the whitespace characters are encoded as single bytes
+     * matching ASCII.
+     */
+    private static boolean isSplittable()
+    {
+        byte[] whitespace = " \t\n\u000B\f\r".getBytes(Charset.defaultCharset());
+        return Arrays.equals(whitespace, new byte[]{ ' ', '\t', '\n', 0x0B, '\f', '\r' });
+    }
+    private static boolean isWhitespace(byte b)
+    {
+        return b == ' ' || (b >= '\t' && b <= '\r');
+    }
+    // Classes *****************************************************************
+    /**
+     * The state shared by the tasks of stemming a directory.
+     */
+    private static final class Job
+    {
+        final UEALite                                   stemmer;
+        final Tokenizer                                 tokenizer;
+        final String                                    extension;
+        final long                                      splitSize;
+        final boolean                                   splittable;
+        final boolean                                   counting;
+        final Queue<StemmingReport.FileReport>          reports = new ConcurrentLinkedQueue<>();
+        final Queue<StemCounts>                         threadCounts = new ConcurrentLinkedQueue<>();
+        /**
+         * The frequencies counted by each thread, when counting.
+         */
+        final ThreadLocal<StemCounts>                   counts = new ThreadLocal<StemCounts>()
+        {
+            @Override
+            protected StemCounts initialValue()
+            {
+                StemCounts counts = new StemCounts();
+                threadCounts.add(counts);
+                return counts;
+            }
+        };
+        Job(UEALite stemmer, Tokenizer tokenizer, String extension, long splitSize, boolean counting)
+        {
+            this.stemmer = stemmer;
+            this.tokenizer = tokenizer;
+            this.extension = extension;
+            this.splitSize = splitSize;
+            this.counting = counting;
+            // Sentences continue from one token to the next, so a range
+            // cannot be tokenized without those before it
+            this.splittable = isSplittable() && !(tokenizer instanceof CasePreservingTokenizer);
+        }
+    }
+    /**
+     * Stems the files and sub-directories of a directory.
+     */
+    private static final class DirectoryTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+        private final Job   job;
+        private final File  dirIn;
+        private final File  dirOut;
+        DirectoryTask(Job job, File dirIn, File dirOut)
+        {
+            this.job = job;
+            this.dirIn = dirIn;
+            this.dirOut = dirOut;
+        }
+        @Override
+        protected void compute()
+        {
+            if(dirOut != null && !dirOut.isDirectory() && !dirOut.mkdirs())
+                throw new UncheckedIOException(new IOException("Specified output file/path '" + dirOut.getPath() + "' is not a directory!"));
+            File[] files = dirIn.listFiles();
+            if(files == null)
+                throw new UncheckedIOException(new IOException("Unable to list the directory '" + dirIn.getPath() + "'!"));
+            List<RecursiveAction> tasks = new ArrayList<>();
+            for(File f : files)
+            {
+                // A link may lead back to a parent, recursing without end
+                if(f.isDirectory() && Files.isSymbolicLink(f.toPath()))
+                    continue;
+                else if(f.isDirectory())
+                    tasks.add(new DirectoryTask(job, f, dirOut == null ? null : new File(dirOut, f.getName())));
+                else
+                    tasks.add(new FileTask(job, f, dirOut == null ? null : new File(dirOut, f.getName() + "." + job.extension)));
+            }
+            invokeAll(tasks);
+        }
+    }
+    /**
+     * Stems or counts a file, splitting it into ranges when large.
+     */
+    private static final class FileTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+        private final Job   job;
+        private final File  fileIn;
+        private final File  fileOut;
+        FileTask(Job job, File fileIn, File fileOut)
+        {
+            this.job = job;
+            this.fileIn = fileIn;
+            this.fileOut = fileOut;
+        }
+        @Override
+        protected void compute()
+        {
+            long start = System.nanoTime();
+            long length = fileIn.length();
+            long tokens;
+            try
+            {
+                if(job.counting)
+                    tokens = count(length);
+                else if(length > job.splitSize && job.splittable)
+                    tokens = stemRanges(length);
+                else
+                    tokens = FileStemming.stemFileStreaming(job.stemmer, job.tokenizer, fileIn, fileOut);
+            }
+            catch(IOException ex)
+            {
+                throw new UncheckedIOException(ex);
+            }
+            job.reports.add(new StemmingReport.FileReport(fileIn, length, tokens, System.nanoTime() - start));
+        }
+        private long count(long length) throws IOException
+        {
+            StemCounts counts = new StemCounts();
+            if(length > job.splitSize && job.splittable)
+            {
+                // Count each range separately, merged in order
+                List<Long> bounds = splitRanges(length);
+                List<RangeTask> tasks = new ArrayList<>();
+                for(int i = 0; i < bounds.size() - 1; i++)
+                    tasks.add(new RangeTask(job, fileIn, bounds.get(i), bounds.get(i + 1), new StemCounts()));
+                invokeAll(tasks);
+                for(RangeTask task : tasks)
+                    counts.merge(task.counts);
+            }
+            else
+                FileStemming.countFile(job.stemmer, job.tokenizer, fileIn, counts);
+            if(fileOut != null)
+                counts.write(fileOut);
+            job.counts.get().merge(counts);
+            return counts.getTotal();
+        }
+        private long stemRanges(long length) throws IOException
+        {
+            List<Long> bounds = splitRanges(length);
+            // Stem each range into a part of the output
+            List<RangeTask> tasks = new ArrayList<>();
+            for(int i = 0; i < bounds.size() - 1; i++)
+                tasks.add(new RangeTask(job, fileIn, bounds.get(i), bounds.get(i + 1), new File(fileOut.getPath() + ".part" + i)));
+            invokeAll(tasks);
+            // Join the parts, separating the tokens of adjacent non-empty parts
+            long tokens = 0;
+            try(FileChannel out = new FileOutputStream(fileOut).getChannel())
+            {
+                for(RangeTask task : tasks)
+                {
+                    long partTokens = task.join();
+                    try(FileChannel part = new RandomAccessFile(task.fileOut, "r").getChannel())
+                    {
+                        if(partTokens > 0 && tokens > 0)
+                            out.write(ByteBuffer.wrap(new byte[]{ '\n' }));
+                        long position = 0, size = part.size();
+                        while(position < size)
+                            position += part.transferTo(position, size - position, out);
+                    }
+                    tokens += partTokens;
+                    if(!task.fileOut.delete())
+                        throw new IOException("Unable to delete the part '" + task.fileOut.getPath() + "'!");
+                }
+            }
+            return tokens;
+        }
+        /**
+         * Splits the file at whitespace, so no token spans two ranges.
+         */
+        private List<Long> splitRanges(long length) throws IOException
+        {
+            int count = (int)Math.min(Integer.MAX_VALUE, (length + job.splitSize - 1) / job.splitSize);
+            List<Long> bounds = new ArrayList<>();
+            bounds.add(0L);
+            try(RandomAccessFile raf = new RandomAccessFile(fileIn, "r"))
+            {
+                for(int i = 1; i < count; i++)
+                {
+                    long bound = nextWhitespace(raf.getChannel(), Math.max(i * (length / count), bounds.get(bounds.size() - 1)), length);
+                    if(bound > bounds.get(bounds.size() - 1) && bound < length)
+                        bounds.add(bound);
+                }
+            }
+            bounds.add(length);
+            return bounds;
+        }
+        private static long nextWhitespace(FileChannel channel, long position, long length) throws IOException
+        {
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            while(position < length)
+            {
+                buffer.clear();
+                int read = channel.read(buffer, position);
+                if(read <= 0)
+                    break;
+                for(int i = 0; i < read; i++)
+                {
+                    if(isWhitespace(buffer.get(i)))
+                        return position + i + 1;
+                }
+                position += read;
+            }
+            return length;
+        }
+    }
+    /**
+     * Stems a range of bytes of a file into a part of the output, or counts
+     * the stems of the range.
+     */
+    private static final class RangeTask extends RecursiveTask<Long>
+    {
+        private static final long serialVersionUID = 1L;
+        private final Job   job;
+        private final File  fileIn;
+        private final long  start;
+        private final long  end;
+        final File          fileOut;
+        final StemCounts    counts;
+        RangeTask(Job job, File fileIn, long start, long end, File fileOut)
+        {
+            this.job = job;
+            this.fileIn = fileIn;
+            this.start = start;
+            this.end = end;
+            this.fileOut = fileOut;
+            this.counts = null;
+        }
+        RangeTask(Job job, File fileIn, long start, long end, StemCounts counts)
+        {
+            this.job = job;
+            this.fileIn = fileIn;
+            this.start = start;
+            this.end = end;
+            this.fileOut = null;
+            this.counts = counts;
+        }
+        @Override
+        protected Long compute()
+        {
+            try(FileChannel channel = new RandomAccessFile(fileIn, "r").getChannel();
+                Reader in = new InputStreamReader(new RangeInputStream(channel, start, end)))
+            {
+                if(counts != null)
+                    return FileStemming.countStream(job.stemmer, job.tokenizer, in, counts);
+                try(Writer out = FileStemming.openWriter(fileOut, end - start))
+                {
+                    return FileStemming.stemStream(job.stemmer, job.tokenizer, in, out);
+                }
+            }
+            catch(IOException ex)
+            {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+    /**
+     * A stream of a range of bytes of a file.
+     */
+    private static final class RangeInputStream extends InputStream
+    {
+        private final FileChannel   channel;
+        private final long          end;
+        private long                position;
+        RangeInputStream(FileChannel channel, long start, long end)
+        {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+        @Override
+        public int read() throws IOException
+        {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException
+        {
+            if(position >= end)
+                return -1;
+            int read = channel.read(ByteBuffer.wrap(b, off, (int)Math.min(len, end - position)), position);
+            if(read > 0)
+                position += read;
+            return read;
+        }
+    }
+}
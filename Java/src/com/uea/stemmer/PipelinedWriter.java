@@ -0,0 +1,356 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A writer of a file which hands batches of characters to a dedicated I/O
+ * thread, so the thread writing, e.g. stemming, does not wait on the disk;
+ * the I/O thread encodes each batch straight into a direct buffer and writes
+ * the pending batches with a single gathering write.
+ * 
+ * The queue of batches is bounded, providing backpressure: once the given
+ * number of batches are pending, the writing thread waits for the disk. The
+ * writer is intended for a single writing thread; flushing hands over the
+ * current batch without waiting for it to be written, whilst closing waits
+ * for every batch. An error of the I/O thread is thrown by the next write,
+ * flush or close.
+ */
+public final class PipelinedWriter extends Writer
+{
+    // Constants ***************************************************************
+    /**
+     * The default number of characters of a batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 64 * 1024;
+    /**
+     * The default number of batches pending before writing waits.
+     */
+    public static final int DEFAULT_QUEUE_DEPTH = 8;
+    // Fields ******************************************************************
+    private final FileChannel               channel;
+    private final CharsetEncoder            encoder;
+    private final int                       batchSize;
+    private final BlockingQueue<Batch>      pending;
+    private final BlockingQueue<Batch>      free;
+    private final Thread                    thread;
+    private volatile IOException            error;
+    private Batch                           batch;
+    private boolean                         closed;
+    // Used by the I/O thread only
+    private final CharBuffer                pair = CharBuffer.allocate(2);
+    private boolean                         carried;
+    // Methods - Constructors **************************************************
+    /**
+     * Creates a new writer of a file, with the default charset, batch size
+     * and queue depth.
+     * 
+     * @param file The file written, which is replaced if it exists.
+     * @throws IOException Thrown if the file cannot be opened.
+     */
+    public PipelinedWriter(File file) throws IOException
+    {
+        this(file, Charset.defaultCharset(), DEFAULT_BATCH_SIZE, DEFAULT_QUEUE_DEPTH);
+    }
+    /**
+     * Creates a new writer of a file.
+     * 
+     * @param file The file written, which is replaced if it exists.
+     * @param charset The charset of the file.
+     * @param batchSize The number of characters of a batch.
+     * @param queueDepth The number of batches pending before writing waits.
+     * @throws IOException Thrown if the file cannot be opened.
+     */
+    public PipelinedWriter(File file, Charset charset, int batchSize, int queueDepth) throws IOException
+    {
+        if(batchSize < 2)
+            throw new IllegalArgumentException("Batch size must be at least two characters!");
+        if(queueDepth < 1)
+            throw new IllegalArgumentException("Queue depth must be at least one batch!");
+        this.channel = new FileOutputStream(file).getChannel();
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.batchSize = batchSize;
+        this.pending = new ArrayBlockingQueue<>(queueDepth);
+        // Batches in use: those pending, those being written and the current
+        this.free = new ArrayBlockingQueue<>(queueDepth * 2 + 1);
+        this.batch = new Batch(batchSize);
+        this.thread = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                writeBatches();
+            }
+        }, "uea-lite-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    // Methods *****************************************************************
+    @Override
+    public void write(int c) throws IOException
+    {
+        ensureOpen();
+        if(batch.length == batchSize)
+            handOver();
+        batch.chars[batch.length++] = (char)c;
+    }
+    @Override
+    public void write(char[] data, int offset, int length) throws IOException
+    {
+        ensureOpen();
+        while(length > 0)
+        {
+            if(batch.length == batchSize)
+                handOver();
+            int count = Math.min(length, batchSize - batch.length);
+            System.arraycopy(data, offset, batch.chars, batch.length, count);
+            batch.length += count;
+            offset += count;
+            length -= count;
+        }
+    }
+    @Override
+    public void write(String data, int offset, int length) throws IOException
+    {
+        ensureOpen();
+        while(length > 0)
+        {
+            if(batch.length == batchSize)
+                handOver();
+            int count = Math.min(length, batchSize - batch.length);
+            data.getChars(offset, offset + count, batch.chars, batch.length);
+            batch.length += count;
+            offset += count;
+            length -= count;
+        }
+    }
+    /**
+     * Hands the current batch to the I/O thread, without waiting for it to be
+     * written.
+     * 
+     * @throws IOException Thrown if the I/O thread has failed.
+     */
+    @Override
+    public void flush() throws IOException
+    {
+        ensureOpen();
+        if(batch.length > 0)
+            handOver();
+        checkError();
+    }
+    /**
+     * Writes any remaining batches, waiting for the I/O thread, and closes the
+     * file.
+     * 
+     * @throws IOException Thrown if the I/O thread has failed or the file
+     * cannot be closed.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if(closed)
+            return;
+        closed = true;
+        try
+        {
+            // The last batch ends the input, even if empty, so the I/O thread
+            // flushes the encoder and any lone surrogate carried
+            batch.end = true;
+            put(batch);
+            thread.join();
+        }
+        catch(InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for the writer");
+        }
+        finally
+        {
+            channel.close();
+        }
+        checkError();
+    }
+    private void ensureOpen() throws IOException
+    {
+        if(closed)
+            throw new IOException("Writer closed");
+    }
+    private void handOver() throws IOException
+    {
+        Batch next = free.poll();
+        if(next == null)
+            next = new Batch(batchSize);
+        try
+        {
+            put(batch);
+        }
+        catch(InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for the writer");
+        }
+        batch = next;
+    }
+    private void put(Batch batch) throws IOException, InterruptedException
+    {
+        // Wait for space, unless the I/O thread fails and will never make any
+        while(!pending.offer(batch, 100, TimeUnit.MILLISECONDS))
+            checkError();
+        checkError();
+    }
+    private void checkError() throws IOException
+    {
+        IOException error = this.error;
+        if(error != null)
+            throw new IOException("Writing failed", error);
+    }
+    /**
+     * Run by the I/O thread, encoding and writing batches until the end.
+     */
+    private void writeBatches()
+    {
+        // Room for any bytes flushed by the encoder at the end
+        int maxBytes = (int)Math.ceil(batchSize * (double)encoder.maxBytesPerChar()) + 16;
+        List<Batch> batches = new ArrayList<>();
+        List<ByteBuffer> buffers = new ArrayList<>();
+        try
+        {
+            boolean end = false;
+            while(!end)
+            {
+                // Write every pending batch at once
+                batches.add(pending.take());
+                pending.drainTo(batches);
+                int count = batches.size();
+                while(buffers.size() < count)
+                    buffers.add(ByteBuffer.allocateDirect(maxBytes));
+                for(int i = 0; i < count; i++)
+                {
+                    Batch b = batches.get(i);
+                    end = b.end;
+                    encode(b, buffers.get(i));
+                    b.length = 0;
+                    free.offer(b);
+                }
+                ByteBuffer[] gather = buffers.subList(0, count).toArray(new ByteBuffer[count]);
+                long remaining = 0;
+                for(ByteBuffer buffer : gather)
+                    remaining += buffer.remaining();
+                while(remaining > 0)
+                    remaining -= channel.write(gather);
+                batches.clear();
+            }
+        }
+        catch(IOException ex)
+        {
+            error = ex;
+        }
+        catch(InterruptedException ex)
+        {
+            error = new InterruptedIOException("Writer interrupted");
+        }
+        catch(RuntimeException ex)
+        {
+            error = new IOException(ex);
+        }
+        finally
+        {
+            // Unblock a writing thread waiting on a full queue
+            if(error != null)
+                pending.clear();
+        }
+    }
+    private void encode(Batch b, ByteBuffer out) throws IOException
+    {
+        out.clear();
+        int start = 0;
+        if(carried)
+        {
+            // A high surrogate ended the previous batch; encode it with the
+            // first character of this batch, which may complete the pair
+            if(b.length > 0)
+                pair.put(b.chars[0]);
+            pair.flip();
+            check(encoder.encode(pair, out, b.end && b.length == 0));
+            start = pair.position() - 1;
+            carried = false;
+        }
+        CharBuffer in = CharBuffer.wrap(b.chars, start, b.length - start);
+        check(encoder.encode(in, out, b.end));
+        if(b.end)
+            check(encoder.flush(out));
+        else if(in.hasRemaining())
+        {
+            // At most a single high surrogate is left over
+            pair.clear();
+            pair.put(in.get());
+            carried = true;
+        }
+        out.flip();
+    }
+    private static void check(CoderResult result) throws IOException
+    {
+        if(!result.isUnderflow())
+            result.throwException();
+    }
+    // Classes *****************************************************************
+    /**
+     * A batch of characters.
+     */
+    private static final class Batch
+    {
+        final char[]    chars;
+        int             length;
+        boolean         end;
+        Batch(int size)
+        {
+            chars = new char[size];
+        }
+    }
+}
@@ -0,0 +1,322 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *                      Rules exposed to the fuzzer.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * A set of rules of the stemmer, i.e. the problem words and the suffix rules,
+ * parsed from a declarative table; the suffix rules are compiled into a trie
+ * when parsed, so a custom set stems as fast as the default.
+ * 
+ * A table holds one entry per line, with text following a hash (#) ignored:
+ * 
+ *  problem word...
+ *  rule keep suffix
+ *  rule strip suffix remove [append]
+ *  rule replace-first suffix target replacement
+ *  rule strip-duplicate suffix
+ * 
+ * Suffix rules are tested in the order of the table, each labelled with a
+ * decimal rule number defined by {@link Rules}; the default set, of the
+ * rules.txt resource of this package, documents each action. Instances are
+ * immutable and safe for use by multiple threads.
+ */
+public final class RuleSet
+{
+    // Constants ***************************************************************
+    /**
+     * The rules of the UEA Lite stemmer.
+     */
+    public static final RuleSet DEFAULT = loadDefault();
+    private static final String DEFAULT_RESOURCE = "rules.txt";
+    // Fields ******************************************************************
+    private final SuffixTrie    suffixRules;
+    private final int           suffixRuleCount;
+    private final Word[][]      problemWords;       // By length, null for none
+    private final int           problemWordCount;
+    private final String        digest;
+    // Methods - Constructors **************************************************
+    private RuleSet(List<SuffixRule> suffixRules, LinkedHashSet<String> problemWords, String digest)
+    {
+        this.suffixRules = new SuffixTrie(suffixRules.toArray(new SuffixRule[suffixRules.size()]));
+        this.suffixRuleCount = suffixRules.size();
+        int maxLength = 0;
+        for(String word : problemWords)
+            maxLength = Math.max(maxLength, word.length());
+        this.problemWords = new Word[maxLength + 1][];
+        for(String word : problemWords)
+        {
+            Word[] words = this.problemWords[word.length()];
+            words = words == null ? new Word[1] : Arrays.copyOf(words, words.length + 1);
+            // Shared, as the result never varies
+            words[words.length - 1] = Word.of(word, Rules.PROBLEM_WORD);
+            this.problemWords[word.length()] = words;
+        }
+        this.problemWordCount = problemWords.size();
+        this.digest = digest;
+    }
+    // Methods *****************************************************************
+    /**
+     * @param word The word to be tested.
+     * @return The problem word equal to the word, or null if the word is not
+     * a problem word.
+     */
+    Word getProblemWord(CharSequence word)
+    {
+        int length = word.length();
+        if(length >= problemWords.length || problemWords[length] == null)
+            return null;
+        for(Word problem : problemWords[length])
+        {
+            if(problem.getWord().contentEquals(word))
+                return problem;
+        }
+        return null;
+    }
+    /**
+     * Applies the first suffix rule, in order, which fires for a word.
+     * 
+     * @param word The word to be stemmed, which is altered in-place.
+     * @return The code of the rule applied, or {@link Rules#NONE} if no rule
+     * fires.
+     */
+    int applySuffixRules(StemResult word)
+    {
+        int index = suffixRules.match(word);
+        if(index == -1)
+            return Rules.NONE;
+        SuffixRule rule = suffixRules.get(index);
+        rule.apply(word);
+        return rule.code;
+    }
+    /**
+     * @param word The word to be tested.
+     * @return The index of the first suffix rule, in order, which fires for
+     * the word, or -1 if no rule fires.
+     */
+    int matchSuffixRule(CharSequence word)
+    {
+        return suffixRules.match(word);
+    }
+    // Methods - Accessors *****************************************************
+    /**
+     * @param index The index of the suffix rule, in the order of the table.
+     * @return The suffix rule at the index.
+     */
+    SuffixRule getSuffixRule(int index)
+    {
+        return suffixRules.get(index);
+    }
+    /**
+     * @return The problem words, by length.
+     */
+    List<String> getProblemWords()
+    {
+        List<String> words = new ArrayList<>(problemWordCount);
+        for(Word[] problems : problemWords)
+        {
+            if(problems != null)
+            {
+                for(Word problem : problems)
+                    words.add(problem.getWord());
+            }
+        }
+        return words;
+    }
+    /**
+     * @return The number of suffix rules.
+     */
+    public int getSuffixRuleCount()
+    {
+        return suffixRuleCount;
+    }
+    /**
+     * @return The number of problem words.
+     */
+    public int getProblemWordCount()
+    {
+        return problemWordCount;
+    }
+    /**
+     * @return The hexadecimal SHA-256 of the entries of the table, ignoring
+     * comments and spacing; equal for sets of the same rules.
+     */
+    public String getDigest()
+    {
+        return digest;
+    }
+    // Methods - Static ********************************************************
+    /**
+     * Loads a set of rules from a table.
+     * 
+     * @param file The table, as UTF-8.
+     * @return The rules.
+     * @throws IOException Thrown if the file cannot be read or an entry is
+     * invalid.
+     */
+    public static RuleSet load(File file) throws IOException
+    {
+        try(Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))
+        {
+            return parse(reader);
+        }
+    }
+    /**
+     * Parses a set of rules from a table.
+     * 
+     * @param reader The table.
+     * @return The rules.
+     * @throws IOException Thrown if the table cannot be read or an entry is
+     * invalid, indicating the line.
+     */
+    public static RuleSet parse(Reader reader) throws IOException
+    {
+        List<SuffixRule> suffixRules = new ArrayList<>();
+        LinkedHashSet<String> problemWords = new LinkedHashSet<>();
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch(NoSuchAlgorithmException ex)
+        {
+            throw new IllegalStateException(ex);
+        }
+        BufferedReader br = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while((line = br.readLine()) != null)
+        {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            String[] fields = (comment == -1 ? line : line.substring(0, comment)).trim().split("\\s+");
+            if(fields[0].isEmpty())
+                continue;
+            digest.update(String.join(" ", fields).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte)'\n');
+            try
+            {
+                if("problem".equals(fields[0]))
+                {
+                    for(int i = 1; i < fields.length; i++)
+                        problemWords.add(fields[i]);
+                }
+                else
+                    suffixRules.add(parseSuffixRule(fields));
+            }
+            catch(IllegalArgumentException ex)
+            {
+                throw new IOException("Line " + lineNumber + ": " + ex.getMessage(), ex);
+            }
+        }
+        StringBuilder hex = new StringBuilder(64);
+        for(byte b : digest.digest())
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        return new RuleSet(suffixRules, problemWords, hex.toString());
+    }
+    private static SuffixRule parseSuffixRule(String[] fields)
+    {
+        if(fields.length < 3)
+            throw new IllegalArgumentException("Expected a rule number, an action and a suffix");
+        double rule;
+        try
+        {
+            rule = Double.parseDouble(fields[0]);
+        }
+        catch(NumberFormatException ex)
+        {
+            throw new IllegalArgumentException("Invalid rule number '" + fields[0] + "'");
+        }
+        // Validated here, so the line of an invalid suffix is known
+        String suffix = fields[2];
+        for(int i = 0; i < suffix.length(); i++)
+        {
+            if(suffix.charAt(i) < 'a' || suffix.charAt(i) > 'z')
+                throw new IllegalArgumentException("Suffix '" + suffix + "' is not lower-case a to z");
+        }
+        String action = fields[1];
+        switch(action)
+        {
+            case "keep":
+                checkArguments(fields, 0, 0);
+                return SuffixRule.keep(suffix, rule);
+            case "strip":
+                checkArguments(fields, 1, 2);
+                if(!suffix.endsWith(fields[3]))
+                    throw new IllegalArgumentException("Removed characters '" + fields[3] + "' do not end the suffix '" + suffix + "'");
+                return fields.length == 4 ? SuffixRule.strip(suffix, fields[3], rule) : SuffixRule.strip(suffix, fields[3], fields[4], rule);
+            case "replace-first":
+                checkArguments(fields, 2, 2);
+                if(!suffix.contains(fields[3]))
+                    throw new IllegalArgumentException("Target '" + fields[3] + "' does not occur within the suffix '" + suffix + "'");
+                return SuffixRule.replaceFirst(suffix, fields[3], fields[4], rule);
+            case "strip-duplicate":
+                checkArguments(fields, 0, 0);
+                return SuffixRule.stripDuplicate(suffix, rule);
+            default:
+                throw new IllegalArgumentException("Unknown action '" + action + "'");
+        }
+    }
+    private static void checkArguments(String[] fields, int min, int max)
+    {
+        int count = fields.length - 3;
+        if(count < min || count > max)
+            throw new IllegalArgumentException("Action '" + fields[1] + "' expects " + (min == max ? Integer.toString(min) : min + " to " + max) + " arguments, not " + count);
+    }
+    private static RuleSet loadDefault()
+    {
+        try(InputStream in = RuleSet.class.getResourceAsStream(DEFAULT_RESOURCE))
+        {
+            if(in == null)
+                throw new IOException("Resource '" + DEFAULT_RESOURCE + "' not found");
+            return parse(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+        catch(IOException ex)
+        {
+            throw new UncheckedIOException("Default rules cannot be loaded", ex);
+        }
+    }
+}
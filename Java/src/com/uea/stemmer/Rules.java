@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *                      Code of rules not known.
+ *                      Rule numbers formatted as text.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.util.Arrays;
+
+/**
+ * The rules of the stemmer, identified by compact integer codes; codes are
+ * assigned in ascending order of the decimal rule numbers, with code zero (0)
+ * indicating no stemming occurred, and fit within an unsigned byte.
+ */
+public final class Rules
+{
+    // Constants ***************************************************************
+    private static final double[] LABELS =
+    {
+        0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 11.1, 11.2, 11.3, 11.4, 12, 12.1,
+        12.2, 12.3, 12.4, 12.5, 13, 13.1, 13.2, 13.3, 13.4, 13.5, 13.6, 13.7,
+        14, 15, 16, 17, 18, 19, 20, 20.1, 20.2, 20.3, 20.4, 20.5, 21, 22, 22.1,
+        22.2, 22.3, 22.4, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32, 33, 34, 35,
+        36, 36.1, 37, 38, 39, 40, 40.1, 40.2, 40.3, 40.4, 40.5, 40.6, 40.7, 41,
+        42, 42.1, 42.2, 42.3, 42.4, 43, 43.1, 43.2, 44, 44.1, 44.2, 44.3, 45,
+        45.1, 45.2, 46, 46.1, 46.2, 46.3, 46.4, 46.5, 46.6, 47, 48, 48.1, 48.2,
+        48.3, 48.4, 49, 50, 51, 52, 53, 54, 54.1, 54.2, 54.3, 54.4, 55, 56, 57,
+        58, 58.1, 59, 60, 60.1, 61, 61.1, 61.2, 61.3, 62, 63, 63.1, 63.2, 63.3,
+        63.4, 63.5, 63.6, 63.7, 63.8, 64, 65, 66, 68, 90, 90.1, 90.2, 90.3, 91,
+        91.1, 92, 94, 95
+    };
+    /**
+     * No rule applied.
+     */
+    public static final int NONE                = code(0);
+    /**
+     * One of the problem words, or a token containing an underscore (90).
+     */
+    public static final int PROBLEM_WORD        = code(90);
+    /**
+     * Hyphenated token (90.1).
+     */
+    public static final int HYPHEN              = code(90.1);
+    /**
+     * Two words joined by a hyphen (90.2).
+     */
+    public static final int HYPHENATED_WORDS    = code(90.2);
+    /**
+     * Digits only (90.3).
+     */
+    public static final int DIGITS              = code(90.3);
+    /**
+     * Acronym (91).
+     */
+    public static final int ACRONYM             = code(91);
+    /**
+     * Plural acronym (91.1).
+     */
+    public static final int ACRONYM_PLURAL      = code(91.1);
+    /**
+     * Proper noun, i.e. capitalised (92).
+     */
+    public static final int PROPER_NOUN         = code(92);
+    /**
+     * Apostrophes removed and contractions expanded (94).
+     */
+    public static final int APOSTROPHE          = code(94);
+    /**
+     * Word exceeding the maximum word length (95).
+     */
+    public static final int TOO_LONG            = code(95);
+    /**
+     * Not of a rule; held by words constructed with an unknown rule number,
+     * whose label is {@link Double#NaN}.
+     */
+    public static final int UNKNOWN             = -1;
+    // Methods - Constructors **************************************************
+    private Rules()
+    { }
+    // Methods - Static ********************************************************
+    /**
+     * @param label The decimal rule number, e.g. 11.4.
+     * @return The code of the rule.
+     * @throws IllegalArgumentException Thrown if the rule does not exist.
+     */
+    public static int code(double label)
+    {
+        int code = find(label);
+        if(code == UNKNOWN)
+            throw new IllegalArgumentException("Rule " + label + " does not exist!");
+        return code;
+    }
+    /**
+     * @param label The decimal rule number, e.g. 11.4.
+     * @return The code of the rule, or {@link #UNKNOWN} if it does not exist.
+     */
+    static int find(double label)
+    {
+        int code = Arrays.binarySearch(LABELS, label);
+        return code < 0 ? UNKNOWN : code;
+    }
+    /**
+     * @param code The code of the rule.
+     * @return The decimal rule number, e.g. 11.4.
+     */
+    public static double label(int code)
+    {
+        return code == UNKNOWN ? Double.NaN : LABELS[code];
+    }
+    /**
+     * @param code The code of the rule.
+     * @return The decimal rule number as text, as documented by
+     * {@link Word#getRule()}, e.g. 68 or 11.4.
+     */
+    public static String format(int code)
+    {
+        double label = label(code);
+        return label == (long)label ? Long.toString((long)label) : Double.toString(label);
+    }
+    /**
+     * @return The number of rules, i.e. one more than the highest code.
+     */
+    public static int count()
+    {
+        return LABELS.length;
+    }
+}
@@ -0,0 +1,365 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * The frequencies of stems, and of the rules applied, held in an
+ * open-addressed hash table of primitive arrays; the characters of the stems
+ * are held in a single growing array, so counting a stem already present does
+ * not allocate.
+ * 
+ * Instances are not thread-safe; each thread should count into its own
+ * instance, merged once counting has finished.
+ */
+public final class StemCounts
+{
+    // Constants ***************************************************************
+    private static final int EMPTY = -1;
+    // Fields ******************************************************************
+    private char[]          chars;
+    private int             charsLength;
+    private int[]           offsets;
+    private int[]           lengths;
+    private int[]           hashes;
+    private long[]          counts;
+    private int             size;
+    private int[]           table;
+    private final long[]    ruleCounts = new long[Rules.count()];
+    private long            total;
+    // Methods - Constructors **************************************************
+    /**
+     * Creates a new, empty instance.
+     */
+    public StemCounts()
+    {
+        this(1024);
+    }
+    /**
+     * Creates a new, empty instance.
+     * 
+     * @param expectedStems The number of distinct stems expected; the table
+     * grows beyond this as required.
+     */
+    public StemCounts(int expectedStems)
+    {
+        int capacity = Math.max(16, expectedStems);
+        chars = new char[capacity * 8];
+        offsets = new int[capacity];
+        lengths = new int[capacity];
+        hashes = new int[capacity];
+        counts = new long[capacity];
+        table = new int[Integer.highestOneBit(capacity * 2 - 1) << 1];
+        Arrays.fill(table, EMPTY);
+    }
+    // Methods *****************************************************************
+    /**
+     * Counts a single occurrence of a stem, and of the rule applied.
+     * 
+     * @param result The stem.
+     */
+    public void add(StemResult result)
+    {
+        add(result.getBuffer(), 0, result.getLength(), result.getRuleCode(), 1);
+    }
+    /**
+     * Counts a single occurrence of a stem, and of the rule applied.
+     * 
+     * @param stem The stem.
+     */
+    public void add(Word stem)
+    {
+        String word = stem.getWord();
+        int entry = find(word, hash(word));
+        if(entry == EMPTY)
+            add(word.toCharArray(), 0, word.length(), stem.getRuleCode(), 1);
+        else
+        {
+            counts[entry]++;
+            ruleCounts[stem.getRuleCode()]++;
+            total++;
+        }
+    }
+    /**
+     * Counts occurrences of a stem.
+     * 
+     * @param data The array holding the stem.
+     * @param offset The offset of the stem within the array.
+     * @param length The length of the stem.
+     * @param ruleCode The code of the rule applied.
+     * @param count The number of occurrences.
+     */
+    public void add(char[] data, int offset, int length, int ruleCode, long count)
+    {
+        int hash = 0;
+        for(int i = offset; i < offset + length; i++)
+            hash = 31 * hash + data[i];
+        addStem(data, offset, length, hash, count);
+        ruleCounts[ruleCode] += count;
+        total += count;
+    }
+    private void addStem(char[] data, int offset, int length, int hash, long count)
+    {
+        int slot = spread(hash) & (table.length - 1);
+        int entry;
+        while((entry = table[slot]) != EMPTY)
+        {
+            if(hashes[entry] == hash && equals(entry, data, offset, length))
+            {
+                counts[entry] += count;
+                return;
+            }
+            slot = (slot + 1) & (table.length - 1);
+        }
+        insert(slot, data, offset, length, hash, count);
+    }
+    private void insert(int slot, char[] data, int offset, int length, int hash, long count)
+    {
+        if(size == offsets.length)
+        {
+            int capacity = size * 2;
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        if(charsLength + length > chars.length)
+            chars = Arrays.copyOf(chars, Math.max(charsLength + length, chars.length * 2));
+        System.arraycopy(data, offset, chars, charsLength, length);
+        offsets[size] = charsLength;
+        lengths[size] = length;
+        hashes[size] = hash;
+        counts[size] = count;
+        charsLength += length;
+        table[slot] = size++;
+        // Keep the table at most half full
+        if(size * 2 > table.length)
+            rehash(table.length * 2);
+    }
+    private void rehash(int capacity)
+    {
+        table = new int[capacity];
+        Arrays.fill(table, EMPTY);
+        for(int entry = 0; entry < size; entry++)
+        {
+            int slot = spread(hashes[entry]) & (capacity - 1);
+            while(table[slot] != EMPTY)
+                slot = (slot + 1) & (capacity - 1);
+            table[slot] = entry;
+        }
+    }
+    private int find(CharSequence stem, int hash)
+    {
+        int slot = spread(hash) & (table.length - 1);
+        int entry;
+        while((entry = table[slot]) != EMPTY)
+        {
+            if(hashes[entry] == hash && lengths[entry] == stem.length())
+            {
+                int offset = offsets[entry];
+                int i = 0;
+                while(i < lengths[entry] && chars[offset + i] == stem.charAt(i))
+                    i++;
+                if(i == lengths[entry])
+                    return entry;
+            }
+            slot = (slot + 1) & (table.length - 1);
+        }
+        return EMPTY;
+    }
+    private boolean equals(int entry, char[] data, int offset, int length)
+    {
+        if(lengths[entry] != length)
+            return false;
+        int entryOffset = offsets[entry];
+        for(int i = 0; i < length; i++)
+        {
+            if(chars[entryOffset + i] != data[offset + i])
+                return false;
+        }
+        return true;
+    }
+    /**
+     * Adds the counts of another instance to this instance.
+     * 
+     * @param other The counts added.
+     */
+    public void merge(StemCounts other)
+    {
+        for(int entry = 0; entry < other.size; entry++)
+            addStem(other.chars, other.offsets[entry], other.lengths[entry], other.hashes[entry], other.counts[entry]);
+        for(int i = 0; i < ruleCounts.length; i++)
+            ruleCounts[i] += other.ruleCounts[i];
+        total += other.total;
+    }
+    /**
+     * Removes all the counts, retaining the allocated capacity.
+     */
+    public void clear()
+    {
+        Arrays.fill(table, EMPTY);
+        Arrays.fill(ruleCounts, 0);
+        size = 0;
+        charsLength = 0;
+        total = 0;
+    }
+    /**
+     * Writes the frequency of each stem, as a line of the stem and count
+     * separated by a tab, in descending order of frequency; stems of equal
+     * frequency are in lexicographic order.
+     * 
+     * @param out The destination of the frequencies.
+     * @throws IOException Thrown if an issue occurs writing the frequencies.
+     */
+    public void write(Writer out) throws IOException
+    {
+        for(int entry : sortedEntries())
+        {
+            out.write(chars, offsets[entry], lengths[entry]);
+            out.write('\t');
+            out.write(Long.toString(counts[entry]));
+            out.write('\n');
+        }
+    }
+    /**
+     * Writes the frequency of each stem to a file, with the default charset.
+     * 
+     * @param file The destination file.
+     * @throws IOException Thrown if an issue occurs writing the file.
+     * @see #write(Writer)
+     */
+    public void write(File file) throws IOException
+    {
+        try(Writer out = new BufferedWriter(new FileWriter(file), FileStemming.CHUNK_SIZE))
+        {
+            write(out);
+        }
+    }
+    /**
+     * Writes the frequency of each rule applied, as a line of the rule and
+     * count separated by a tab, in order of rule; rule 0 counts the words
+     * matched by no rule, and rules never applied are omitted.
+     * 
+     * @param out The destination of the frequencies.
+     * @throws IOException Thrown if an issue occurs writing the frequencies.
+     */
+    public void writeRules(Writer out) throws IOException
+    {
+        for(int i = 0; i < ruleCounts.length; i++)
+        {
+            if(ruleCounts[i] != 0)
+            {
+                out.write(Double.toString(Rules.label(i)));
+                out.write('\t');
+                out.write(Long.toString(ruleCounts[i]));
+                out.write('\n');
+            }
+        }
+    }
+    private int[] sortedEntries()
+    {
+        Integer[] entries = new Integer[size];
+        for(int i = 0; i < size; i++)
+            entries[i] = i;
+        Arrays.sort(entries, new Comparator<Integer>()
+        {
+            @Override
+            public int compare(Integer a, Integer b)
+            {
+                int result = Long.compare(counts[b], counts[a]);
+                if(result != 0)
+                    return result;
+                int offsetA = offsets[a], offsetB = offsets[b];
+                int length = Math.min(lengths[a], lengths[b]);
+                for(int i = 0; i < length; i++)
+                {
+                    if(chars[offsetA + i] != chars[offsetB + i])
+                        return chars[offsetA + i] - chars[offsetB + i];
+                }
+                return lengths[a] - lengths[b];
+            }
+        });
+        int[] sorted = new int[size];
+        for(int i = 0; i < size; i++)
+            sorted[i] = entries[i];
+        return sorted;
+    }
+    // Methods - Accessors *****************************************************
+    /**
+     * @param stem The stem.
+     * @return The number of occurrences of the stem.
+     */
+    public long getCount(CharSequence stem)
+    {
+        int entry = find(stem, hash(stem));
+        return entry == EMPTY ? 0 : counts[entry];
+    }
+    /**
+     * @param ruleCode The code of a rule.
+     * @return The number of occurrences of the rule applied.
+     */
+    public long getRuleCount(int ruleCode)
+    {
+        return ruleCounts[ruleCode];
+    }
+    /**
+     * @return The number of distinct stems.
+     */
+    public int getSize()
+    {
+        return size;
+    }
+    /**
+     * @return The total number of stems counted.
+     */
+    public long getTotal()
+    {
+        return total;
+    }
+    // Methods - Static ********************************************************
+    private static int hash(CharSequence stem)
+    {
+        int hash = 0;
+        for(int i = 0; i < stem.length(); i++)
+            hash = 31 * hash + stem.charAt(i);
+        return hash;
+    }
+    private static int spread(int hash)
+    {
+        return hash ^ (hash >>> 16);
+    }
+}
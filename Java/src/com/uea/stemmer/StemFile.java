@@ -0,0 +1,368 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A binary file of the stems of a file, written by {@link FileStemming} as an
+ * alternative to text, and read by memory-mapping the file; tokens are read
+ * as term IDs and stems as UTF-8 bytes, without creating any strings.
+ * 
+ * Each distinct stem of the file is stored once, in a dictionary, and each
+ * token as the ID of its stem; IDs are assigned in order of first occurrence,
+ * so frequent stems usually have small IDs, written as varints of one byte.
+ * The file is written in a single pass, so the dictionary and the counts
+ * follow the tokens, located by a trailer of fixed size:
+ * 
+ *  int magic, int version, int flags
+ *  blocks x (int tokens, int ID bytes, varint IDs, rule codes as bytes if
+ *      the rules are included)
+ *  dictionary: (stems + 1) x (int offset of the stem of the ID; the next
+ *      ends it), bytes of the stems as UTF-8
+ *  if the rules are included: int rules, rules x (double label, e.g. 11.4,
+ *      long tokens)
+ *  long tokens, long dictionary offset, long rules offset, int stems,
+ *  int blocks, int magic
+ * 
+ * Values are big-endian; varints hold seven bits per byte, the lowest first,
+ * with the high bit set on all but the last. Instances are immutable and
+ * safe for use by multiple threads, although each {@link Cursor} is not.
+ */
+public final class StemFile
+{
+    // Constants ***************************************************************
+    static final int MAGIC = 0x55454153;               // "UEAS"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 12;
+    static final int BLOCK_HEADER_SIZE = 8;
+    static final int TRAILER_SIZE = 36;
+    /**
+     * The flag of a file including the code of the rule applied to each
+     * token.
+     */
+    static final int FLAG_RULES = 1;
+    // Fields ******************************************************************
+    private final ByteBuffer    buffer;
+    private final boolean       rules;
+    private final long          tokens;
+    private final int           stems;
+    private final int           blocks;
+    private final int           dictionary;
+    private final int           stemBytes;
+    private final double[]      ruleLabels;
+    private final long[]        ruleCounts;
+    // Methods - Constructors **************************************************
+    private StemFile(ByteBuffer buffer) throws IOException
+    {
+        int size = buffer.capacity();
+        if(size < HEADER_SIZE + TRAILER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(size - 4) != MAGIC)
+            throw new IOException("Not a stem file");
+        if(buffer.getInt(4) != VERSION)
+            throw new IOException("Unsupported stem file version " + buffer.getInt(4));
+        rules = (buffer.getInt(8) & FLAG_RULES) != 0;
+        int trailer = size - TRAILER_SIZE;
+        tokens = buffer.getLong(trailer);
+        long dictionaryOffset = buffer.getLong(trailer + 8);
+        long rulesOffset = buffer.getLong(trailer + 16);
+        stems = buffer.getInt(trailer + 24);
+        blocks = buffer.getInt(trailer + 28);
+        if(tokens < 0 || stems < 0 || blocks < 0 || dictionaryOffset < HEADER_SIZE || dictionaryOffset + (stems + 1L) * 4 > rulesOffset || rulesOffset > trailer)
+            throw new IOException("Corrupt stem file trailer");
+        this.buffer = buffer;
+        dictionary = (int)dictionaryOffset;
+        stemBytes = dictionary + (stems + 1) * 4;
+        if(buffer.getInt(dictionary) != 0 || stemBytes + (long)buffer.getInt(dictionary + stems * 4) != rulesOffset)
+            throw new IOException("Corrupt stem file dictionary");
+        // The labels are stored, so the file describes itself
+        if(rules)
+        {
+            int position = (int)rulesOffset;
+            int count = buffer.getInt(position);
+            if(count < 0 || count > (trailer - position - 4) / 16)
+                throw new IOException("Corrupt stem file rules");
+            position += 4;
+            ruleLabels = new double[count];
+            ruleCounts = new long[count];
+            for(int i = 0; i < count; i++, position += 16)
+            {
+                ruleLabels[i] = buffer.getDouble(position);
+                ruleCounts[i] = buffer.getLong(position + 8);
+            }
+        }
+        else
+        {
+            ruleLabels = new double[0];
+            ruleCounts = new long[0];
+        }
+    }
+    // Methods *****************************************************************
+    /**
+     * Creates a cursor over the tokens of the file, from the first.
+     * 
+     * @return The cursor.
+     */
+    public Cursor cursor()
+    {
+        return new Cursor();
+    }
+    private void checkId(int id)
+    {
+        if(id < 0 || id >= stems)
+            throw new IllegalArgumentException("Term ID " + id + " is not within the file!");
+    }
+    // Methods - Accessors *****************************************************
+    /**
+     * @param id The ID of a stem.
+     * @return The length of the stem, in bytes of UTF-8.
+     */
+    public int getStemLength(int id)
+    {
+        checkId(id);
+        return buffer.getInt(dictionary + (id + 1) * 4) - buffer.getInt(dictionary + id * 4);
+    }
+    /**
+     * Copies the bytes of a stem.
+     * 
+     * @param id The ID of the stem.
+     * @param dest The array receiving the bytes, as UTF-8.
+     * @param offset The offset within the array.
+     * @return The number of bytes copied.
+     */
+    public int getStemBytes(int id, byte[] dest, int offset)
+    {
+        int length = getStemLength(id);
+        ByteBuffer source = buffer.duplicate();
+        source.position(stemBytes + buffer.getInt(dictionary + id * 4));
+        source.get(dest, offset, length);
+        return length;
+    }
+    /**
+     * @param id The ID of a stem.
+     * @return A read-only view of the bytes of the stem within the mapped
+     * file, as UTF-8.
+     */
+    public ByteBuffer getStemBytes(int id)
+    {
+        int length = getStemLength(id);
+        ByteBuffer view = buffer.asReadOnlyBuffer();
+        view.position(stemBytes + buffer.getInt(dictionary + id * 4));
+        view.limit(view.position() + length);
+        return view.slice();
+    }
+    /**
+     * @param id The ID of a stem.
+     * @return The stem, as a new string.
+     */
+    public String getStem(int id)
+    {
+        byte[] stem = new byte[getStemLength(id)];
+        getStemBytes(id, stem, 0);
+        return new String(stem, StandardCharsets.UTF_8);
+    }
+    /**
+     * @return The number of tokens of the file.
+     */
+    public long getTokenCount()
+    {
+        return tokens;
+    }
+    /**
+     * @return The number of distinct stems, i.e. of term IDs.
+     */
+    public int getStemCount()
+    {
+        return stems;
+    }
+    /**
+     * @return The number of blocks of tokens.
+     */
+    public int getBlockCount()
+    {
+        return blocks;
+    }
+    /**
+     * @return Indicates if the code of the rule applied to each token is
+     * included.
+     */
+    public boolean hasRules()
+    {
+        return rules;
+    }
+    /**
+     * @return The number of rule codes, or zero if the rules are not
+     * included.
+     */
+    public int getRuleCodeCount()
+    {
+        return ruleLabels.length;
+    }
+    /**
+     * @param ruleCode The code of a rule.
+     * @return The decimal rule number, e.g. 11.4, as when the file was
+     * written.
+     */
+    public double getRuleLabel(int ruleCode)
+    {
+        return ruleLabels[ruleCode];
+    }
+    /**
+     * @param ruleCode The code of a rule.
+     * @return The number of tokens stemmed by the rule.
+     */
+    public long getRuleCount(int ruleCode)
+    {
+        return ruleCounts[ruleCode];
+    }
+    // Methods - Static ********************************************************
+    /**
+     * Opens a stem file, by memory-mapping the file; the file should not be
+     * altered while in use.
+     * 
+     * @param file The stem file.
+     * @return The stem file.
+     * @throws IOException Thrown if the file cannot be read or is not a stem
+     * file.
+     */
+    public static StemFile open(File file) throws IOException
+    {
+        try(RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel())
+        {
+            if(channel.size() > Integer.MAX_VALUE)
+                throw new IOException("Stem file '" + file.getPath() + "' is too large");
+            // The mapping remains valid once the channel is closed
+            return new StemFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+    /**
+     * Writes the stems of a stem file to the standard output as text, one
+     * per line, as written by {@link FileStemming#FORMAT_TEXT}.
+     * 
+     * @param args The stem file.
+     * @throws IOException Thrown if an issue occurs reading the file.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if(args.length != 1)
+        {
+            System.err.println("Usage: StemFile <stem-file>");
+            System.exit(1);
+        }
+        StemFile file = open(new File(args[0]));
+        OutputStream out = new BufferedOutputStream(System.out, FileStemming.CHUNK_SIZE);
+        byte[] stem = new byte[64];
+        Cursor cursor = file.cursor();
+        for(long i = 0; cursor.next(); i++)
+        {
+            if(i > 0)
+                out.write('\n');
+            int length = file.getStemLength(cursor.getId());
+            if(length > stem.length)
+                stem = new byte[Math.max(length, stem.length * 2)];
+            out.write(stem, 0, file.getStemBytes(cursor.getId(), stem, 0));
+        }
+        out.flush();
+    }
+    // Classes *****************************************************************
+    /**
+     * Reads the tokens of the file in order, decoding each term ID in place
+     * within the mapped file; moving to the next token does not allocate.
+     */
+    public final class Cursor
+    {
+        private int     block = HEADER_SIZE;
+        private int     position;
+        private int     rulePosition;
+        private int     remaining;
+        private int     id = StemTable.NO_ID;
+        private int     ruleCode = -1;
+        private Cursor()
+        { }
+        /**
+         * Moves to the next token.
+         * 
+         * @return True if moved to a token, false if there are no more.
+         */
+        public boolean next()
+        {
+            while(remaining == 0)
+            {
+                if(block == dictionary)
+                    return false;
+                if(block > dictionary - BLOCK_HEADER_SIZE)
+                    throw new IllegalStateException("Corrupt stem file block at byte " + block);
+                int count = buffer.getInt(block);
+                int idBytes = buffer.getInt(block + 4);
+                long end = block + BLOCK_HEADER_SIZE + (long)idBytes + (rules ? count : 0);
+                if(count < 0 || idBytes < 0 || end > dictionary)
+                    throw new IllegalStateException("Corrupt stem file block at byte " + block);
+                remaining = count;
+                position = block + BLOCK_HEADER_SIZE;
+                rulePosition = position + idBytes;
+                block = (int)end;
+            }
+            remaining--;
+            int b = buffer.get(position++);
+            int value = b & 0x7F;
+            for(int shift = 7; b < 0; shift += 7)
+            {
+                b = buffer.get(position++);
+                value |= (b & 0x7F) << shift;
+            }
+            id = value;
+            if(rules)
+                ruleCode = buffer.get(rulePosition++) & 0xFF;
+            return true;
+        }
+        /**
+         * @return The term ID of the stem of the token; refer to
+         * {@link StemFile#getStemBytes(int)}.
+         */
+        public int getId()
+        {
+            return id;
+        }
+        /**
+         * @return The code of the rule applied to the token, or -1 if the
+         * rules are not included.
+         */
+        public int getRuleCode()
+        {
+            return ruleCode;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *                      Table grown to fit long stems; output limited to 2 GB.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes a {@link StemFile} in a single pass, as each token is stemmed; the
+ * stems are interned in a {@link StemTable}, replaced with a larger table
+ * whenever full, and the tokens are buffered one block at a time so the
+ * rule codes of a block follow its IDs.
+ */
+final class StemFileWriter implements Closeable
+{
+    // Constants ***************************************************************
+    /**
+     * The number of tokens of a full block.
+     */
+    static final int BLOCK_TOKENS = 16 * 1024;
+    private static final int MAX_VARINT_BYTES = 5;
+    private static final int INITIAL_STEMS = 1024;
+    private static final int INITIAL_STEM_BYTES = 16 * 1024;
+    // Fields ******************************************************************
+    private final ChannelWriter out;
+    private final boolean       rules;
+    private final byte[]        ids = new byte[BLOCK_TOKENS * MAX_VARINT_BYTES];
+    private final byte[]        ruleCodes;
+    private final long[]        ruleCounts;
+    private StemTable           table = new StemTable(INITIAL_STEMS, INITIAL_STEM_BYTES);
+    private int                 maxStemBytes = INITIAL_STEM_BYTES;
+    private int                 blockTokens;
+    private int                 idLength;
+    private int                 blocks;
+    private long                tokens;
+    private long                position;
+    // Methods - Constructors **************************************************
+    /**
+     * @param channel The channel written, which is closed with the writer.
+     * @param rules Indicates if the code of the rule applied to each token is
+     * included.
+     * @throws IOException Thrown if an issue occurs writing to the channel.
+     */
+    StemFileWriter(WritableByteChannel channel, boolean rules) throws IOException
+    {
+        this.out = new ChannelWriter(channel, MappedFileStemming.OUTPUT_BUFFER_SIZE);
+        this.rules = rules;
+        this.ruleCodes = rules ? new byte[BLOCK_TOKENS] : null;
+        this.ruleCounts = rules ? new long[Rules.count()] : null;
+        writeInt(StemFile.MAGIC);
+        writeInt(StemFile.VERSION);
+        writeInt(rules ? StemFile.FLAG_RULES : 0);
+    }
+    // Methods *****************************************************************
+    /**
+     * Writes a token.
+     * 
+     * @param stem The stem of the token, with the code of the rule applied.
+     * @throws IOException Thrown if an issue occurs writing to the channel.
+     */
+    void write(StemResult stem) throws IOException
+    {
+        int id;
+        while((id = table.intern(stem)) == StemTable.NO_ID)
+            grow(stem.length());
+        // Varint, seven bits at a time
+        while((id & ~0x7F) != 0)
+        {
+            ids[idLength++] = (byte)(id | 0x80);
+            id >>>= 7;
+        }
+        ids[idLength++] = (byte)id;
+        if(rules)
+        {
+            // Rule codes fit within an unsigned byte
+            int ruleCode = stem.getRuleCode();
+            ruleCodes[blockTokens] = (byte)ruleCode;
+            ruleCounts[ruleCode]++;
+        }
+        tokens++;
+        if(++blockTokens == BLOCK_TOKENS)
+            writeBlock();
+    }
+    /**
+     * Replaces the full table with a larger one, of twice the stems if out of
+     * IDs, otherwise of enough bytes for the pending stem; the stems are
+     * interned again in order of ID, so keep the same IDs.
+     * 
+     * @param stemLength The length of the pending stem, in characters.
+     */
+    private void grow(int stemLength) throws IOException
+    {
+        int capacity = table.getCapacity();
+        if(table.getSize() == capacity)
+        {
+            if(capacity == StemTable.MAX_CAPACITY)
+                throw new IOException("Too many distinct stems for a stem file!");
+            capacity *= 2;
+        }
+        else
+        {
+            // Each character takes at most three bytes of UTF-8
+            long used = table.getByteSize();
+            long needed = used + stemLength * 3L;
+            if(needed > Integer.MAX_VALUE)
+                throw new IOException("Stems exceed 2 GB for a stem file!");
+            maxStemBytes = (int)Math.min(Math.max(used * 2, needed) + INITIAL_STEM_BYTES, Integer.MAX_VALUE);
+        }
+        StemTable larger = new StemTable(capacity, maxStemBytes);
+        for(int i = 0; i < table.getSize(); i++)
+            larger.intern(table.getStem(i));
+        table = larger;
+    }
+    /**
+     * Fails early if the file would exceed the size mapped by
+     * {@link StemFile#open}.
+     */
+    private void checkSize() throws IOException
+    {
+        long size = position + (table.getSize() + 1L) * 4 + table.getByteSize() + StemFile.TRAILER_SIZE;
+        if(rules)
+            size += 4 + ruleCounts.length * 16L;
+        if(size > Integer.MAX_VALUE)
+            throw new IOException("Stem file exceeds 2 GB!");
+    }
+    private void writeBlock() throws IOException
+    {
+        if(blockTokens == 0)
+            return;
+        writeInt(blockTokens);
+        writeInt(idLength);
+        write(ids, 0, idLength);
+        if(rules)
+            write(ruleCodes, 0, blockTokens);
+        blocks++;
+        blockTokens = 0;
+        idLength = 0;
+        checkSize();
+    }
+    /**
+     * Writes the last block, the dictionary, the counts and the trailer, and
+     * closes the channel.
+     * 
+     * @throws IOException Thrown if an issue occurs writing to the channel.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            writeBlock();
+            checkSize();
+            long dictionary = position;
+            int stems = table.getSize();
+            int offset = 0;
+            for(int i = 0; i <= stems; i++)
+            {
+                writeInt(offset);
+                if(i < stems)
+                    offset += table.getLength(i);
+            }
+            byte[] stem = new byte[64];
+            for(int i = 0; i < stems; i++)
+            {
+                int length = table.getLength(i);
+                if(length > stem.length)
+                    stem = new byte[Math.max(length, stem.length * 2)];
+                write(stem, 0, table.getBytes(i, stem, 0));
+            }
+            long rulesOffset = position;
+            if(rules)
+            {
+                writeInt(ruleCounts.length);
+                for(int i = 0; i < ruleCounts.length; i++)
+                {
+                    writeLong(Double.doubleToLongBits(Rules.label(i)));
+                    writeLong(ruleCounts[i]);
+                }
+            }
+            writeLong(tokens);
+            writeLong(dictionary);
+            writeLong(rulesOffset);
+            writeInt(stems);
+            writeInt(blocks);
+            writeInt(StemFile.MAGIC);
+        }
+        finally
+        {
+            out.close();
+        }
+    }
+    private void write(byte[] bytes, int offset, int length) throws IOException
+    {
+        out.write(bytes, offset, length);
+        position += length;
+    }
+    private void writeInt(int value) throws IOException
+    {
+        for(int shift = 24; shift >= 0; shift -= 8)
+            out.write((byte)(value >>> shift));
+        position += 4;
+    }
+    private void writeLong(long value) throws IOException
+    {
+        writeInt((int)(value >>> 32));
+        writeInt((int)value);
+    }
+    // Methods - Accessors *****************************************************
+    /**
+     * @return The number of tokens written.
+     */
+    long getTokenCount()
+    {
+        return tokens;
+    }
+}
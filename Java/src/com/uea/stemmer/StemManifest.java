@@ -0,0 +1,435 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *                      Outputs of other settings deleted; writes synced.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A manifest of the files of a directory stemmed incrementally, held within
+ * the output directory; each input is recorded with its size, modification
+ * time and content hash, along with the name and length of its output.
+ * 
+ * The manifest is a journal of UTF-8 lines, starting with a signature of the
+ * settings the files were stemmed with:
+ * 
+ *  uea-lite-manifest, version, signature
+ *  + size, modified, hash, output length, name, output name  (a file stemmed)
+ *  - name                                                    (a file removed)
+ * 
+ * Each line is appended and synced to disk once its output is synced and in
+ * place, so a run interrupted at any point, even by a loss of power, resumes
+ * from the last file recorded; an incomplete last line is ignored. Closing
+ * compacts the journal, by writing the current entries to a temporary file
+ * which replaces the manifest atomically.
+ * 
+ * Opening a manifest of other settings deletes the outputs it records before
+ * starting afresh, so no output outlives its input when the settings change.
+ */
+final class StemManifest
+{
+    // Constants ***************************************************************
+    /**
+     * The name of the manifest within the output directory.
+     */
+    static final String FILE_NAME = ".uea-lite-manifest";
+    private static final String MAGIC = "uea-lite-manifest";
+    private static final int VERSION = 2;
+    private static final String TEMP_SUFFIX = ".tmp";
+    // Fields ******************************************************************
+    private final File                      file;
+    private final String                    signature;
+    private final Map<String, Entry>        entries = new LinkedHashMap<>();
+    private FileOutputStream                journal;
+    private boolean                         otherSettings;
+    // Methods - Constructors **************************************************
+    private StemManifest(File file, String signature)
+    {
+        this.file = file;
+        this.signature = signature;
+    }
+    // Methods *****************************************************************
+    /**
+     * @param name The name of an input file.
+     * @return The entry of the file, or null if the file is not recorded.
+     */
+    Entry get(String name)
+    {
+        return entries.get(name);
+    }
+    /**
+     * @return The names of the input files recorded, in order of recording.
+     */
+    List<String> getNames()
+    {
+        return new ArrayList<>(entries.keySet());
+    }
+    /**
+     * Records a file as stemmed; its output must already be in place.
+     * 
+     * @param name The name of the input file.
+     * @param entry The state of the file when stemmed.
+     * @throws IOException Thrown if the journal cannot be written.
+     */
+    void record(String name, Entry entry) throws IOException
+    {
+        entries.put(name, entry);
+        append(line(name, entry));
+    }
+    /**
+     * Records a file as removed, deleting its output first.
+     * 
+     * @param name The name of the input file.
+     * @throws IOException Thrown if the output cannot be deleted or the
+     * journal cannot be written.
+     */
+    void remove(String name) throws IOException
+    {
+        Entry entry = entries.get(name);
+        if(entry == null)
+            return;
+        File fileOut = new File(file.getParentFile(), entry.output);
+        if(fileOut.exists() && !fileOut.delete())
+            throw new IOException("Unable to delete the stale output '" + fileOut.getPath() + "'!");
+        syncDirectory(file.getParentFile());
+        entries.remove(name);
+        append("-\t" + escape(name));
+    }
+    /**
+     * Compacts the journal and closes the manifest.
+     * 
+     * @throws IOException Thrown if the manifest cannot be written.
+     */
+    void close() throws IOException
+    {
+        journal.close();
+        compact();
+    }
+    private void compact() throws IOException
+    {
+        // Write the entries afresh, then replace the journal in one step
+        File temp = createTempFile(file.getParentFile());
+        try
+        {
+            StringBuilder data = new StringBuilder();
+            data.append(header()).append('\n');
+            for(Map.Entry<String, Entry> e : entries.entrySet())
+                data.append(line(e.getKey(), e.getValue())).append('\n');
+            try(FileOutputStream out = new FileOutputStream(temp))
+            {
+                out.write(data.toString().getBytes(StandardCharsets.UTF_8));
+                out.getFD().sync();
+            }
+            replace(temp, file);
+        }
+        finally
+        {
+            temp.delete();
+        }
+    }
+    /**
+     * Deletes the outputs recorded with other settings, which the files
+     * stemmed afresh may not replace, e.g. when the extension differs.
+     */
+    private void deleteOutputs() throws IOException
+    {
+        File dirOut = file.getParentFile();
+        for(Entry entry : entries.values())
+        {
+            File fileOut = new File(dirOut, entry.output);
+            if(fileOut.exists() && !fileOut.delete())
+                throw new IOException("Unable to delete the output '" + fileOut.getPath() + "' of other settings!");
+        }
+        syncDirectory(dirOut);
+        entries.clear();
+    }
+    private static String line(String name, Entry entry)
+    {
+        return "+\t" + entry.size + "\t" + entry.modified + "\t" + entry.hash + "\t" + entry.outputLength + "\t" + escape(name) + "\t" + escape(entry.output);
+    }
+    private String header()
+    {
+        return MAGIC + "\t" + VERSION + "\t" + escape(signature);
+    }
+    private void append(String line) throws IOException
+    {
+        // A single write per line, so a line is only torn by a crash of the
+        // system, never by the process being killed
+        journal.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+        journal.getFD().sync();
+    }
+    /**
+     * Reads the entries of the journal.
+     * 
+     * @return True if lines can be appended to the journal, false if the
+     * journal is of other settings or ends with an incomplete line; the
+     * entries of other settings are read, and flagged as such.
+     */
+    private boolean read() throws IOException
+    {
+        try(BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)))
+        {
+            // A line is only read once complete, as an incomplete last line
+            // lacks the terminator; readLine would not reveal this
+            StringBuilder line = new StringBuilder();
+            boolean header = true;
+            int c;
+            while((c = br.read()) != -1)
+            {
+                if(c != '\n')
+                {
+                    line.append((char)c);
+                    continue;
+                }
+                if(header)
+                {
+                    // Files stemmed with other settings are all stemmed again,
+                    // their outputs deleted first
+                    if(!header().contentEquals(line))
+                    {
+                        if(!line.toString().startsWith(MAGIC + "\t" + VERSION + "\t"))
+                            return false;
+                        otherSettings = true;
+                    }
+                    header = false;
+                }
+                else
+                    parse(line.toString());
+                line.setLength(0);
+            }
+            return !header && !otherSettings && line.length() == 0;
+        }
+    }
+    private void parse(String line)
+    {
+        String[] fields = line.split("\t", -1);
+        try
+        {
+            if(fields.length == 7 && fields[0].equals("+") && isHash(fields[3]))
+                entries.put(unescape(fields[5]), new Entry(Long.parseLong(fields[1]), Long.parseLong(fields[2]), fields[3], unescape(fields[6]), Long.parseLong(fields[4])));
+            else if(fields.length == 2 && fields[0].equals("-"))
+                entries.remove(unescape(fields[1]));
+        }
+        catch(NumberFormatException ex)
+        {
+            // A damaged line; the file is simply stemmed again
+        }
+    }
+    // Methods - Static ********************************************************
+    /**
+     * Opens the manifest of an output directory, creating it if absent;
+     * temporary files left by an interrupted run are deleted.
+     * 
+     * @param dirOut The output directory.
+     * @param signature The settings the files are stemmed with; if these
+     * differ from those of the manifest, the outputs recorded are deleted and
+     * every file is treated as new.
+     * @return The manifest, open for recording.
+     * @throws IOException Thrown if the manifest cannot be read or written.
+     */
+    static StemManifest open(File dirOut, String signature) throws IOException
+    {
+        StemManifest manifest = new StemManifest(new File(dirOut, FILE_NAME), signature);
+        File[] temps = dirOut.listFiles();
+        if(temps != null)
+        {
+            for(File f : temps)
+            {
+                if(f.getName().startsWith(FILE_NAME + "-") && f.getName().endsWith(TEMP_SUFFIX))
+                    f.delete();
+            }
+        }
+        // Compact a journal which cannot be appended to, including one absent
+        if(!manifest.file.isFile() || !manifest.read())
+        {
+            if(manifest.otherSettings)
+                manifest.deleteOutputs();
+            manifest.compact();
+        }
+        manifest.journal = new FileOutputStream(manifest.file, true);
+        return manifest;
+    }
+    /**
+     * Computes the hash of the contents of a file, as hexadecimal SHA-256.
+     * 
+     * @param file The file.
+     * @return The hash.
+     * @throws IOException Thrown if the file cannot be read.
+     */
+    static String hash(File file) throws IOException
+    {
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch(NoSuchAlgorithmException ex)
+        {
+            // Every implementation of Java is required to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+        try(FileChannel channel = FileChannel.open(file.toPath()))
+        {
+            ByteBuffer buffer = ByteBuffer.allocate(FileStemming.CHUNK_SIZE);
+            while(channel.read(buffer) != -1)
+            {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        StringBuilder hex = new StringBuilder(64);
+        for(byte b : digest.digest())
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        return hex.toString();
+    }
+    /**
+     * Creates a temporary file within the output directory, for writing an
+     * output before moving it into place with {@link #replace}.
+     * 
+     * @param dirOut The output directory.
+     * @return The temporary file.
+     * @throws IOException Thrown if the file cannot be created.
+     */
+    static File createTempFile(File dirOut) throws IOException
+    {
+        return File.createTempFile(FILE_NAME + "-", TEMP_SUFFIX, dirOut);
+    }
+    /**
+     * Moves a file over another atomically, so the destination is never seen
+     * partially written.
+     * 
+     * @param source The file moved.
+     * @param dest The file replaced.
+     * @throws IOException Thrown if the file cannot be moved.
+     */
+    static void replace(File source, File dest) throws IOException
+    {
+        Files.move(source.toPath(), dest.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory(dest.getParentFile());
+    }
+    /**
+     * Forces the contents of a file to disk, e.g. an output before it is moved
+     * into place and recorded.
+     * 
+     * @param file The file.
+     * @throws IOException Thrown if the file cannot be synced.
+     */
+    static void sync(File file) throws IOException
+    {
+        try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE))
+        {
+            channel.force(true);
+        }
+    }
+    /**
+     * Forces the entries of a directory to disk, so a file moved or deleted
+     * remains so; not every platform can open a directory, in which case its
+     * entries are left to the file system.
+     */
+    private static void syncDirectory(File dir)
+    {
+        try(FileChannel channel = FileChannel.open(dir.toPath(), StandardOpenOption.READ))
+        {
+            channel.force(true);
+        }
+        catch(IOException ex)
+        {
+            // E.g. Windows, where directories cannot be opened as files
+        }
+    }
+    private static boolean isHash(String s)
+    {
+        if(s.length() != 64)
+            return false;
+        for(int i = 0; i < s.length(); i++)
+        {
+            if(Character.digit(s.charAt(i), 16) == -1)
+                return false;
+        }
+        return true;
+    }
+    private static String escape(String s)
+    {
+        return s.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+    private static String unescape(String s)
+    {
+        StringBuilder sb = new StringBuilder(s.length());
+        for(int i = 0; i < s.length(); i++)
+        {
+            char c = s.charAt(i);
+            if(c == '\\' && i + 1 < s.length())
+            {
+                c = s.charAt(++i);
+                c = c == 't' ? '\t' : c == 'n' ? '\n' : c == 'r' ? '\r' : c;
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+    // Classes *****************************************************************
+    /**
+     * The state of an input file when it was stemmed.
+     */
+    static final class Entry
+    {
+        final long      size;
+        final long      modified;
+        final String    hash;
+        final String    output;
+        final long      outputLength;
+        Entry(long size, long modified, String hash, String output, long outputLength)
+        {
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+            this.output = output;
+            this.outputLength = outputLength;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.nio.CharBuffer;
+
+/**
+ * A mutable, reusable result of stemming a word; the stem is held in a buffer
+ * which grows as required, so stemming into the same instance repeatedly does
+ * not allocate once the buffer is large enough.
+ */
+public class StemResult implements CharSequence
+{
+    // Fields ******************************************************************
+    private char[]  buffer;
+    private int     length;
+    private int     ruleCode;
+    // Methods - Constructors **************************************************
+    /**
+     * Creates a new result, with a buffer suitable for most words.
+     */
+    public StemResult()
+    {
+        this(32);
+    }
+    /**
+     * Creates a new result.
+     * 
+     * @param capacity The initial capacity of the buffer.
+     */
+    public StemResult(int capacity)
+    {
+        buffer = new char[capacity];
+    }
+    // Methods *****************************************************************
+    /**
+     * Copies the stem into an array.
+     * 
+     * @param dest The destination array.
+     * @param offset The offset within the destination array.
+     * @return The number of characters copied.
+     */
+    public int copyTo(char[] dest, int offset)
+    {
+        System.arraycopy(buffer, 0, dest, offset, length);
+        return length;
+    }
+    /**
+     * @param s The characters to be compared.
+     * @return True if the stem is equal to the characters.
+     */
+    public boolean contentEquals(CharSequence s)
+    {
+        if(s.length() != length)
+            return false;
+        for(int i = 0; i < length; i++)
+        {
+            if(buffer[i] != s.charAt(i))
+                return false;
+        }
+        return true;
+    }
+    @Override
+    public int length()
+    {
+        return length;
+    }
+    @Override
+    public char charAt(int index)
+    {
+        if(index >= length)
+            throw new IndexOutOfBoundsException("Index " + index + " is beyond the stem length " + length + "!");
+        return buffer[index];
+    }
+    @Override
+    public CharSequence subSequence(int start, int end)
+    {
+        if(start < 0 || end > length || start > end)
+            throw new IndexOutOfBoundsException("Invalid range " + start + " to " + end + " for the stem length " + length + "!");
+        return new String(buffer, start, end - start);
+    }
+    /**
+     * @return A new string of the stem.
+     */
+    @Override
+    public String toString()
+    {
+        return new String(buffer, 0, length);
+    }
+    // Methods - Editing *******************************************************
+    void set(CharSequence word)
+    {
+        int wordLength = word.length();
+        ensureCapacity(wordLength);
+        if(word instanceof String)
+            ((String)word).getChars(0, wordLength, buffer, 0);
+        else
+        {
+            for(int i = 0; i < wordLength; i++)
+                buffer[i] = word.charAt(i);
+        }
+        length = wordLength;
+    }
+    void set(char[] word, int offset, int wordLength)
+    {
+        ensureCapacity(wordLength);
+        System.arraycopy(word, offset, buffer, 0, wordLength);
+        length = wordLength;
+    }
+    void set(CharBuffer word, int offset, int wordLength)
+    {
+        ensureCapacity(wordLength);
+        for(int i = 0; i < wordLength; i++)
+            buffer[i] = word.get(offset + i);
+        length = wordLength;
+    }
+    void setRuleCode(int ruleCode)
+    {
+        this.ruleCode = ruleCode;
+    }
+    void truncate(int count)
+    {
+        length -= count;
+    }
+    void append(String s)
+    {
+        ensureCapacity(length + s.length());
+        s.getChars(0, s.length(), buffer, length);
+        length += s.length();
+    }
+    int indexOf(char c)
+    {
+        for(int i = 0; i < length; i++)
+        {
+            if(buffer[i] == c)
+                return i;
+        }
+        return -1;
+    }
+    int indexOf(String target, int fromIndex)
+    {
+        int targetLength = target.length();
+        char first = target.charAt(0);
+        for(int i = fromIndex; i <= length - targetLength; i++)
+        {
+            if(buffer[i] != first)
+                continue;
+            int j = 1;
+            while(j < targetLength && buffer[i + j] == target.charAt(j))
+                j++;
+            if(j == targetLength)
+                return i;
+        }
+        return -1;
+    }
+    void replaceFirst(String target, String replacement)
+    {
+        int index = indexOf(target, 0);
+        if(index != -1)
+            replace(index, target.length(), replacement);
+    }
+    void replaceAll(String target, String replacement)
+    {
+        int index = 0;
+        while((index = indexOf(target, index)) != -1)
+        {
+            replace(index, target.length(), replacement);
+            index += replacement.length();
+        }
+    }
+    private void replace(int index, int count, String replacement)
+    {
+        int replacementLength = replacement.length();
+        if(replacementLength != count)
+        {
+            ensureCapacity(length - count + replacementLength);
+            System.arraycopy(buffer, index + count, buffer, index + replacementLength, length - index - count);
+            length += replacementLength - count;
+        }
+        replacement.getChars(0, replacementLength, buffer, index);
+    }
+    private void ensureCapacity(int capacity)
+    {
+        if(capacity > buffer.length)
+        {
+            char[] grown = new char[Math.max(capacity, buffer.length * 2)];
+            System.arraycopy(buffer, 0, grown, 0, length);
+            buffer = grown;
+        }
+    }
+    // Methods - Accessors *****************************************************
+    /**
+     * @return The buffer holding the stem, from index zero; this is only valid
+     * until the result is next used.
+     */
+    public char[] getBuffer()
+    {
+        return buffer;
+    }
+    /**
+     * @return The length of the stem within the buffer.
+     */
+    public int getLength()
+    {
+        return length;
+    }
+    /**
+     * @return The rule applied whilst stemming; zero (0) indicates no stemming
+     * occurred.
+     */
+    public double getRule()
+    {
+        return Rules.label(ruleCode);
+    }
+    /**
+     * @return The code of the rule applied whilst stemming, as defined by
+     * {@link Rules}; zero (0) indicates no stemming occurred.
+     */
+    public int getRuleCode()
+    {
+        return ruleCode;
+    }
+}
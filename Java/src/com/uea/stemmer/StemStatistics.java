@@ -0,0 +1,358 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *                      Percentiles shared with the stemming server.
+ *                      Rule numbers formatted as by Word.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counters of the rules applied by a stemmer and a histogram of the latency
+ * of stemming a word; enabled with {@link UEALite#setStatistics}, costing
+ * nothing beyond a null check when not set.
+ * 
+ * Every word is counted, but only a random sample of words is timed, as
+ * reading the clock can cost more than stemming a word. Counters are striped
+ * per thread, so recording from many threads does not contend. The histogram
+ * is log-linear: each power of two is split into eight buckets, so a
+ * percentile is accurate to within 12.5%.
+ */
+public final class StemStatistics implements StemStatisticsMXBean
+{
+    // Constants ***************************************************************
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_BUCKETS = SUB_BUCKETS * 2;
+    private static final int BUCKETS = LINEAR_BUCKETS + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+    /**
+     * The default interval of words timed, i.e. one in every sixteen.
+     */
+    public static final int DEFAULT_SAMPLE_INTERVAL = 16;
+    // Fields ******************************************************************
+    private final LongAdder[]       rules = new LongAdder[Rules.count()];
+    private final LongAdder[]       latencies = histogram();
+    private final LongAdder         latencyTotal = new LongAdder();
+    private final LongAccumulator   latencyMax = new LongAccumulator(Math::max, 0);
+    private final int               sampleMask;
+    // Methods - Constructors **************************************************
+    /**
+     * Creates a new instance, with all counters zero, timing one in every
+     * {@link #DEFAULT_SAMPLE_INTERVAL} words.
+     */
+    public StemStatistics()
+    {
+        this(DEFAULT_SAMPLE_INTERVAL);
+    }
+    /**
+     * Creates a new instance, with all counters zero.
+     * 
+     * @param sampleInterval The interval of words timed, on average; one to
+     * time every word.
+     * @throws IllegalArgumentException Thrown if the interval is not a
+     * positive power of two.
+     */
+    public StemStatistics(int sampleInterval)
+    {
+        if(sampleInterval < 1 || Integer.bitCount(sampleInterval) != 1)
+            throw new IllegalArgumentException("Sample interval must be a positive power of two!");
+        sampleMask = sampleInterval - 1;
+        for(int i = 0; i < rules.length; i++)
+            rules[i] = new LongAdder();
+    }
+    // Methods *****************************************************************
+    /**
+     * @return True if the next word stemmed by the current thread should be
+     * timed.
+     */
+    public boolean sample()
+    {
+        return sampleMask == 0 || (ThreadLocalRandom.current().nextInt() & sampleMask) == 0;
+    }
+    /**
+     * Records a word stemmed, which was not timed.
+     * 
+     * @param ruleCode The code of the rule applied.
+     */
+    public void record(int ruleCode)
+    {
+        rules[ruleCode].increment();
+    }
+    /**
+     * Records a word stemmed, which was timed.
+     * 
+     * @param ruleCode The code of the rule applied.
+     * @param nanos The time taken to stem the word.
+     */
+    public void record(int ruleCode, long nanos)
+    {
+        rules[ruleCode].increment();
+        if(nanos < 0)
+            nanos = 0;
+        latencies[bucket(nanos)].increment();
+        latencyTotal.add(nanos);
+        latencyMax.accumulate(nanos);
+    }
+    /**
+     * Takes a copy of the counters; counters updated while the copy is taken
+     * may or may not be included.
+     * 
+     * @return The copy of the counters.
+     */
+    public Snapshot snapshot()
+    {
+        long[] ruleCounts = new long[rules.length];
+        for(int i = 0; i < rules.length; i++)
+            ruleCounts[i] = rules[i].sum();
+        long[] latencyCounts = new long[latencies.length];
+        for(int i = 0; i < latencies.length; i++)
+            latencyCounts[i] = latencies[i].sum();
+        return new Snapshot(ruleCounts, latencyCounts, latencyTotal.sum(), latencyMax.get());
+    }
+    @Override
+    public void reset()
+    {
+        for(LongAdder rule : rules)
+            rule.reset();
+        for(LongAdder latency : latencies)
+            latency.reset();
+        latencyTotal.reset();
+        latencyMax.reset();
+    }
+    /**
+     * Registers the statistics with the platform MBean server, under the name
+     * "com.uea.stemmer:type=StemStatistics,name=" followed by the given name.
+     * 
+     * @param name The name distinguishing the statistics of this stemmer.
+     * @return The name registered.
+     * @throws JMException Thrown if the statistics cannot be registered, e.g.
+     * the name is already registered.
+     */
+    public ObjectName register(String name) throws JMException
+    {
+        ObjectName objectName = new ObjectName("com.uea.stemmer:type=StemStatistics,name=" + ObjectName.quote(name));
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.registerMBean(this, objectName);
+        return objectName;
+    }
+    // Methods - Accessors *****************************************************
+    @Override
+    public long getTotal()
+    {
+        return snapshot().getTotal();
+    }
+    @Override
+    public Map<String, Long> getRuleCounts()
+    {
+        return snapshot().getRuleCounts();
+    }
+    @Override
+    public double getMeanLatency()
+    {
+        return snapshot().getMeanLatency();
+    }
+    @Override
+    public long getLatency50thPercentile()
+    {
+        return snapshot().getLatencyPercentile(50);
+    }
+    @Override
+    public long getLatency99thPercentile()
+    {
+        return snapshot().getLatencyPercentile(99);
+    }
+    @Override
+    public long getLatency999thPercentile()
+    {
+        return snapshot().getLatencyPercentile(99.9);
+    }
+    @Override
+    public long getMaxLatency()
+    {
+        return latencyMax.get();
+    }
+    // Methods - Static ********************************************************
+    /**
+     * @param value A latency.
+     * @return The index of the bucket of the histogram holding the latency.
+     */
+    static int bucket(long value)
+    {
+        if(value < LINEAR_BUCKETS)
+            return (int)value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int)(value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+    /**
+     * @param bucket The index of a bucket of the histogram.
+     * @return The highest latency held by the bucket.
+     */
+    static long bucketLimit(int bucket)
+    {
+        if(bucket < LINEAR_BUCKETS)
+            return bucket;
+        int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        long subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        long lowest = (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+        return lowest + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+    /**
+     * @return A new histogram of latencies, with every bucket zero.
+     */
+    static LongAdder[] histogram()
+    {
+        LongAdder[] histogram = new LongAdder[BUCKETS];
+        for(int i = 0; i < histogram.length; i++)
+            histogram[i] = new LongAdder();
+        return histogram;
+    }
+    /**
+     * @param counts The count of each bucket of a histogram of latencies.
+     * @param max The maximum latency recorded.
+     * @param percentile The percentile, from 0 to 100.
+     * @return The latency at or below which the given percentage of the
+     * latencies fall; zero if the histogram is empty.
+     */
+    static long percentile(long[] counts, long max, double percentile)
+    {
+        long count = 0;
+        for(long bucket : counts)
+            count += bucket;
+        if(count == 0)
+            return 0;
+        long rank = Math.max(1, (long)Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100));
+        long seen = 0;
+        for(int i = 0; i < counts.length; i++)
+        {
+            seen += counts[i];
+            if(seen >= rank)
+                return Math.min(bucketLimit(i), max);
+        }
+        return max;
+    }
+    // Classes *****************************************************************
+    /**
+     * An immutable copy of the counters.
+     */
+    public static final class Snapshot
+    {
+        private final long[]    ruleCounts;
+        private final long[]    latencyCounts;
+        private final long      latencyTotal;
+        private final long      latencyMax;
+        private final long      total;
+        Snapshot(long[] ruleCounts, long[] latencyCounts, long latencyTotal, long latencyMax)
+        {
+            this.ruleCounts = ruleCounts;
+            this.latencyCounts = latencyCounts;
+            this.latencyTotal = latencyTotal;
+            this.latencyMax = latencyMax;
+            long total = 0;
+            for(long count : ruleCounts)
+                total += count;
+            this.total = total;
+        }
+        /**
+         * @return The number of words stemmed.
+         */
+        public long getTotal()
+        {
+            return total;
+        }
+        /**
+         * @param ruleCode The code of a rule.
+         * @return The number of words stemmed by the rule.
+         */
+        public long getRuleCount(int ruleCode)
+        {
+            return ruleCounts[ruleCode];
+        }
+        /**
+         * @param rule The decimal rule number, as returned by
+         * {@link Word#getRule()}.
+         * @return The number of words stemmed by the rule.
+         */
+        public long getRuleCount(double rule)
+        {
+            return ruleCounts[Rules.code(rule)];
+        }
+        /**
+         * @return The number of words stemmed by each rule applied, keyed by
+         * the decimal rule number, e.g. 68 or 11.4, in order of rule.
+         */
+        public Map<String, Long> getRuleCounts()
+        {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for(int i = 0; i < ruleCounts.length; i++)
+            {
+                if(ruleCounts[i] != 0)
+                    counts.put(Rules.format(i), ruleCounts[i]);
+            }
+            return counts;
+        }
+        /**
+         * @return The mean latency of stemming a word, in nanoseconds, over
+         * the words timed.
+         */
+        public double getMeanLatency()
+        {
+            long count = 0;
+            for(long bucket : latencyCounts)
+                count += bucket;
+            return count == 0 ? 0 : (double)latencyTotal / count;
+        }
+        /**
+         * @param percentile The percentile, from 0 to 100.
+         * @return The latency, in nanoseconds, at or below which the given
+         * percentage of the words timed were stemmed; zero if no words were
+         * timed.
+         */
+        public long getLatencyPercentile(double percentile)
+        {
+            return percentile(latencyCounts, latencyMax, percentile);
+        }
+        /**
+         * @return The maximum latency of stemming a word, in nanoseconds, over
+         * the words timed.
+         */
+        public long getMaxLatency()
+        {
+            return latencyMax;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.util.Map;
+
+/**
+ * The management interface of {@link StemStatistics}, for monitoring through
+ * JMX; latencies are in nanoseconds, over the sample of words timed.
+ */
+public interface StemStatisticsMXBean
+{
+    /**
+     * @return The number of words stemmed.
+     */
+    long getTotal();
+    /**
+     * @return The number of words stemmed by each rule applied, keyed by the
+     * decimal rule number, e.g. 68 or 11.4; rule 0 counts the words matched by
+     * no rule.
+     */
+    Map<String, Long> getRuleCounts();
+    /**
+     * @return The mean latency of stemming a word.
+     */
+    double getMeanLatency();
+    /**
+     * @return The median latency of stemming a word.
+     */
+    long getLatency50thPercentile();
+    /**
+     * @return The 99th percentile latency of stemming a word.
+     */
+    long getLatency99thPercentile();
+    /**
+     * @return The 99.9th percentile latency of stemming a word.
+     */
+    long getLatency999thPercentile();
+    /**
+     * @return The maximum latency of stemming a word.
+     */
+    long getMaxLatency();
+    /**
+     * Resets all the counters.
+     */
+    void reset();
+}
@@ -0,0 +1,354 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A table interning stems as UTF-8 bytes outside the heap, assigning each
+ * distinct stem an integer term ID; IDs are assigned in order from zero and
+ * never change, so they can stand for the stems, e.g. as the terms of an
+ * index, without a string per stem.
+ * 
+ * The table is bounded: its capacity of stems and of bytes is allocated up
+ * front as direct buffers, holding an open-addressed hash table, the offset
+ * of each stem by ID and the bytes of the stems:
+ * 
+ *  slots x (int hash, int ID + 1, or 0 if empty)
+ *  (capacity + 1) x (int offset of the stem of the ID; the next ends it)
+ *  bytes of the stems, without separators
+ * 
+ * Instances are safe for use by multiple threads. Stems already interned are
+ * found without locking: a stem is written in full before the number of stems
+ * is published, and a lookup compares only the stems below the number it
+ * read. A new stem is inserted under a lock, which a vocabulary of natural
+ * language rarely needs once its frequent stems are present.
+ */
+public final class StemTable
+{
+    // Constants ***************************************************************
+    /**
+     * The ID of a stem not within the table, or not interned as the table is
+     * full.
+     */
+    public static final int NO_ID = -1;
+    /**
+     * The maximum number of distinct stems of a table.
+     */
+    public static final int MAX_CAPACITY = 1 << 26;
+    private static final int SLOT_SIZE = 8;
+    /**
+     * Buffers for the bytes of stems, reused by each thread.
+     */
+    private static final ThreadLocal<Encoded> BUFFERS = new ThreadLocal<Encoded>()
+    {
+        @Override
+        protected Encoded initialValue()
+        {
+            return new Encoded();
+        }
+    };
+    // Fields ******************************************************************
+    private final ByteBuffer    slots;
+    private final ByteBuffer    offsets;
+    private final ByteBuffer    bytes;
+    private final int           slotMask;
+    private final int           capacity;
+    private volatile int        size;
+    // Methods - Constructors **************************************************
+    /**
+     * Creates a new, empty table, allocating its memory.
+     * 
+     * @param capacity The maximum number of distinct stems.
+     * @param maxBytes The maximum number of bytes of the stems, as UTF-8.
+     */
+    public StemTable(int capacity, int maxBytes)
+    {
+        if(capacity < 1 || capacity > MAX_CAPACITY)
+            throw new IllegalArgumentException("Capacity must be from 1 to " + MAX_CAPACITY + "!");
+        if(maxBytes < 0)
+            throw new IllegalArgumentException("Maximum bytes cannot be negative!");
+        // Sized to at most half full, so a probe always ends at an empty slot
+        int slotCount = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        this.slots = ByteBuffer.allocateDirect(slotCount * SLOT_SIZE);
+        this.offsets = ByteBuffer.allocateDirect((capacity + 1) * 4);
+        this.bytes = ByteBuffer.allocateDirect(maxBytes);
+        this.slotMask = slotCount - 1;
+        this.capacity = capacity;
+    }
+    // Methods *****************************************************************
+    /**
+     * Interns a stem, e.g. a {@link StemResult}.
+     * 
+     * @param stem The stem.
+     * @return The ID of the stem, or {@link #NO_ID} if the stem is new and
+     * the table is full.
+     */
+    public int intern(CharSequence stem)
+    {
+        Encoded encoded = BUFFERS.get();
+        encoded.encode(stem);
+        int id = find(encoded);
+        return id != NO_ID ? id : insert(encoded);
+    }
+    /**
+     * Inserts a stem, unless inserted meanwhile by another thread.
+     * 
+     * @param stem The stem.
+     * @return The ID of the stem, or {@link #NO_ID} if the table is full.
+     */
+    private synchronized int insert(Encoded stem)
+    {
+        int hash = stem.hash;
+        int length = stem.length;
+        int slot = spread(hash) & slotMask;
+        int id;
+        while((id = slots.getInt(slot * SLOT_SIZE + 4) - 1) != NO_ID)
+        {
+            if(slots.getInt(slot * SLOT_SIZE) == hash && equals(id, stem))
+                return id;
+            slot = (slot + 1) & slotMask;
+        }
+        id = size;
+        int start = offsets.getInt(id * 4);
+        if(id == capacity || length > bytes.capacity() - start)
+            return NO_ID;
+        ByteBuffer dest = bytes.duplicate();
+        dest.position(start);
+        dest.put(stem.bytes, 0, length);
+        offsets.putInt((id + 1) * 4, start + length);
+        slots.putInt(slot * SLOT_SIZE, hash);
+        slots.putInt(slot * SLOT_SIZE + 4, id + 1);
+        // Published last, so a lookup comparing the stem sees it in full
+        size = id + 1;
+        return id;
+    }
+    /**
+     * Looks up the ID of a stem, without interning it.
+     * 
+     * @param stem The stem.
+     * @return The ID of the stem, or {@link #NO_ID} if not within the table.
+     */
+    public int getId(CharSequence stem)
+    {
+        Encoded encoded = BUFFERS.get();
+        encoded.encode(stem);
+        return find(encoded);
+    }
+    /**
+     * Finds a stem, without locking; a stem being inserted meanwhile may not
+     * be found, in which case {@link #insert} finds it under the lock.
+     * 
+     * @param stem The stem.
+     * @return The ID of the stem, or {@link #NO_ID} if not found.
+     */
+    private int find(Encoded stem)
+    {
+        int published = size;
+        int slot = spread(stem.hash) & slotMask;
+        int id;
+        while((id = slots.getInt(slot * SLOT_SIZE + 4) - 1) != NO_ID)
+        {
+            if(id < published && slots.getInt(slot * SLOT_SIZE) == stem.hash && equals(id, stem))
+                return id;
+            slot = (slot + 1) & slotMask;
+        }
+        return NO_ID;
+    }
+    private boolean equals(int id, Encoded stem)
+    {
+        int start = offsets.getInt(id * 4);
+        int length = stem.length;
+        if(offsets.getInt((id + 1) * 4) - start != length)
+            return false;
+        // Compared eight bytes at a time, as each access of a direct buffer
+        // is checked
+        int i = 0;
+        for(; i <= length - 8; i += 8)
+        {
+            if(bytes.getLong(start + i) != stem.buffer.getLong(i))
+                return false;
+        }
+        for(; i < length; i++)
+        {
+            if(bytes.get(start + i) != stem.bytes[i])
+                return false;
+        }
+        return true;
+    }
+    // Methods - Accessors *****************************************************
+    /**
+     * @param id The ID of a stem.
+     * @return The length of the stem, in bytes.
+     */
+    public int getLength(int id)
+    {
+        checkId(id);
+        return offsets.getInt((id + 1) * 4) - offsets.getInt(id * 4);
+    }
+    /**
+     * Copies the bytes of a stem.
+     * 
+     * @param id The ID of the stem.
+     * @param dest The array receiving the bytes, as UTF-8.
+     * @param offset The offset within the array.
+     * @return The length of the stem, in bytes.
+     */
+    public int getBytes(int id, byte[] dest, int offset)
+    {
+        int length = getLength(id);
+        ByteBuffer source = bytes.duplicate();
+        source.position(offsets.getInt(id * 4));
+        source.get(dest, offset, length);
+        return length;
+    }
+    /**
+     * @param id The ID of a stem.
+     * @return A read-only view of the bytes of the stem, as UTF-8, without
+     * copying them.
+     */
+    public ByteBuffer getBytes(int id)
+    {
+        int length = getLength(id);
+        ByteBuffer view = bytes.duplicate();
+        view.position(offsets.getInt(id * 4));
+        view.limit(view.position() + length);
+        return view.slice().asReadOnlyBuffer();
+    }
+    /**
+     * @param id The ID of a stem.
+     * @return The stem, decoded.
+     */
+    public String getStem(int id)
+    {
+        return StandardCharsets.UTF_8.decode(getBytes(id)).toString();
+    }
+    /**
+     * @return The number of distinct stems, i.e. the next ID assigned.
+     */
+    public int getSize()
+    {
+        return size;
+    }
+    /**
+     * @return The maximum number of distinct stems.
+     */
+    public int getCapacity()
+    {
+        return capacity;
+    }
+    /**
+     * @return The number of bytes used by the stems.
+     */
+    public int getByteSize()
+    {
+        return offsets.getInt(size * 4);
+    }
+    /**
+     * @return The number of bytes allocated outside the heap.
+     */
+    public long getMemorySize()
+    {
+        return (long)slots.capacity() + offsets.capacity() + bytes.capacity();
+    }
+    private void checkId(int id)
+    {
+        if(id < 0 || id >= size)
+            throw new IllegalArgumentException("Term ID " + id + " is not within the table!");
+    }
+    // Methods - Static ********************************************************
+    private static int spread(int hash)
+    {
+        return hash ^ (hash >>> 16);
+    }
+    // Classes *****************************************************************
+    /**
+     * A stem encoded as UTF-8, with the hash of the bytes.
+     */
+    private static final class Encoded
+    {
+        byte[]      bytes = new byte[64];
+        ByteBuffer  buffer = ByteBuffer.wrap(bytes);
+        int         length;
+        int         hash;
+        /**
+         * Encodes a stem as {@link String#getBytes} does, replacing any lone
+         * surrogate with a question mark.
+         * 
+         * @param stem The stem.
+         */
+        void encode(CharSequence stem)
+        {
+            int count = stem.length();
+            if(bytes.length < count * 3)
+            {
+                bytes = new byte[count * 3];
+                buffer = ByteBuffer.wrap(bytes);
+            }
+            byte[] utf8 = bytes;
+            // The characters of a result are read directly, as stemmed
+            char[] chars = stem instanceof StemResult ? ((StemResult)stem).getBuffer() : null;
+            int n = 0;
+            for(int i = 0; i < count; i++)
+            {
+                char c = chars != null ? chars[i] : stem.charAt(i);
+                if(c < 0x80)
+                    utf8[n++] = (byte)c;
+                else if(c < 0x800)
+                {
+                    utf8[n++] = (byte)(0xC0 | c >> 6);
+                    utf8[n++] = (byte)(0x80 | (c & 0x3F));
+                }
+                else if(Character.isHighSurrogate(c) && i + 1 < count && Character.isLowSurrogate(stem.charAt(i + 1)))
+                {
+                    int codePoint = Character.toCodePoint(c, stem.charAt(++i));
+                    utf8[n++] = (byte)(0xF0 | codePoint >> 18);
+                    utf8[n++] = (byte)(0x80 | (codePoint >> 12 & 0x3F));
+                    utf8[n++] = (byte)(0x80 | (codePoint >> 6 & 0x3F));
+                    utf8[n++] = (byte)(0x80 | (codePoint & 0x3F));
+                }
+                else if(Character.isSurrogate(c))
+                    utf8[n++] = '?';
+                else
+                {
+                    utf8[n++] = (byte)(0xE0 | c >> 12);
+                    utf8[n++] = (byte)(0x80 | (c >> 6 & 0x3F));
+                    utf8[n++] = (byte)(0x80 | (c & 0x3F));
+                }
+            }
+            int h = 0;
+            for(int i = 0; i < n; i++)
+                h = 31 * h + utf8[i];
+            length = n;
+            hash = h;
+        }
+    }
+}
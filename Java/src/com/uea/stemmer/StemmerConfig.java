@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *                      Rules held by the configuration.
+ *                      Lexicon checked against the rules.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+/**
+ * An immutable snapshot of the configuration of a stemmer, created with a
+ * {@link Builder}; a stemmer reads its snapshot once per word, so a word is
+ * always stemmed with a single, consistent configuration.
+ */
+public final class StemmerConfig
+{
+    // Constants ***************************************************************
+    /**
+     * The default configuration: default maximum lengths and rules, without a
+     * lexicon or statistics.
+     */
+    public static final StemmerConfig DEFAULT = builder().build();
+    // Fields ******************************************************************
+    private final int               maxWordLength;
+    private final int               maxAcronymLength;
+    private final RuleSet           rules;
+    private final Lexicon           lexicon;
+    private final StemStatistics    statistics;
+    // Methods - Constructors **************************************************
+    private StemmerConfig(Builder builder)
+    {
+        this.maxWordLength = builder.maxWordLength;
+        this.maxAcronymLength = builder.maxAcronymLength;
+        this.rules = builder.rules;
+        this.lexicon = builder.lexicon;
+        this.statistics = builder.statistics;
+    }
+    // Methods *****************************************************************
+    /**
+     * @return A builder initialised with this configuration.
+     */
+    public Builder toBuilder()
+    {
+        return new Builder()
+                .setMaxWordLength(maxWordLength)
+                .setMaxAcronymLength(maxAcronymLength)
+                .setRules(rules)
+                .setLexicon(lexicon)
+                .setStatistics(statistics);
+    }
+    // Methods - Accessors *****************************************************
+    /**
+     * @return The maximum length of a word to be stemmed.
+     */
+    public int getMaxWordLength()
+    {
+        return maxWordLength;
+    }
+    /**
+     * @return The maximum length of an acronym to be stemmed.
+     */
+    public int getMaxAcronymLength()
+    {
+        return maxAcronymLength;
+    }
+    /**
+     * @return The problem words and suffix rules.
+     */
+    public RuleSet getRules()
+    {
+        return rules;
+    }
+    /**
+     * @return The lexicon consulted before the rules, or null if none.
+     */
+    public Lexicon getLexicon()
+    {
+        return lexicon;
+    }
+    /**
+     * @return The statistics recorded by the stemmer, or null if disabled.
+     */
+    public StemStatistics getStatistics()
+    {
+        return statistics;
+    }
+    // Methods - Static ********************************************************
+    /**
+     * @return A builder initialised with the default configuration.
+     */
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+    // Classes *****************************************************************
+    /**
+     * A builder of configurations; builders are not thread-safe, unlike the
+     * configurations built.
+     */
+    public static final class Builder
+    {
+        private int             maxWordLength = UEALite.DEFAULT_MAX_WORD_LENGTH;
+        private int             maxAcronymLength = UEALite.DEFAULT_MAX_ACRONYM_LENGTH;
+        private RuleSet         rules = RuleSet.DEFAULT;
+        private Lexicon         lexicon;
+        private StemStatistics  statistics;
+        private Builder()
+        { }
+        /**
+         * @param length The maximum length of a word to be stemmed.
+         * @return This builder.
+         */
+        public Builder setMaxWordLength(int length)
+        {
+            this.maxWordLength = length;
+            return this;
+        }
+        /**
+         * @param length The maximum length of an acronym to be stemmed.
+         * @return This builder.
+         */
+        public Builder setMaxAcronymLength(int length)
+        {
+            this.maxAcronymLength = length;
+            return this;
+        }
+        /**
+         * @param rules The problem words and suffix rules.
+         * @return This builder.
+         */
+        public Builder setRules(RuleSet rules)
+        {
+            if(rules == null)
+                throw new IllegalArgumentException("Rules cannot be null!");
+            this.rules = rules;
+            return this;
+        }
+        /**
+         * @param lexicon The lexicon consulted before the rules, or null to
+         * stem by the rules alone; this should be built with the same rules.
+         * @return This builder.
+         */
+        public Builder setLexicon(Lexicon lexicon)
+        {
+            this.lexicon = lexicon;
+            return this;
+        }
+        /**
+         * @param statistics The statistics recorded to, or null to disable.
+         * @return This builder.
+         */
+        public Builder setStatistics(StemStatistics statistics)
+        {
+            this.statistics = statistics;
+            return this;
+        }
+        /**
+         * @return The configuration.
+         * @throws IllegalArgumentException Thrown if the lexicon was built with
+         * a different maximum word length or different rules.
+         */
+        public StemmerConfig build()
+        {
+            if(lexicon != null && lexicon.getMaxWordLength() != maxWordLength)
+                throw new IllegalArgumentException("Lexicon built for a maximum word length of " + lexicon.getMaxWordLength() + ", not " + maxWordLength);
+            if(lexicon != null && !lexicon.getRulesDigest().equals(rules.getDigest()))
+                throw new IllegalArgumentException("Lexicon built with rules of digest " + lexicon.getRulesDigest() + ", not " + rules.getDigest());
+            return new StemmerConfig(this);
+        }
+    }
+}
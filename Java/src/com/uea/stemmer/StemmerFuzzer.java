@@ -0,0 +1,634 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *                      Results compared in their buffers.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares a stemming engine with the stemmer as originally ported, which is
+ * kept unchanged as the reference, so an optimised path can be shown to
+ * reproduce both the stem and the rule of every token.
+ * 
+ * Tokens are generated from a seed, most ending with a suffix of the rules
+ * after a few random letters, the others exercising the rules cleaning
+ * tokens: problem words, apostrophes, hyphens, digits, underscores, upper-case,
+ * words about the maximum length and random characters, including line
+ * terminators and non-ASCII. Each token is stemmed by every path of the
+ * engine, i.e. {@link UEALite#stem(String)}, the reusable results, the flags
+ * of a case-preserving tokenizer and {@link UEALite#stemAll}, stopping at the
+ * first divergence from the reference.
+ * 
+ * Batches of tokens are compared by a thread per processor, the tokens of each
+ * batch generated from the seed and the number of the batch, so the tokens and
+ * the first divergence do not vary with the number of threads. Each token is
+ * stemmed five times by the engine and once by the reference, so a processor
+ * compares 150,000 to 200,000 tokens per second, rather than millions;
+ * results are compared in their buffers, without a string per comparison.
+ * 
+ * The branch taken by the reference is counted per token, i.e. each rule
+ * cleaning tokens and each entry of the table of suffix rules, so a run shows
+ * which rules were exercised; entries following an entry which always fires
+ * first, such as a repeated suffix, are unreachable.
+ */
+public final class StemmerFuzzer
+{
+    // Constants ***************************************************************
+    /**
+     * The default number of tokens compared.
+     */
+    public static final long DEFAULT_TOKENS = 10000000L;
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] CLEANUP_BRANCHES = {
+        "problem word", "too long", "apostrophe", "digits", "hyphenated words", "hyphen",
+        "underscore", "acronym plural", "acronym", "multiple upper-case", "initial upper-case"
+    };
+    private static final int BRANCH_PROBLEM_WORD = 0;
+    private static final int BRANCH_UNDERSCORE = 6;
+    private static final int BRANCH_MULTIPLE_UPPER = 9;
+    private static final int BRANCH_INITIAL_UPPER = 10;
+    private static final String[] ACTIONS = {"keep", "strip", "replace-first", "strip-duplicate"};
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyzaeiouaeiou";
+    private static final String CHARACTERS = "abcdefghijklmnopqrstuvwxyzAEISZ'-_09. \n\r\u0085\u2028\u00e9\u00c9\u0130";
+    private static final String[] CONTRACTIONS = {"'s", "'S", "'", "n't", "'ve", "'re", "'m"};
+    // Fields ******************************************************************
+    private final UEALite           engine;
+    private final ReferenceUEALite  reference;
+    private final RuleSet           rules = RuleSet.DEFAULT;
+    private final String[]          suffixes;
+    private final String[]          problemWords;
+    private final int[]             cleanupBranches;    // Branch of each rule code cleaning tokens, -1 for none
+    private final boolean[]         unreachable;        // By suffix rule
+    private final long[]            coverage;           // Tokens by branch
+    private final long              seed;
+    private final int               threads = Runtime.getRuntime().availableProcessors();
+    private long                    batches;
+    private long                    tokens;
+    // Methods - Constructors **************************************************
+    /**
+     * Creates a new fuzzer.
+     * 
+     * @param engine The engine compared with the reference, which must use
+     * the default rules; its maximum lengths are given to the reference.
+     * @param seed The seed of the tokens generated.
+     */
+    public StemmerFuzzer(UEALite engine, long seed)
+    {
+        if(!engine.getRules().getDigest().equals(rules.getDigest()))
+            throw new IllegalArgumentException("The engine must use the default rules!");
+        this.engine = engine;
+        this.reference = new ReferenceUEALite(engine.getMaxWordLength(), engine.getMaxAcronymLength());
+        int count = rules.getSuffixRuleCount();
+        suffixes = new String[count];
+        unreachable = new boolean[count];
+        for(int i = 0; i < count; i++)
+        {
+            SuffixRule rule = rules.getSuffixRule(i);
+            suffixes[i] = rule.suffix;
+            // Unreachable where an earlier rule with the end of the suffix
+            // always fires, or declines for the same words
+            for(int j = 0; j < i && !unreachable[i]; j++)
+            {
+                SuffixRule earlier = rules.getSuffixRule(j);
+                unreachable[i] = rule.suffix.endsWith(earlier.suffix) && (earlier.action != SuffixRule.ACTION_STRIP_DUPLICATE
+                        || (rule.action == SuffixRule.ACTION_STRIP_DUPLICATE && rule.suffix.equals(earlier.suffix)));
+            }
+        }
+        List<String> words = rules.getProblemWords();
+        problemWords = words.toArray(new String[words.size()]);
+        cleanupBranches = new int[Rules.count()];
+        Arrays.fill(cleanupBranches, -1);
+        int[] codes = {Rules.PROBLEM_WORD, Rules.TOO_LONG, Rules.APOSTROPHE, Rules.DIGITS, Rules.HYPHENATED_WORDS, Rules.HYPHEN,
+            Rules.PROBLEM_WORD, Rules.ACRONYM_PLURAL, Rules.ACRONYM, Rules.PROPER_NOUN, Rules.PROPER_NOUN};
+        // Rules shared by two branches map to the first, refined per token
+        for(int i = 0; i < codes.length; i++)
+        {
+            if(cleanupBranches[codes[i]] == -1)
+                cleanupBranches[codes[i]] = i;
+        }
+        coverage = new long[CLEANUP_BRANCHES.length + count + 1];
+        this.seed = seed;
+    }
+    // Methods *****************************************************************
+    /**
+     * Compares a number of tokens, continuing from any earlier run. Where a
+     * divergence is found, the coverage includes any later tokens compared
+     * meanwhile by other threads.
+     * 
+     * @param count The number of tokens.
+     * @return The first divergence from the reference, or null if every token
+     * was stemmed identically.
+     * @throws InterruptedException Thrown if interrupted waiting for the
+     * threads comparing tokens.
+     */
+    public Divergence run(final long count) throws InterruptedException
+    {
+        final long first = batches;
+        final long end = first + (count + BATCH_SIZE - 1) / BATCH_SIZE;
+        final AtomicLong next = new AtomicLong(first);
+        final AtomicLong divergent = new AtomicLong(Long.MAX_VALUE);
+        final Worker[] workers = new Worker[threads];
+        Thread[] workerThreads = new Thread[threads];
+        for(int i = 0; i < threads; i++)
+        {
+            final Worker worker = workers[i] = new Worker();
+            workerThreads[i] = new Thread(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    // Batches following a divergence are skipped
+                    long batch;
+                    while((batch = next.getAndIncrement()) < end && batch < divergent.get())
+                    {
+                        int size = (int)Math.min(BATCH_SIZE, count - (batch - first) * BATCH_SIZE);
+                        if(worker.compare(batch, size))
+                        {
+                            long current = divergent.get();
+                            while(batch < current && !divergent.compareAndSet(current, batch))
+                                current = divergent.get();
+                            return;
+                        }
+                    }
+                }
+            }, "uea-lite-fuzzer-" + i);
+            workerThreads[i].start();
+        }
+        for(Thread thread : workerThreads)
+            thread.join();
+        batches = end;
+        Divergence divergence = null;
+        for(Worker worker : workers)
+        {
+            if(worker.error != null)
+                throw worker.error;
+            tokens += worker.tokens;
+            for(int i = 0; i < coverage.length; i++)
+                coverage[i] += worker.coverage[i];
+            if(worker.divergence != null && worker.divergenceBatch == divergent.get())
+                divergence = worker.divergence;
+        }
+        return divergence;
+    }
+    private static boolean matches(Word expected, String stem, int code)
+    {
+        return expected.getWord().equals(stem) && expected.getRuleCode() == code;
+    }
+    private static String describe(CharSequence stem, int code)
+    {
+        return "'" + escape(stem) + "' (rule " + Rules.format(code) + ")";
+    }
+    /**
+     * @param word The token.
+     * @param expected The result of the reference.
+     * @return The index of the branch taken by the reference.
+     */
+    private int branch(String word, Word expected)
+    {
+        int code = expected.getRuleCode();
+        if(code == Rules.NONE)
+            return coverage.length - 1;
+        int branch = cleanupBranches[code];
+        if(branch == BRANCH_PROBLEM_WORD)
+            return rules.getProblemWord(word) != null ? BRANCH_PROBLEM_WORD : BRANCH_UNDERSCORE;
+        else if(branch == BRANCH_MULTIPLE_UPPER)
+        {
+            char[] chars = word.toCharArray();
+            return (TokenClass.classify(chars, 0, chars.length) & TokenClass.MULTIPLE_UPPER) != 0 ? BRANCH_MULTIPLE_UPPER : BRANCH_INITIAL_UPPER;
+        }
+        else if(branch != -1)
+            return branch;
+        // The word is unchanged by the cleanup rules before a suffix rule
+        return CLEANUP_BRANCHES.length + rules.matchSuffixRule(word);
+    }
+    /**
+     * Prints the number of tokens taking each branch of the reference.
+     * 
+     * @param out The stream receiving the coverage.
+     */
+    public void printCoverage(PrintStream out)
+    {
+        int covered = 0, reachable = 0;
+        for(int i = 0; i < coverage.length; i++)
+        {
+            if(!isUnreachable(i))
+            {
+                reachable++;
+                if(coverage[i] > 0)
+                    covered++;
+            }
+        }
+        out.println("Branches covered: " + covered + " of " + reachable + " reachable, " + (coverage.length - reachable) + " unreachable");
+        for(int i = 0; i < coverage.length; i++)
+        {
+            String name;
+            if(i < CLEANUP_BRANCHES.length)
+                name = CLEANUP_BRANCHES[i];
+            else if(i == coverage.length - 1)
+                name = "no rule";
+            else
+            {
+                SuffixRule rule = rules.getSuffixRule(i - CLEANUP_BRANCHES.length);
+                name = "rule " + format(rule.rule) + " " + ACTIONS[rule.action] + " " + rule.suffix;
+            }
+            out.println(String.format(Locale.ROOT, "%12s  %s", isUnreachable(i) ? "-" : Long.toString(coverage[i]), name)
+                    + (isUnreachable(i) ? " (unreachable)" : coverage[i] == 0 ? " (not covered)" : ""));
+        }
+    }
+    private boolean isUnreachable(int branch)
+    {
+        return branch >= CLEANUP_BRANCHES.length && branch < coverage.length - 1 && unreachable[branch - CLEANUP_BRANCHES.length];
+    }
+    // Methods - Accessors *****************************************************
+    /**
+     * @return The number of tokens compared.
+     */
+    public long getTokens()
+    {
+        return tokens;
+    }
+    /**
+     * @return The number of branches of the reference taken by at least one
+     * token.
+     */
+    public int getCoveredBranches()
+    {
+        int covered = 0;
+        for(long count : coverage)
+        {
+            if(count > 0)
+                covered++;
+        }
+        return covered;
+    }
+    // Methods - Static ********************************************************
+    private static String format(double rule)
+    {
+        return rule == (long)rule ? Long.toString((long)rule) : Double.toString(rule);
+    }
+    private static String escape(CharSequence s)
+    {
+        StringBuilder sb = new StringBuilder(s.length());
+        for(int i = 0; i < s.length(); i++)
+        {
+            char c = s.charAt(i);
+            if(c >= ' ' && c < 0x7F)
+                sb.append(c);
+            else
+                sb.append(String.format(Locale.ROOT, "\\u%04x", (int)c));
+        }
+        return sb.toString();
+    }
+    /**
+     * Compares the default stemmer with the reference.
+     * 
+     * @param args The number of tokens and the seed, both optional; the seed
+     * is random by default.
+     * @throws InterruptedException Thrown if interrupted whilst comparing.
+     */
+    public static void main(String[] args) throws InterruptedException
+    {
+        if(args.length > 2)
+        {
+            System.err.println("Usage: StemmerFuzzer [<tokens> [<seed>]]");
+            System.exit(1);
+        }
+        long count = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_TOKENS;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : new Random().nextLong();
+        StemmerFuzzer fuzzer = new StemmerFuzzer(new UEALite(), seed);
+        long start = System.nanoTime();
+        Divergence divergence = fuzzer.run(count);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(String.format(Locale.ROOT, "Seed %d: %d tokens in %.1f s, %.0f tokens/s", seed, fuzzer.getTokens(), seconds, fuzzer.getTokens() / seconds));
+        fuzzer.printCoverage(System.out);
+        if(divergence != null)
+        {
+            System.out.println("First divergence: " + divergence);
+            System.exit(2);
+        }
+    }
+    // Classes *****************************************************************
+    /**
+     * The state of a thread comparing tokens.
+     */
+    private final class Worker
+    {
+        final Random            random = new Random();
+        final StringBuilder     token = new StringBuilder();
+        final StringBuilder     sequence = new StringBuilder();
+        final StemResult        result = new StemResult();
+        final String[]          batch = new String[BATCH_SIZE + 2];     // Surrounded by unused elements
+        final String[]          stems = new String[batch.length];
+        final int[]             codes = new int[batch.length];
+        final Word[]            expected = new Word[BATCH_SIZE];
+        final long[]            coverage = new long[StemmerFuzzer.this.coverage.length];
+        char[]                  chars = new char[64];
+        char[]                  expectedChars = new char[64];
+        long                    tokens;
+        Divergence              divergence;
+        long                    divergenceBatch;
+        RuntimeException        error;
+        /**
+         * Compares a batch of tokens.
+         * 
+         * @param number The number of the batch.
+         * @param size The number of tokens.
+         * @return True if a token diverged, or comparing failed.
+         */
+        boolean compare(long number, int size)
+        {
+            try
+            {
+                random.setSeed(seed + number * 0x9E3779B97F4A7C15L);
+                for(int i = 0; i < size; i++)
+                {
+                    batch[i + 1] = nextToken();
+                    expected[i] = reference.stem(batch[i + 1]);
+                }
+                // Compared with an offset
+                try
+                {
+                    engine.stemAll(batch, 1, size, stems, codes);
+                }
+                catch(RuntimeException ex)
+                {
+                    divergence = new Divergence(batch[1], "stemAll", expected[0], "threw " + ex + " within a batch of " + size + " tokens");
+                }
+                for(int i = 0; i < size && divergence == null; i++)
+                {
+                    coverage[branch(batch[i + 1], expected[i])]++;
+                    tokens++;
+                    divergence = compare(batch[i + 1], expected[i], stems[i + 1], codes[i + 1]);
+                }
+            }
+            catch(RuntimeException ex)
+            {
+                error = ex;
+                return true;
+            }
+            divergenceBatch = number;
+            return divergence != null;
+        }
+        /**
+         * Compares every path of the engine for a token.
+         * 
+         * @param word The token.
+         * @param expected The result of the reference.
+         * @param batchStem The stem from the batch of the token.
+         * @param batchCode The rule code from the batch of the token.
+         * @return The first divergence, or null if every path matches.
+         */
+        private Divergence compare(String word, Word expected, String batchStem, int batchCode)
+        {
+            String path = "stemAll";
+            try
+            {
+                if(!matches(expected, batchStem, batchCode))
+                    return new Divergence(word, path, expected, describe(batchStem, batchCode));
+                path = "stem(String)";
+                Word stemmed = engine.stem(word);
+                if(!matches(expected, stemmed.getWord(), stemmed.getRuleCode()))
+                    return new Divergence(word, path, expected, describe(stemmed.getWord(), stemmed.getRuleCode()));
+                // The expected stem is copied once, to compare the buffer of
+                // each result without a string
+                String stem = expected.getWord();
+                if(expectedChars.length < stem.length())
+                    expectedChars = new char[stem.length() * 2];
+                stem.getChars(0, stem.length(), expectedChars, 0);
+                // Not a string, which is copied differently
+                sequence.setLength(0);
+                sequence.append(word);
+                path = "stem(CharSequence, StemResult)";
+                int length = engine.stem(sequence, result);
+                if(!matchesResult(expected, stem.length(), length))
+                    return new Divergence(word, path, expected, describe(result, result.getRuleCode()));
+                // Copied within the array, so the offset must be honoured
+                if(chars.length < word.length() + 1)
+                    chars = new char[word.length() * 2 + 1];
+                word.getChars(0, word.length(), chars, 1);
+                path = "stem(char[], int, int, StemResult)";
+                length = engine.stem(chars, 1, word.length(), result);
+                if(!matchesResult(expected, stem.length(), length))
+                    return new Divergence(word, path, expected, describe(result, result.getRuleCode()));
+                // Classified as by a tokenizer preserving case, not at the start
+                // of a sentence, which leaves the result unchanged
+                path = "stem(char[], int, int, int, StemResult)";
+                length = engine.stem(chars, 1, word.length(), TokenClass.classify(chars, 1, word.length()), result);
+                if(!matchesResult(expected, stem.length(), length))
+                    return new Divergence(word, path, expected, describe(result, result.getRuleCode()));
+                return null;
+            }
+            catch(RuntimeException ex)
+            {
+                return new Divergence(word, path, expected, "threw " + ex);
+            }
+        }
+        /**
+         * @param expected The result of the reference.
+         * @param expectedLength The length of its stem, copied to
+         * {@link #expectedChars}.
+         * @param length The length returned by the engine.
+         * @return True if the result of the engine matches.
+         */
+        private boolean matchesResult(Word expected, int expectedLength, int length)
+        {
+            if(length != expectedLength || result.getLength() != length || result.getRuleCode() != expected.getRuleCode())
+                return false;
+            char[] buffer = result.getBuffer();
+            for(int i = 0; i < length; i++)
+            {
+                if(buffer[i] != expectedChars[i])
+                    return false;
+            }
+            return true;
+        }
+        /**
+         * Generates the next token.
+         * 
+         * @return The token.
+         */
+        private String nextToken()
+        {
+            StringBuilder token = this.token;
+            token.setLength(0);
+            int kind = random.nextInt(100);
+            if(kind < 55)
+            {
+                // Targets a suffix rule, with any doubled character before it
+                appendLetters(token, random.nextInt(7));
+                token.append(suffixes[random.nextInt(suffixes.length)]);
+                if(random.nextInt(10) == 0)
+                    token.append('s');
+            }
+            else if(kind < 60)
+            {
+                // Problem words, and words differing by a character
+                if(random.nextInt(4) == 0)
+                    appendLetters(token, 1);
+                token.append(problemWords[random.nextInt(problemWords.length)]);
+                if(random.nextInt(4) == 0)
+                    appendLetters(token, 1);
+            }
+            else if(kind < 68)
+            {
+                appendLetters(token, random.nextInt(8));
+                if(random.nextBoolean())
+                    token.append(CONTRACTIONS[random.nextInt(CONTRACTIONS.length)]);
+                else
+                    token.insert(random.nextInt(token.length() + 1), '\'');
+                if(random.nextInt(4) == 0)
+                    token.append(suffixes[random.nextInt(suffixes.length)]);
+            }
+            else if(kind < 73)
+            {
+                // Hyphenated words, and hyphens leading, trailing or repeated
+                appendLetters(token, random.nextInt(6));
+                for(int i = random.nextInt(3); i >= 0; i--)
+                {
+                    token.append('-');
+                    appendLetters(token, random.nextInt(6));
+                }
+                if(random.nextInt(4) == 0)
+                    token.insert(random.nextInt(token.length() + 1), CHARACTERS.charAt(random.nextInt(CHARACTERS.length())));
+            }
+            else if(kind < 77)
+            {
+                for(int i = random.nextInt(6); i >= 0; i--)
+                    token.append((char)('0' + random.nextInt(10)));
+                if(random.nextBoolean())
+                    token.insert(random.nextInt(token.length() + 1), suffixes[random.nextInt(suffixes.length)]);
+            }
+            else if(kind < 80)
+            {
+                appendLetters(token, random.nextInt(6));
+                token.insert(random.nextInt(token.length() + 1), '_');
+            }
+            else if(kind < 88)
+            {
+                // Acronyms either side of the maximum length, with any plural,
+                // and upper-case characters within words
+                if(random.nextBoolean())
+                {
+                    for(int i = random.nextInt(engine.getMaxAcronymLength() + 2); i >= 0; i--)
+                        token.append((char)('A' + random.nextInt(26)));
+                    if(random.nextBoolean())
+                        token.append('s');
+                }
+                else
+                {
+                    appendLetters(token, random.nextInt(7));
+                    token.append(suffixes[random.nextInt(suffixes.length)]);
+                    for(int i = random.nextInt(3); i >= 0; i--)
+                    {
+                        int index = random.nextInt(4) == 0 ? random.nextInt(token.length()) : 0;
+                        token.setCharAt(index, Character.toUpperCase(token.charAt(index)));
+                    }
+                }
+            }
+            else if(kind < 90)
+            {
+                // Words either side of the maximum length
+                appendLetters(token, Math.max(0, engine.getMaxWordLength() - 8 + random.nextInt(4)));
+                token.append(suffixes[random.nextInt(suffixes.length)]);
+            }
+            else
+            {
+                for(int i = random.nextInt(10); i > 0; i--)
+                    token.append(CHARACTERS.charAt(random.nextInt(CHARACTERS.length())));
+                if(random.nextBoolean())
+                    token.append(suffixes[random.nextInt(suffixes.length)]);
+            }
+            return token.toString();
+        }
+        private void appendLetters(StringBuilder token, int count)
+        {
+            for(int i = 0; i < count; i++)
+                token.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+            // Doubles the last character, as removed by some suffix rules
+            if(count > 0 && random.nextInt(4) == 0)
+                token.append(token.charAt(token.length() - 1));
+        }
+    }
+    /**
+     * A token stemmed differently by the engine and the reference.
+     */
+    public static final class Divergence
+    {
+        private final String    token;
+        private final String    path;
+        private final Word      expected;
+        private final String    actual;
+        Divergence(String token, String path, Word expected, String actual)
+        {
+            this.token = token;
+            this.path = path;
+            this.expected = expected;
+            this.actual = actual;
+        }
+        /**
+         * @return The token.
+         */
+        public String getToken()
+        {
+            return token;
+        }
+        /**
+         * @return The method of the engine which diverged.
+         */
+        public String getPath()
+        {
+            return path;
+        }
+        /**
+         * @return The result of the reference.
+         */
+        public Word getExpected()
+        {
+            return expected;
+        }
+        /**
+         * @return A description of the result of the engine.
+         */
+        public String getActual()
+        {
+            return actual;
+        }
+        @Override
+        public String toString()
+        {
+            return path + " of '" + escape(token) + "': expected " + describe(expected.getWord(), expected.getRuleCode()) + ", actual " + actual;
+        }
+    }
+}
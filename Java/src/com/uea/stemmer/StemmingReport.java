@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The throughput of stemming a set of files.
+ */
+public class StemmingReport
+{
+    // Fields ******************************************************************
+    private final List<FileReport>  files;
+    private final long              nanos;
+    // Methods - Constructors **************************************************
+    public StemmingReport(List<FileReport> files, long nanos)
+    {
+        this.files = Collections.unmodifiableList(files);
+        this.nanos = nanos;
+    }
+    // Methods *****************************************************************
+    @Override
+    public String toString()
+    {
+        return String.format("%d files, %d bytes, %d tokens in %.3f s (%.2f MB/s, %.0f tokens/s)",
+                files.size(), getBytes(), getTokens(), nanos / 1e9, getBytesPerSecond() / (1024 * 1024), getTokensPerSecond());
+    }
+    private static double perSecond(long count, long nanos)
+    {
+        return nanos == 0 ? 0 : count * 1e9 / nanos;
+    }
+    // Methods - Accessors *****************************************************
+    /**
+     * @return The report of each file, in order of completion.
+     */
+    public List<FileReport> getFiles()
+    {
+        return files;
+    }
+    /**
+     * @return The total size of the files, in bytes.
+     */
+    public long getBytes()
+    {
+        long bytes = 0;
+        for(FileReport file : files)
+            bytes += file.getBytes();
+        return bytes;
+    }
+    /**
+     * @return The total number of tokens stemmed.
+     */
+    public long getTokens()
+    {
+        long tokens = 0;
+        for(FileReport file : files)
+            tokens += file.getTokens();
+        return tokens;
+    }
+    /**
+     * @return The elapsed (wall-clock) time of stemming all the files, in
+     * nanoseconds.
+     */
+    public long getNanos()
+    {
+        return nanos;
+    }
+    /**
+     * @return The number of bytes stemmed per second, overall.
+     */
+    public double getBytesPerSecond()
+    {
+        return perSecond(getBytes(), nanos);
+    }
+    /**
+     * @return The number of tokens stemmed per second, overall.
+     */
+    public double getTokensPerSecond()
+    {
+        return perSecond(getTokens(), nanos);
+    }
+    // Classes *****************************************************************
+    /**
+     * The throughput of stemming a single file.
+     */
+    public static class FileReport
+    {
+        private final File  file;
+        private final long  bytes;
+        private final long  tokens;
+        private final long  nanos;
+        public FileReport(File file, long bytes, long tokens, long nanos)
+        {
+            this.file = file;
+            this.bytes = bytes;
+            this.tokens = tokens;
+            this.nanos = nanos;
+        }
+        @Override
+        public String toString()
+        {
+            return String.format("%s: %d bytes, %d tokens in %.3f s (%.2f MB/s)",
+                    file.getPath(), bytes, tokens, nanos / 1e9, getBytesPerSecond() / (1024 * 1024));
+        }
+        /**
+         * @return The file stemmed.
+         */
+        public File getFile()
+        {
+            return file;
+        }
+        /**
+         * @return The size of the file, in bytes.
+         */
+        public long getBytes()
+        {
+            return bytes;
+        }
+        /**
+         * @return The number of tokens stemmed.
+         */
+        public long getTokens()
+        {
+            return tokens;
+        }
+        /**
+         * @return The elapsed time of stemming the file, in nanoseconds.
+         */
+        public long getNanos()
+        {
+            return nanos;
+        }
+        /**
+         * @return The number of bytes stemmed per second.
+         */
+        public double getBytesPerSecond()
+        {
+            return perSecond(bytes, nanos);
+        }
+    }
+}
@@ -0,0 +1,626 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *                      Interrupted requests answered; rules formatted as by
+ *                      Word.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A long-running HTTP server stemming batches of tokens, so other processes
+ * can stem without starting a JVM per batch; requests arriving together are
+ * stemmed together, with a single call of {@link UEALite#stemAll}.
+ * 
+ * Tokens are posted to {@value #STEM_PATH} as UTF-8, in either format:
+ * 
+ *  text/plain                  one token per line; answered with a line of
+ *                              the stem, a tab and the rule number, as
+ *                              by {@link Rules#format}, per token, e.g.
+ *                              "run\t46.3" for "running"
+ *  application/octet-stream    per token, an unsigned 16-bit big-endian byte
+ *                              length and the bytes; answered with, per
+ *                              token, the length and bytes of the stem and
+ *                              the unsigned 16-bit code of the rule, as
+ *                              defined by {@link Rules}
+ * 
+ * Request handlers queue their tokens for a pool of batching threads; each
+ * takes the oldest request and any others already waiting, up to a number
+ * of words, and stems them at once. Handlers run on virtual threads where
+ * the JDK provides them, otherwise on a pool of threads. Counters of the
+ * requests, words and batches, with percentiles of the request latency, are
+ * served as text from {@value #METRICS_PATH}.
+ */
+public final class StemmingServer implements Closeable
+{
+    // Constants ***************************************************************
+    /**
+     * The path stemming tokens.
+     */
+    public static final String STEM_PATH = "/stem";
+    /**
+     * The path of the metrics.
+     */
+    public static final String METRICS_PATH = "/metrics";
+    /**
+     * The default maximum number of words stemmed in a batch; a single larger
+     * request is stemmed alone.
+     */
+    public static final int DEFAULT_MAX_BATCH_WORDS = 64 * 1024;
+    /**
+     * The maximum size, in bytes, of a request.
+     */
+    public static final int MAX_REQUEST_SIZE = 16 * 1024 * 1024;
+    private static final String BINARY_TYPE = "application/octet-stream";
+    private static final int MAX_TOKEN_BYTES = 0xFFFF;
+    private static final int QUEUE_DEPTH = 1024;
+    private static final int HANDLER_THREADS = 64;
+    // Fields ******************************************************************
+    private final UEALite                   stemmer;
+    private final HttpServer                server;
+    private final ExecutorService           executor;
+    private final BlockingQueue<Request>    queue = new ArrayBlockingQueue<>(QUEUE_DEPTH);
+    private final Thread[]                  batchers;
+    private final int                       maxBatchWords;
+    private final long                      started = System.nanoTime();
+    private final LongAdder                 requests = new LongAdder();
+    private final LongAdder                 failures = new LongAdder();
+    private final LongAdder                 words = new LongAdder();
+    private final LongAdder                 batches = new LongAdder();
+    private final LongAdder[]               latencies = StemStatistics.histogram();
+    private final LongAdder                 latencyTotal = new LongAdder();
+    private final LongAccumulator           latencyMax = new LongAccumulator(Math::max, 0);
+    private volatile boolean                closed;
+    // Methods - Constructors **************************************************
+    /**
+     * Creates a new server, with the default batch size and a batching
+     * thread per processor; the server is started with {@link #start()}.
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param address The address to listen on; port zero picks a free port.
+     * @throws IOException Thrown if the address cannot be bound.
+     */
+    public StemmingServer(UEALite stemmer, InetSocketAddress address) throws IOException
+    {
+        this(stemmer, address, DEFAULT_MAX_BATCH_WORDS, Runtime.getRuntime().availableProcessors());
+    }
+    /**
+     * Creates a new server; the server is started with {@link #start()}.
+     * 
+     * @param stemmer An instance of the stemmer.
+     * @param address The address to listen on; port zero picks a free port.
+     * @param maxBatchWords The maximum number of words stemmed in a batch.
+     * @param batchThreads The number of threads stemming batches.
+     * @throws IOException Thrown if the address cannot be bound.
+     */
+    public StemmingServer(UEALite stemmer, InetSocketAddress address, int maxBatchWords, int batchThreads) throws IOException
+    {
+        if(maxBatchWords < 1)
+            throw new IllegalArgumentException("Batches must hold at least one word!");
+        if(batchThreads < 1)
+            throw new IllegalArgumentException("At least one batching thread is required!");
+        this.stemmer = stemmer;
+        this.maxBatchWords = maxBatchWords;
+        this.server = HttpServer.create(address, 0);
+        this.executor = newExecutor();
+        server.setExecutor(executor);
+        server.createContext(STEM_PATH, new HttpHandler()
+        {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException
+            {
+                handleStem(exchange);
+            }
+        });
+        server.createContext(METRICS_PATH, new HttpHandler()
+        {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException
+            {
+                handleMetrics(exchange);
+            }
+        });
+        batchers = new Thread[batchThreads];
+        for(int i = 0; i < batchThreads; i++)
+        {
+            batchers[i] = new Thread(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    stemBatches();
+                }
+            }, "uea-lite-batcher-" + i);
+            batchers[i].setDaemon(true);
+        }
+    }
+    // Methods *****************************************************************
+    /**
+     * Starts accepting requests.
+     */
+    public void start()
+    {
+        for(Thread batcher : batchers)
+            batcher.start();
+        server.start();
+    }
+    /**
+     * Stops accepting requests and stops the threads of the server; requests
+     * being stemmed at the time fail.
+     */
+    @Override
+    public void close()
+    {
+        if(closed)
+            return;
+        closed = true;
+        server.stop(0);
+        for(Thread batcher : batchers)
+            batcher.interrupt();
+        executor.shutdownNow();
+        Request request;
+        while((request = queue.poll()) != null)
+            request.fail(new IllegalStateException("Server closed"));
+    }
+    /**
+     * Stems tokens through the batching threads, waiting for the result.
+     * 
+     * @param tokens The tokens to be stemmed.
+     * @param outStems Receives the stem of each token, at the same index.
+     * @param outRules Receives the code of the rule applied to each token, at
+     * the same index.
+     * @throws InterruptedIOException Thrown if interrupted whilst waiting.
+     */
+    private void stem(String[] tokens, String[] outStems, int[] outRules) throws InterruptedIOException
+    {
+        if(tokens.length == 0)
+            return;
+        Request request = new Request(tokens, outStems, outRules);
+        try
+        {
+            queue.put(request);
+            // The server may have closed before the request was queued
+            if(closed && queue.remove(request))
+                request.fail(new IllegalStateException("Server closed"));
+            request.done.await();
+        }
+        catch(InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for the stemmer");
+        }
+        if(request.error != null)
+            throw request.error;
+    }
+    /**
+     * Run by each batching thread, stemming the requests waiting together
+     * until interrupted.
+     */
+    private void stemBatches()
+    {
+        String[] batchTokens = new String[maxBatchWords];
+        String[] batchStems = new String[maxBatchWords];
+        int[] batchRules = new int[maxBatchWords];
+        List<Request> batch = new ArrayList<>();
+        Request next = null;
+        try
+        {
+            while(true)
+            {
+                // Take the request left over from the previous batch, or wait
+                Request first = next != null ? next : queue.take();
+                next = null;
+                batch.add(first);
+                int count = first.tokens.length;
+                while(count < maxBatchWords && (next = queue.poll()) != null && count + next.tokens.length <= maxBatchWords)
+                {
+                    batch.add(next);
+                    count += next.tokens.length;
+                    next = null;
+                }
+                try
+                {
+                    if(batch.size() == 1)
+                        stemmer.stemAll(first.tokens, first.stems, first.rules);
+                    else
+                    {
+                        int offset = 0;
+                        for(Request request : batch)
+                        {
+                            System.arraycopy(request.tokens, 0, batchTokens, offset, request.tokens.length);
+                            offset += request.tokens.length;
+                        }
+                        stemmer.stemAll(batchTokens, 0, count, batchStems, batchRules);
+                        offset = 0;
+                        for(Request request : batch)
+                        {
+                            System.arraycopy(batchStems, offset, request.stems, 0, request.tokens.length);
+                            System.arraycopy(batchRules, offset, request.rules, 0, request.tokens.length);
+                            offset += request.tokens.length;
+                        }
+                    }
+                    batches.increment();
+                    for(Request request : batch)
+                        request.done.countDown();
+                }
+                catch(RuntimeException ex)
+                {
+                    for(Request request : batch)
+                        request.fail(ex);
+                }
+                batch.clear();
+            }
+        }
+        catch(InterruptedException ex)
+        {
+            // Closed
+            if(next != null)
+                next.fail(new IllegalStateException("Server closed"));
+        }
+    }
+    private void handleStem(HttpExchange exchange) throws IOException
+    {
+        long start = System.nanoTime();
+        requests.increment();
+        try
+        {
+            if(!"POST".equals(exchange.getRequestMethod()))
+            {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                respond(exchange, 405, "Tokens must be posted\n");
+                return;
+            }
+            byte[] body = readBody(exchange);
+            if(body == null)
+            {
+                respond(exchange, 413, "Request exceeds " + MAX_REQUEST_SIZE + " bytes\n");
+                return;
+            }
+            String type = exchange.getRequestHeaders().getFirst("Content-Type");
+            boolean binary = type != null && type.toLowerCase(Locale.ROOT).startsWith(BINARY_TYPE);
+            String[] tokens = binary ? readBinary(body) : readText(body);
+            if(tokens == null)
+            {
+                respond(exchange, 400, "Truncated token\n");
+                return;
+            }
+            String[] stems = new String[tokens.length];
+            int[] rules = new int[tokens.length];
+            stem(tokens, stems, rules);
+            words.add(tokens.length);
+            byte[] response = binary ? writeBinary(stems, rules) : writeText(stems, rules);
+            exchange.getResponseHeaders().set("Content-Type", binary ? BINARY_TYPE : "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(200, response.length);
+            try(OutputStream out = exchange.getResponseBody())
+            {
+                out.write(response);
+            }
+            long nanos = System.nanoTime() - start;
+            latencies[StemStatistics.bucket(nanos)].increment();
+            latencyTotal.add(nanos);
+            latencyMax.accumulate(nanos);
+        }
+        catch(InterruptedIOException ex)
+        {
+            // Closing; clear the interrupt so the answer can still be written
+            failures.increment();
+            Thread.interrupted();
+            try
+            {
+                respond(exchange, 503, message(ex));
+            }
+            finally
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+        catch(RuntimeException ex)
+        {
+            failures.increment();
+            respond(exchange, 500, message(ex));
+        }
+        finally
+        {
+            exchange.close();
+        }
+    }
+    private void handleMetrics(HttpExchange exchange) throws IOException
+    {
+        try
+        {
+            if(!"GET".equals(exchange.getRequestMethod()))
+            {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                respond(exchange, 405, "Metrics must be fetched\n");
+                return;
+            }
+            respond(exchange, 200, getMetrics());
+        }
+        finally
+        {
+            exchange.close();
+        }
+    }
+    /**
+     * @return The metrics of the server, as lines of a name and a value;
+     * latencies are in nanoseconds.
+     */
+    public String getMetrics()
+    {
+        long[] counts = new long[latencies.length];
+        long timed = 0;
+        for(int i = 0; i < counts.length; i++)
+        {
+            counts[i] = latencies[i].sum();
+            timed += counts[i];
+        }
+        long max = latencyMax.get();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long wordCount = words.sum();
+        long batchCount = batches.sum();
+        StringBuilder sb = new StringBuilder();
+        sb.append("uea_lite_requests_total ").append(requests.sum()).append('\n');
+        sb.append("uea_lite_request_failures_total ").append(failures.sum()).append('\n');
+        sb.append("uea_lite_words_total ").append(wordCount).append('\n');
+        sb.append("uea_lite_batches_total ").append(batchCount).append('\n');
+        sb.append("uea_lite_words_per_batch ").append(batchCount == 0 ? 0 : (double)wordCount / batchCount).append('\n');
+        sb.append("uea_lite_words_per_second ").append(seconds == 0 ? 0 : wordCount / seconds).append('\n');
+        sb.append("uea_lite_queued_requests ").append(queue.size()).append('\n');
+        sb.append("uea_lite_request_latency_mean ").append(timed == 0 ? 0 : (double)latencyTotal.sum() / timed).append('\n');
+        sb.append("uea_lite_request_latency_p50 ").append(StemStatistics.percentile(counts, max, 50)).append('\n');
+        sb.append("uea_lite_request_latency_p99 ").append(StemStatistics.percentile(counts, max, 99)).append('\n');
+        sb.append("uea_lite_request_latency_p999 ").append(StemStatistics.percentile(counts, max, 99.9)).append('\n');
+        sb.append("uea_lite_request_latency_max ").append(max).append('\n');
+        return sb.toString();
+    }
+    // Methods - Accessors *****************************************************
+    /**
+     * @return The address the server is listening on, including the port
+     * picked if port zero was given.
+     */
+    public InetSocketAddress getAddress()
+    {
+        return server.getAddress();
+    }
+    /**
+     * @return The number of stemming requests received.
+     */
+    public long getRequests()
+    {
+        return requests.sum();
+    }
+    /**
+     * @return The number of words stemmed.
+     */
+    public long getWords()
+    {
+        return words.sum();
+    }
+    /**
+     * @return The number of batches stemmed; fewer than the requests when
+     * requests arrive together.
+     */
+    public long getBatches()
+    {
+        return batches.sum();
+    }
+    // Methods - Static ********************************************************
+    /**
+     * @return An executor running each request on a virtual thread where the
+     * JDK provides them, otherwise on a fixed pool of threads.
+     */
+    private static ExecutorService newExecutor()
+    {
+        try
+        {
+            return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch(ReflectiveOperationException ex)
+        {
+            // Before Java 21, or a preview not enabled
+            return Executors.newFixedThreadPool(HANDLER_THREADS);
+        }
+    }
+    /**
+     * @return The body of a request, or null if too large.
+     */
+    private static byte[] readBody(HttpExchange exchange) throws IOException
+    {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        try(InputStream in = exchange.getRequestBody())
+        {
+            int read;
+            while((read = in.read(buffer)) != -1)
+            {
+                if(body.size() + read > MAX_REQUEST_SIZE)
+                    return null;
+                body.write(buffer, 0, read);
+            }
+        }
+        return body.toByteArray();
+    }
+    /**
+     * @return The lines of the body, without their line terminators.
+     */
+    private static String[] readText(byte[] body)
+    {
+        String text = new String(body, StandardCharsets.UTF_8);
+        List<String> tokens = new ArrayList<>();
+        int start = 0;
+        while(start < text.length())
+        {
+            int end = text.indexOf('\n', start);
+            if(end == -1)
+                end = text.length();
+            int next = end + 1;
+            if(end > start && text.charAt(end - 1) == '\r')
+                end--;
+            tokens.add(text.substring(start, end));
+            start = next;
+        }
+        return tokens.toArray(new String[tokens.size()]);
+    }
+    /**
+     * @return The length-prefixed tokens of the body, or null if the last is
+     * truncated.
+     */
+    private static String[] readBinary(byte[] body)
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        List<String> tokens = new ArrayList<>();
+        while(buffer.hasRemaining())
+        {
+            if(buffer.remaining() < 2)
+                return null;
+            int length = buffer.getShort() & 0xFFFF;
+            if(buffer.remaining() < length)
+                return null;
+            tokens.add(new String(body, buffer.position(), length, StandardCharsets.UTF_8));
+            buffer.position(buffer.position() + length);
+        }
+        return tokens.toArray(new String[tokens.size()]);
+    }
+    private static byte[] writeText(String[] stems, int[] rules)
+    {
+        StringBuilder sb = new StringBuilder();
+        for(int i = 0; i < stems.length; i++)
+            sb.append(stems[i]).append('\t').append(Rules.format(rules[i])).append('\n');
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    private static byte[] writeBinary(String[] stems, int[] rules)
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for(int i = 0; i < stems.length; i++)
+        {
+            byte[] stem = stems[i].getBytes(StandardCharsets.UTF_8);
+            if(stem.length > MAX_TOKEN_BYTES)
+                throw new IllegalStateException("Stem exceeds " + MAX_TOKEN_BYTES + " bytes");
+            out.write(stem.length >>> 8);
+            out.write(stem.length);
+            out.write(stem, 0, stem.length);
+            out.write(rules[i] >>> 8);
+            out.write(rules[i]);
+        }
+        return out.toByteArray();
+    }
+    /**
+     * @return The line answering a failed request; the name of the exception
+     * when it has no message.
+     */
+    private static String message(Exception ex)
+    {
+        String message = ex.getMessage();
+        return (message != null ? message : ex.getClass().getName()) + "\n";
+    }
+    private static void respond(HttpExchange exchange, int status, String text) throws IOException
+    {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try(OutputStream out = exchange.getResponseBody())
+        {
+            out.write(bytes);
+        }
+    }
+    /**
+     * Runs a server with the default settings of the stemmer, until the
+     * process is stopped.
+     * 
+     * @param args The port and, optionally, the address to listen on; the
+     * loopback address by default.
+     * @throws IOException Thrown if the address cannot be bound.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if(args.length < 1 || args.length > 2)
+        {
+            System.err.println("Usage: StemmingServer <port> [<address>]");
+            System.exit(1);
+        }
+        int port = Integer.parseInt(args[0]);
+        InetSocketAddress address = args.length == 2 ? new InetSocketAddress(args[1], port) : new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        final StemmingServer server = new StemmingServer(new UEALite(), address);
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                server.close();
+            }
+        }));
+        server.start();
+        System.out.println("Stemming on http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + STEM_PATH);
+    }
+    // Classes *****************************************************************
+    /**
+     * The tokens of a request, waiting to be stemmed.
+     */
+    private static final class Request
+    {
+        final String[]          tokens;
+        final String[]          stems;
+        final int[]             rules;
+        final CountDownLatch    done = new CountDownLatch(1);
+        volatile RuntimeException error;
+        Request(String[] tokens, String[] stems, int[] rules)
+        {
+            this.tokens = tokens;
+            this.stems = stems;
+            this.rules = rules;
+        }
+        void fail(RuntimeException error)
+        {
+            this.error = error;
+            done.countDown();
+        }
+    }
+}
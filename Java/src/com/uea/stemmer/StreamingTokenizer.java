@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * A tokenizer able to tokenize a document incrementally, passing each token
+ * to a handler as it is found, rather than holding the document and its
+ * tokens in memory.
+ */
+public interface StreamingTokenizer extends Tokenizer
+{
+    /**
+     * Tokenizes a buffer of characters; the characters of each token are
+     * lower-cased in-place.
+     * 
+     * @param data The array holding the characters.
+     * @param offset The offset of the characters within the array.
+     * @param length The number of characters.
+     * @param endOfInput Indicates if no characters follow the buffer; when
+     * false, a token at the end of the buffer is not handled, as it may
+     * continue into the next buffer.
+     * @param handler The handler of the tokens.
+     * @return The number of characters consumed; any remaining characters
+     * should be prepended to the next buffer.
+     * @throws IOException Thrown by the handler.
+     */
+    public int tokenize(char[] data, int offset, int length, boolean endOfInput, TokenHandler handler) throws IOException;
+    /**
+     * Tokenizes a stream of characters, read in chunks; memory use is
+     * constant, unless a single token exceeds the chunk size.
+     * 
+     * @param in The stream to be tokenized; this is not closed.
+     * @param handler The handler of the tokens.
+     * @throws IOException Thrown if an issue occurs reading the stream, or by
+     * the handler.
+     */
+    public default void tokenize(Reader in, TokenHandler handler) throws IOException
+    {
+        char[] buffer = new char[8192];
+        int end = 0;
+        int read;
+        while((read = in.read(buffer, end, buffer.length - end)) != -1)
+        {
+            end += read;
+            int consumed = tokenize(buffer, 0, end, false, handler);
+            System.arraycopy(buffer, consumed, buffer, 0, end - consumed);
+            end -= consumed;
+            if(end == buffer.length)
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        tokenize(buffer, 0, end, true, handler);
+    }
+}
@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+/**
+ * A single suffix rule of the stemmer, i.e. one step of the second group of
+ * rules; the rule fires when a word ends with its suffix.
+ */
+final class SuffixRule
+{
+    // Constants ***************************************************************
+    /**
+     * The word is left untouched.
+     */
+    static final int ACTION_KEEP = 0;
+    /**
+     * Characters are removed from the end of the word and optionally a
+     * replacement appended.
+     */
+    static final int ACTION_STRIP = 1;
+    /**
+     * The first occurrence of the target within the word is replaced; note
+     * this is not necessarily the suffix.
+     */
+    static final int ACTION_REPLACE_FIRST = 2;
+    /**
+     * Characters are removed from the end of the word, followed by a single
+     * character if the word then ends with a duplicate word character; this
+     * rule only fires with at least two word characters before the suffix.
+     */
+    static final int ACTION_STRIP_DUPLICATE = 3;
+    // Fields ******************************************************************
+    final String    suffix;
+    final int       action;
+    final String    target;
+    final String    replacement;
+    final double    rule;
+    final int       code;
+    // Methods - Constructors **************************************************
+    private SuffixRule(String suffix, int action, String target, String replacement, double rule)
+    {
+        this.suffix = suffix;
+        this.action = action;
+        this.target = target;
+        this.replacement = replacement;
+        this.rule = rule;
+        this.code = Rules.code(rule);
+    }
+    // Methods *****************************************************************
+    /**
+     * Applies the rule to a word already known to end with the suffix of the
+     * rule.
+     * 
+     * @param word The word to be stemmed, which is altered in-place.
+     */
+    void apply(StemResult word)
+    {
+        switch(action)
+        {
+            case ACTION_STRIP:
+                word.truncate(target.length());
+                word.append(replacement);
+                break;
+            case ACTION_REPLACE_FIRST:
+                word.replaceFirst(target, replacement);
+                break;
+            case ACTION_STRIP_DUPLICATE:
+                word.truncate(target.length());
+                // Mirrors the regular expression ".*(\w)\1$"
+                int length = word.length();
+                if(length > 1 && word.charAt(length - 1) == word.charAt(length - 2) && isWordChar(word.charAt(length - 1)) && !hasLineTerminator(word, length - 2))
+                    word.truncate(1);
+                break;
+        }
+    }
+    /**
+     * Indicates if the rule can fire for a word, given the suffix of the rule
+     * starts at the specified index; this only restricts rules of the strip
+     * duplicate action, which mirror the regular expression ".*\w\w(suffix)$".
+     * 
+     * @param word The word being stemmed.
+     * @param suffixStart The index at which the suffix starts within the word.
+     * @return True if the rule can fire, false otherwise.
+     */
+    boolean accepts(CharSequence word, int suffixStart)
+    {
+        if(action != ACTION_STRIP_DUPLICATE)
+            return true;
+        return suffixStart > 1 && isWordChar(word.charAt(suffixStart - 1)) && isWordChar(word.charAt(suffixStart - 2)) && !hasLineTerminator(word, suffixStart - 2);
+    }
+    // Methods - Static ********************************************************
+    /**
+     * @param c The character to be tested.
+     * @return True if the character is matched by the regular expression \w.
+     */
+    static boolean isWordChar(char c)
+    {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+    /**
+     * @param c The character to be tested.
+     * @return True if the character is not matched by the regular expression
+     * dot (.).
+     */
+    static boolean isLineTerminator(char c)
+    {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+    /**
+     * @param word The characters to be tested.
+     * @param end The index at which to stop testing, exclusive.
+     * @return True if any character before the end is a line terminator.
+     */
+    static boolean hasLineTerminator(CharSequence word, int end)
+    {
+        for(int i = 0; i < end; i++)
+        {
+            if(isLineTerminator(word.charAt(i)))
+                return true;
+        }
+        return false;
+    }
+    /**
+     * @param suffix The suffix of the rule.
+     * @param rule The rule number.
+     * @return A rule leaving the word untouched.
+     */
+    static SuffixRule keep(String suffix, double rule)
+    {
+        return new SuffixRule(suffix, ACTION_KEEP, "", "", rule);
+    }
+    /**
+     * @param suffix The suffix of the rule.
+     * @param remove The characters removed from the end of the word.
+     * @param rule The rule number.
+     * @return A rule removing characters from the end of the word.
+     */
+    static SuffixRule strip(String suffix, String remove, double rule)
+    {
+        return new SuffixRule(suffix, ACTION_STRIP, remove, "", rule);
+    }
+    /**
+     * @param suffix The suffix of the rule.
+     * @param remove The characters removed from the end of the word.
+     * @param append The characters appended after removal.
+     * @param rule The rule number.
+     * @return A rule replacing characters at the end of the word.
+     */
+    static SuffixRule strip(String suffix, String remove, String append, double rule)
+    {
+        return new SuffixRule(suffix, ACTION_STRIP, remove, append, rule);
+    }
+    /**
+     * @param suffix The suffix of the rule.
+     * @param target The characters replaced at their first occurrence.
+     * @param replacement The replacement characters.
+     * @param rule The rule number.
+     * @return A rule replacing the first occurrence of some characters.
+     */
+    static SuffixRule replaceFirst(String suffix, String target, String replacement, double rule)
+    {
+        return new SuffixRule(suffix, ACTION_REPLACE_FIRST, target, replacement, rule);
+    }
+    /**
+     * @param suffix The suffix of the rule, which is also removed.
+     * @param rule The rule number.
+     * @return A rule removing the suffix and any duplicate character preceding
+     * it.
+     */
+    static SuffixRule stripDuplicate(String suffix, double rule)
+    {
+        return new SuffixRule(suffix, ACTION_STRIP_DUPLICATE, suffix, "", rule);
+    }
+}
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.util.Arrays;
+
+/**
+ * The suffix rules of the stemmer compiled into a trie of reversed suffixes,
+ * flattened into arrays; a single right-to-left pass over a word yields the
+ * rule which would have fired first had the rules been tested in order.
+ */
+final class SuffixTrie
+{
+    // Constants ***************************************************************
+    private static final int ALPHABET = 26;
+    // Fields ******************************************************************
+    private final SuffixRule[]  rules;
+    private final int[]         transitions;    // Child of each node and character, zero for none
+    private final int[]         nodeRules;      // Index of the first rule with the suffix of each node, -1 for none
+    // Methods - Constructors **************************************************
+    /**
+     * Compiles a set of rules into a trie.
+     * 
+     * @param rules The rules, in the order in which they are tested; suffixes
+     * must consist of lower-case characters (a to z).
+     */
+    SuffixTrie(SuffixRule[] rules)
+    {
+        this.rules = rules;
+        // Count the nodes required
+        int maxNodes = 1;
+        for(SuffixRule rule : rules)
+            maxNodes += rule.suffix.length();
+        int[] transitions = new int[maxNodes * ALPHABET];
+        int[] nodeRules = new int[maxNodes];
+        Arrays.fill(nodeRules, -1);
+        // Insert each suffix, reversed; where a suffix occurs more than once,
+        // only the first rule can ever fire
+        int nodes = 1;
+        for(int r = 0; r < rules.length; r++)
+        {
+            String suffix = rules[r].suffix;
+            int node = 0;
+            for(int i = suffix.length() - 1; i >= 0; i--)
+            {
+                int c = suffix.charAt(i) - 'a';
+                if(c < 0 || c >= ALPHABET)
+                    throw new IllegalArgumentException("Suffix '" + suffix + "' of rule " + rules[r].rule + " is not lower-case a to z!");
+                if(transitions[node * ALPHABET + c] == 0)
+                    transitions[node * ALPHABET + c] = nodes++;
+                node = transitions[node * ALPHABET + c];
+            }
+            if(nodeRules[node] == -1)
+                nodeRules[node] = r;
+        }
+        this.transitions = Arrays.copyOf(transitions, nodes * ALPHABET);
+        this.nodeRules = Arrays.copyOf(nodeRules, nodes);
+    }
+    // Methods *****************************************************************
+    /**
+     * Finds the first rule, in order, which fires for a word.
+     * 
+     * @param word The word to be tested.
+     * @return The index of the rule, or -1 if no rule fires.
+     */
+    int match(CharSequence word)
+    {
+        int best = -1;
+        int node = 0;
+        for(int i = word.length() - 1; i >= 0; i--)
+        {
+            int c = word.charAt(i) - 'a';
+            if(c < 0 || c >= ALPHABET || (node = transitions[node * ALPHABET + c]) == 0)
+                break;
+            int r = nodeRules[node];
+            if(r != -1 && (best == -1 || r < best) && rules[r].accepts(word, i))
+                best = r;
+        }
+        return best;
+    }
+    /**
+     * @param index The index of the rule.
+     * @return The rule at the index.
+     */
+    SuffixRule get(int index)
+    {
+        return rules[index];
+    }
+}
@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *                      Flags shared with the vectorized classifier.
+ *                      Public flags, passed by tokenizers preserving case.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+/**
+ * Classifies a token for the first group of rules of the stemmer, i.e. the
+ * rules cleaning the token, in a single scan of its characters; the flags
+ * reproduce the regular expressions originally used by the rules.
+ * 
+ * A tokenizer preserving case, such as {@link CasePreservingTokenizer},
+ * computes the flags whilst finding each token and passes them to
+ * {@link UEALite#stem(char[], int, int, int, StemResult)}, so the token is not
+ * scanned again.
+ */
+public final class TokenClass
+{
+    // Constants ***************************************************************
+    /**
+     * ^\d+$
+     */
+    public static final int DIGITS              = 1;
+    /**
+     * ^\w+-\w+$
+     */
+    public static final int HYPHENATED_WORDS    = 1 << 1;
+    /**
+     * ^.*-.*$
+     */
+    public static final int HYPHEN              = 1 << 2;
+    /**
+     * ^.*_.*$
+     */
+    public static final int UNDERSCORE          = 1 << 3;
+    /**
+     * ^\p{Upper}+s$
+     */
+    public static final int ACRONYM_PLURAL      = 1 << 4;
+    /**
+     * ^\p{Upper}+$
+     */
+    public static final int ACRONYM             = 1 << 5;
+    /**
+     * ^.*\p{Upper}.*\p{Upper}.*$
+     */
+    public static final int MULTIPLE_UPPER      = 1 << 6;
+    /**
+     * ^\p{Upper}{1}.*$
+     */
+    public static final int INITIAL_UPPER       = 1 << 7;
+    /**
+     * The first token of a sentence, i.e. of the text or following a full
+     * stop, question mark or exclamation mark.
+     */
+    public static final int SENTENCE_INITIAL    = 1 << 8;
+    // Methods - Constructors **************************************************
+    private TokenClass()
+    { }
+    // Methods - Static ********************************************************
+    /**
+     * Classifies a token, one character at a time; refer to
+     * {@link CharClassifier#classify} for the vectorized equivalent.
+     * 
+     * @param word The array holding the token.
+     * @param offset The offset of the token within the array.
+     * @param length The length of the token.
+     * @return The flags of the classes the token belongs to.
+     */
+    static int classify(char[] word, int offset, int length)
+    {
+        int digits = 0, wordChars = 0, uppers = 0, hyphens = 0, hyphenIndex = -1;
+        boolean underscore = false, lineTerminator = false;
+        for(int i = 0; i < length; i++)
+        {
+            char c = word[offset + i];
+            if(c >= 'a' && c <= 'z')
+                wordChars++;
+            else if(c >= 'A' && c <= 'Z')
+            {
+                wordChars++;
+                uppers++;
+            }
+            else if(c >= '0' && c <= '9')
+            {
+                wordChars++;
+                digits++;
+            }
+            else if(c == '_')
+            {
+                wordChars++;
+                underscore = true;
+            }
+            else if(c == '-')
+            {
+                hyphens++;
+                hyphenIndex = i;
+            }
+            else if(SuffixRule.isLineTerminator(c))
+                lineTerminator = true;
+        }
+        return flags(word, offset, length, digits, wordChars, uppers, hyphens, hyphenIndex, underscore, lineTerminator);
+    }
+    /**
+     * Derives the flags of a token from the counts of its characters.
+     * 
+     * @param word The array holding the token.
+     * @param offset The offset of the token within the array.
+     * @param length The length of the token.
+     * @param digits The number of digits.
+     * @param wordChars The number of characters matched by \w.
+     * @param uppers The number of upper-case characters.
+     * @param hyphens The number of hyphens.
+     * @param hyphenIndex The index of the last hyphen within the token.
+     * @param underscore Indicates if the token holds an underscore.
+     * @param lineTerminator Indicates if the token holds a line terminator.
+     * @return The flags of the classes the token belongs to.
+     */
+    static int flags(char[] word, int offset, int length, int digits, int wordChars, int uppers, int hyphens, int hyphenIndex, boolean underscore, boolean lineTerminator)
+    {
+        int flags = 0;
+        if(length > 0 && digits == length)
+            flags |= DIGITS;
+        if(hyphens == 1 && wordChars == length - 1 && hyphenIndex > 0 && hyphenIndex < length - 1)
+            flags |= HYPHENATED_WORDS;
+        if(hyphens > 0 && !lineTerminator)
+            flags |= HYPHEN;
+        if(underscore && !lineTerminator)
+            flags |= UNDERSCORE;
+        if(length > 1 && word[offset + length - 1] == 's' && uppers == length - 1)
+            flags |= ACRONYM_PLURAL;
+        if(length > 0 && uppers == length)
+            flags |= ACRONYM;
+        if(uppers > 1 && !lineTerminator)
+            flags |= MULTIPLE_UPPER;
+        if(length > 0 && word[offset] >= 'A' && word[offset] <= 'Z' && !lineTerminator)
+            flags |= INITIAL_UPPER;
+        return flags;
+    }
+}
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *                      Flags of tokens preserving case.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.io.IOException;
+
+/**
+ * Receives the tokens generated by a {@link StreamingTokenizer}.
+ */
+public interface TokenHandler
+{
+    /**
+     * Handles a token; the characters are only valid for the duration of the
+     * call.
+     * 
+     * @param data The array holding the token, lower-case.
+     * @param offset The offset of the token within the array.
+     * @param length The length of the token.
+     * @throws IOException Thrown if an issue occurs handling the token.
+     */
+    public void token(char[] data, int offset, int length) throws IOException;
+    /**
+     * Handles a token of original case, with its flags, from a tokenizer
+     * preserving case; by default the flags are ignored.
+     * 
+     * @param data The array holding the token.
+     * @param offset The offset of the token within the array.
+     * @param length The length of the token.
+     * @param flags The flags of the token, as defined by {@link TokenClass}.
+     * @throws IOException Thrown if an issue occurs handling the token.
+     */
+    public default void token(char[] data, int offset, int length, int flags) throws IOException
+    {
+        token(data, offset, length);
+    }
+}
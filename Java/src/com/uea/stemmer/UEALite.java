@@ -27,27 +27,81 @@
  * Change-log:
  *      2013-11-30      New headers, further reformatting of the original
  *                      source.
+ *      2026-10-18      Suffix rules compiled into a reversed-suffix trie.
+ *                      Cleanup rules classify tokens without regular
+ *                      expressions.
+ *                      Allocation-free stemming into a StemResult.
+ *                      Rules held as integer codes.
+ *                      Bulk stemming of token arrays.
+ *                      Precomputed lexicon consulted before the rules.
+ *                      Optional statistics of the rules applied and latency.
+ *                      Immutable configuration snapshot, swapped atomically.
+ *                      Cleanup classification optionally vectorized.
+ *                      Rules parsed from an external table.
+ *                      Token flags passed by tokenizers preserving case.
+ *                      Stems interned as term IDs in an off-heap table.
+ *                      Lexicon and problem words consulted once per word.
+ *                      Lexicon checked against the rules configured.
+ *                      Lexicon checked when the maximum word length is set.
  *******************************************************************************
  */
 package com.uea.stemmer;
 
+import static com.uea.stemmer.SuffixRule.*;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * The UEA Lite-Stemmer.
  * 
+ * Instances are safe to share between threads, without locking: the
+ * configuration is held as an immutable {@link StemmerConfig}, read once per
+ * word, and any reconfiguration atomically swaps in a new snapshot; words
+ * being stemmed at the time complete with the previous snapshot.
+ * 
  * For more information, visit:
  * https://www.uea.ac.uk/computing/word-stemming
  */
 public class UEALite
 {
+    // Constants ***************************************************************
+    /**
+     * The default maximum length of a word to be stemmed.
+     */
+    public static final int DEFAULT_MAX_WORD_LENGTH = "deoxyribonucleicacid".length();     // ...or some other suitable value, e.g antidisestablishmentarianism
+    /**
+     * The default maximum length of an acronym to be stemmed.
+     */
+    public static final int DEFAULT_MAX_ACRONYM_LENGTH = "CAVASSOO".length();              // ...or some other suitable value
+    /**
+     * The maximum number of distinct words remembered while stemming a batch.
+     */
+    private static final int MAX_BATCH_MEMO = 1024;
+    /**
+     * Indicates a token is classified by the stemmer, rather than flagged by
+     * the tokenizer.
+     */
+    private static final int UNCLASSIFIED = -1;
+    /**
+     * Buffers for stemming strings, reused by each thread.
+     */
+    private static final ThreadLocal<StemResult> BUFFERS = new ThreadLocal<StemResult>()
+    {
+        @Override
+        protected StemResult initialValue()
+        {
+            return new StemResult();
+        }
+    };
     // Methods - Fields ********************************************************
-    private int maxWordLength = "deoxyribonucleicacid".length();    // ...or some other suitable value, e.g antidisestablishmentarianism
-    private int maxAcronymLength = "CAVASSOO".length();             // ...or some other suitable value
+    private final AtomicReference<StemmerConfig> config;
     // Methods - Constructors **************************************************
     /**
      * Creates a new instance of the UEA Lite stemmer.
      */
     public UEALite()
-    {}
+    {
+        this(StemmerConfig.DEFAULT);
+    }
     /**
      * Creates a new instance of the UEA Lite stemmer.
      * 
@@ -56,8 +110,18 @@ public class UEALite
      */
     public UEALite(int wordLength, int acronymLength)
     {
-        maxWordLength = wordLength;
-        maxAcronymLength = acronymLength;
+        this(StemmerConfig.builder().setMaxWordLength(wordLength).setMaxAcronymLength(acronymLength).build());
+    }
+    /**
+     * Creates a new instance of the UEA Lite stemmer.
+     * 
+     * @param config The configuration of the stemmer.
+     */
+    public UEALite(StemmerConfig config)
+    {
+        if(config == null)
+            throw new IllegalArgumentException("Configuration cannot be null!");
+        this.config = new AtomicReference<>(config);
     }
     // Methods *****************************************************************
     /**
@@ -68,358 +132,431 @@ public class UEALite
      */
     public Word stem(String word)
     {
-        if(isProblemWord(word))
-            return new Word(word, 90);
-        else if(word.length() > maxWordLength)
-            return new Word(word, 95);
-        else if(word.indexOf("'") != -1)
-        {                                                           // contains apostrophe(s) - remove and continue 94
-            if(word.matches( "^.*'[sS]$"))
-                word = remove(word, "'s");                         // remove possessive singular
-            if(word.matches( "^.*'$"))
-                word = remove(word, "'");                          // remove possessive plural
-            word = word.replaceAll( "n't", "not");                 // expand contraction n't
-            word = word.replaceAll( "'ve", "have");                // expand contraction 've
-            word = word.replaceAll( "'re", "are");                 // expand contraction 're
-            word = word.replaceAll( "'m", "am");                   // expand contraction I'm
-
-            return new Word(word, 94);
-	}
-        else if(word.matches("^\\d+$"))                             return new Word(word, 90.3);
-        else if(word.matches("^\\w+-\\w+$"))                        return new Word(word, 90.2);
-        else if(word.matches("^.*-.*$"))                            return new Word(word, 90.1);
-        else if(word.matches("^.*_.*$"))                            return new Word(word, 90);
-        else if(word.matches("^\\p{Upper}+s$"))                     return new Word(remove( word, "s"), 91.1);
-        else if(word.matches("^\\p{Upper}+$"))                      return new Word(word, 91);
-        else if(word.matches("^.*\\p{Upper}.*\\p{Upper}.*$"))       return new Word(word, 92);
-        else if(word.matches("^\\p{Upper}{1}.*$"))                  return new Word(word, 92);
-        // should word be stemmed followed by call to private method with text to stem
-        else if(word.endsWith("aceous"))                            return new Word(remove(word, "aceous"),1);  // 1
-        else if(word.endsWith("ces"))                               return new Word(remove(word, "s"),2);  // 2
-        else if(word.endsWith("cs"))                                return new Word(word, 3); // 3
-        else if(word.endsWith("sis"))                               return new Word(word, 4); // 4
-        else if(word.endsWith("tis"))                               return new Word(word, 5); // 5
-        else if(word.endsWith("ss"))                                return new Word(word, 6); // 6
-        /***********************************************************************************************************/
-        // plural change - this differs from Perl v1.03
-        else if(word.endsWith("eed"))                               return new Word(word, 7   ); // 7
-        else if(word.endsWith("eeds"))                              return new Word(remove(word, "s"),7); // 7
-        /***********************************************************************************************************/
-        else if(word.endsWith("ued"))                               return new Word(remove(word, "d"),8); // 8
-        else if(word.endsWith("ues"))                               return new Word(remove(word, "s"),9); // 9
-        else if(word.endsWith("ees"))                               return new Word(remove(word, "s"),10); // 10
-        else if(word.endsWith("iases"))                             return new Word(remove(word, "es"),11.4); // 11.4
-        else if(word.endsWith("uses"))                              return new Word(remove(word, "s"),11.3); // 11.3
-        else if(word.endsWith("sses"))                              return new Word(remove(word, "es"),11.2); // 11.2
-        else if(word.endsWith("eses"))                              return new Word(remove(word, "es")+"is", 11.1);//11.1
-        else if(word.endsWith("ses"))                               return new Word(remove(word, "s"),11); // 11
-        else if(word.endsWith("tled"))                              return new Word(remove(word, "d"),12.5); // 12.5
-        else if(word.endsWith("pled"))                              return new Word(remove(word, "d"),12.4); // 12.4
-        else if(word.endsWith("bled"))                              return new Word(remove(word, "d"),12.3); // 12.3
-        else if(word.endsWith("eled"))                              return new Word(remove(word, "ed"),12.2); // 12.2
-        else if(word.endsWith("lled"))                              return new Word(remove(word, "ed"),12.1); // 12.1
-        else if(word.endsWith("led"))                               return new Word(remove(word, "ed"),12); // 12
-        else if(word.endsWith("ened"))                              return new Word(remove(word, "ed"),13.7);       // 13.7
-        else if(word.endsWith("ained"))                             return new Word(remove(word, "ed"),13.6);       // 13.6
-        else if(word.endsWith("erned"))                             return new Word(remove(word, "ed"),13.5);       // 13.5
-        else if(word.endsWith("rned"))                              return new Word(remove(word, "ed"),13.4);       // 13.4
-        else if(word.endsWith("nned"))                              return new Word(remove(word, "ned"),13.3);       // 13.3
-        else if(word.endsWith("oned"))                              return new Word(remove(word, "ed"),13.2);       // 13.2
-        else if(word.endsWith("gned"))                              return new Word(remove(word, "ed"),13.1);       // 13.1
-        else if(word.endsWith("ned"))                               return new Word(remove(word, "d"),13);       // 13
-        else if(word.endsWith("ifted"))                             return new Word(remove(word, "ed"),14);       // 14
-        else if(word.endsWith("ected"))                             return new Word(remove(word, "ed"),15);       // 15
-        else if(word.endsWith("vided"))                             return new Word(remove(word, "d"),16);       // 16
-        else if(word.endsWith("ved"))                               return new Word(remove(word, "d"),17);       // 17
-        else if(word.endsWith("ced"))                               return new Word(remove(word, "d"),18);       // 18
-        else if(word.endsWith("erred"))                             return new Word(remove(word, "red"),19);       // 19
-        else if(word.endsWith("urred"))                             return new Word(remove(word, "red"),20.5);       // 20.5
-        else if(word.endsWith("lored"))                             return new Word(remove(word, "ed"),20.4);       // 20.4
-        else if(word.endsWith("eared"))                             return new Word(remove(word, "ed"),20.3);       // 20.3
-        else if(word.endsWith("tored"))                             return new Word(word.replaceFirst("ed", "e"),20.2);
-        else if(word.endsWith("ered"))                              return new Word(remove(word, "ed"),20.1);       // 20.1
-
-        /***********************************************************************************************************/
-        // plural change - this differs from Perl v1.03
-        else if(word.endsWith("red"))                               return new Word(remove(word, "d"),20);       // 20
-        else if(word.endsWith("reds"))                              return new Word(remove(word, "ds"),20);       // 20
-        /***********************************************************************************************************/
-
-        else if(word.endsWith("tted"))                              return new Word(remove(word, "ted"),21);       // 21
-        else if(word.endsWith("noted"))                             return new Word(remove(word, "d"),22.4);       // 22.4
-        else if(word.endsWith("leted"))                             return new Word(remove(word, "d"),22.3);       // 22.3
-        else if(word.endsWith("uted"))                              return new Word(remove(word, "d"),22.2);       // 22.2
-        else if(word.endsWith("ated"))                              return new Word(remove(word, "d"),22.1);       // 22.1
-        else if(word.endsWith("ted"))                               return new Word(remove(word, "ed"),22);       // 22
-        else if(word.endsWith("anges"))                             return new Word(remove(word, "s"),23);       // 23
-        else if(word.endsWith("aining"))                            return new Word(remove(word, "ing"),24);       // 24
-        else if(word.endsWith("acting"))                            return new Word(remove(word, "ing"),25);       // 25
-
-        /***********************************************************************************************************/
-        // plural change - this differs from Perl v1.03
-        else if(word.endsWith("tting"))                             return new Word(remove(word, "ting"),26);       // 26
-        else if(word.endsWith("ttings"))                            return new Word(remove(word, "tings"),26);       // 26
-        /***********************************************************************************************************/
-
-        else if(word.endsWith("viding"))                            return new Word(word.replaceFirst("ing", "e"),27);       // 27
-        else if(word.endsWith("ssed"))                              return new Word(remove(word, "ed"),28);       // 28
-        else if(word.endsWith("sed"))                               return new Word(remove(word, "d"),29);       // 29
-        else if(word.endsWith("titudes"))                           return new Word(remove(word, "s"),30);       // 30
-        else if(word.endsWith("umed"))                              return new Word(remove(word, "d"),31);       // 31
-        else if(word.endsWith("ulted"))                             return new Word(remove(word, "ed"),32);       // 32
-        else if(word.endsWith("uming"))                             return new Word(word.replaceFirst("ing", "e"),33);       // 33
-        else if(word.endsWith("fulness"))                           return new Word(remove(word, "ness"),34);       // 34
-        else if(word.endsWith("ousness"))                           return new Word(remove(word, "ness"),35);       // 35
-
-        /***********************************************************************************************************/
-        // in the perl version these are all in one regrex ( r[aeiou]bed$ )
-        else if(word.endsWith("rabed"))                             return new Word(remove(word, "d"),36.1);       // 36.1
-        else if(word.endsWith("rebed"))                             return new Word(remove(word, "d"),36.1);       // 36.1
-        else if(word.endsWith("ribed"))                             return new Word(remove(word, "d"),36.1);       // 36.1
-        else if(word.endsWith("robed"))                             return new Word(remove(word, "d"),36.1);       // 36.1
-        else if(word.endsWith("rubed"))                             return new Word(remove(word, "d"),36.1);       // 36.1
-        /***********************************************************************************************************/
-
-        /***********************************************************************************************************/
-        // plural change - this differs from Perl v1.03
-        else if(word.endsWith("bed"))                               return new Word(remove(word, "ed"),36);       // 36
-        else if(word.endsWith("beds"))                              return new Word(remove(word, "eds"),36);       // 36
-
-        else if(word.endsWith("ssing"))                             return new Word(remove(word, "ing"),37);       // 37
-        else if(word.endsWith("ssings"))                            return new Word(remove(word, "ings"),37);       // 37
-        /***********************************************************************************************************/
-
-        else if(word.endsWith("ulting"))                            return new Word(remove(word, "ing"),38);       // 38
-
-        /***********************************************************************************************************/
-        // plural change - this differs from Perl v1.03
-        else if(word.endsWith("ving"))                              return new Word(word.replaceFirst("ing", "e"), 39);       // 39
-        else if(word.endsWith("vings"))                             return new Word(word.replaceFirst("ings", "e"), 39);       // 39
-        /***********************************************************************************************************/
-
-        else if(word.endsWith("eading"))                            return new Word(remove(word, "ing"),40.7);       // 40.7
-        else if(word.endsWith("eadings"))                           return new Word(remove(word, "ings"),40.7);     // 40.7
-        else if(word.endsWith("oading"))                            return new Word(remove(word, "ing"),40.6);       // 40.6
-        else if(word.endsWith("oadings"))                           return new Word(remove(word, "ings"),40.6);       // 40.6
-        else if(word.endsWith("eding"))                             return new Word(remove(word, "ing"),40.5);       // 40.5
-        else if(word.endsWith("edings"))                            return new Word(remove(word, "ings"),40.5);       // 40.5
-        else if(word.endsWith("dding"))                             return new Word(remove(word, "ding"),40.4);       // 40.4
-        else if(word.endsWith("ddings"))                            return new Word(remove(word, "dings"),40.4);       // 40.4
-        else if(word.endsWith("lding"))                             return new Word(remove(word, "ing"),40.3);       // 40.3
-        else if(word.endsWith("ldings"))                            return new Word(remove(word, "ings"),40.3);       // 40.3
-        else if(word.endsWith("rding"))                             return new Word(remove(word, "ing"),40.2);       // 40.2
-        else if(word.endsWith("rdings"))                            return new Word(remove(word, "ings"),40.2);       // 40.2
-        else if(word.endsWith("nding"))                             return new Word(remove(word, "ing"),40.1);       // 40.1
-        else if(word.endsWith("ndings"))                            return new Word(remove(word, "ings"),40.1);       // 40.1
-
-        /***********************************************************************************************************/
-        // plural change - this differs from Perl v1.03
-        else if(word.endsWith("ding"))                              return new Word(word.replaceFirst("ing", "e"),40);       // 40
-        else if(word.endsWith("dings"))                             return new Word(word.replaceFirst("ings", "e"),40);     // 40
-
-        else if(word.endsWith("lling"))                             return new Word(remove(word, "ling"),41);                   // word ends in -lling 41
-        else if(word.endsWith("llings"))                            return new Word(remove(word, "lings"),41);                  // word ends in -lling 41
-
-        else if(word.endsWith("ealing"))                            return new Word(remove(word, "ing"),42.4);                  // word ends in -ealing 42.4
-        else if(word.endsWith("ealings"))                           return new Word(remove(word, "ings"),42.4); 		// word ends in -ealing 42.4
-
-        else if(word.endsWith("oling"))                             return new Word(remove(word, "ing"),42.3);                  // word ends in -oling 42.3
-        else if(word.endsWith("olings"))                            return new Word(remove(word, "ings"),42.3); 		// word ends in -oling 42.3
-
-        else if(word.endsWith("ailing"))                            return new Word(remove(word, "ing"),42.2);                  // word ends in -ailing 42.2
-        else if(word.endsWith("ailings"))                           return new Word(remove(word, "ings"),42.2); 		// word ends in -ailing 42.2
-
-        else if(word.endsWith("eling"))                             return new Word(remove(word, "ing"),42.1);                  // word ends in -ling 42.1
-        else if(word.endsWith("elings"))                            return new Word(remove(word, "ings"),42.1);                 // word ends in -ling 42.1
-
-        else if(word.endsWith("ling"))                              return new Word(remove(word, "ing")+"e", 42);               // word ends in -ting 48
-        else if(word.endsWith("lings"))                             return new Word(remove(word, "ings")+"e", 42);              // word ends in -ting 48
-        /***********************************************************************************************************/
-
-        else if(word.endsWith("nged"))                              return new Word(remove(word, "d"),43.2);                    // word ends in -nged  43.2
-        else if(word.endsWith("gged"))                              return new Word(remove(word, "ged"),43.1);                  // word ends in -gged  43.1
-        else if(word.endsWith("ged"))                               return new Word(remove(word, "d"),43); 			// word ends in -ged  43
-
-        /***********************************************************************************************************/
-        // plural change - this differs from Perl v1.03
-        else if(word.endsWith("mming"))                             return new Word(remove(word, "ming"),44.3); 		// word ends in -mming  44.3
-        else if(word.endsWith("mmings"))                            return new Word(remove(word, "mings"),44.3); 		// word ends in -mming  44.3
-        /***********************************************************************************************************/
-
-        else if(word.endsWith("rming"))                             return new Word(remove(word, "ing"),44.2);                  // word ends in -rming  44.2
-        else if(word.endsWith("lming"))                             return new Word(remove(word, "ing"),44.1);                  // word ends in -lming  44.1
-
-        /***********************************************************************************************************/
-        // plural change - this differs from Perl v1.03
-        else if(word.endsWith("ming"))                              return new Word(remove(word, "ing")+"e", 44);               // word ends in -ting 48
-        else if(word.endsWith("mings"))                             return new Word(remove(word, "ings")+"e", 44);              // word ends in -ting 48
-
-        else if(word.endsWith("nging"))                             return new Word(remove(word, "ing"),45.2);                  // word ends in -ging 45.2
-        else if(word.endsWith("ngings"))                            return new Word(remove(word, "ings"),45.2); 		// word ends in -ging 45.2
-
-        else if(word.endsWith("gging"))                             return new Word(remove(word, "ging"),45.1); 		// word ends in -ging 45.1
-        else if(word.endsWith("ggings"))                            return new Word(remove(word, "gings"),45.1); 		// word ends in -ging 45.1
-
-        else if(word.endsWith("ging"))                              return new Word(remove(word, "ing")+"e", 45);
-        else if(word.endsWith("gings"))                             return new Word(remove(word, "ings")+"e", 45);
-        /***********************************************************************************************************/
-
-        else if(word.endsWith("aning"))                             return new Word(remove(word, "ing"),46.6);                  // word ends in -aning 46.6
-        else if(word.endsWith("ening"))                             return new Word(remove(word, "ing"),46.5);                  // word ends in -ening 46.5
-        else if(word.endsWith("gning"))                             return new Word(remove(word, "ing"),46.4);                  // word ends in -gning 46.4
-        else if(word.endsWith("nning"))                             return new Word(remove(word, "ning"),46.3); 		// word ends in -nning 46.3
-        else if(word.endsWith("oning"))                             return new Word(remove(word, "ing"),46.2);                  // word ends in -oning 46.2
-        else if(word.endsWith("rning"))                             return new Word(remove(word, "ing"),46.1);                  // word ends in -rning 46.1
-        else if(word.endsWith("ning"))                              return new Word(remove(word, "ing")+"e", 46);               // word ends in -ting 46
-
-        /***********************************************************************************************************/
-        // plural change - this differs from Perl v1.03
-        else if(word.endsWith("sting"))                             return new Word(remove(word, "ing"),47);                    // word ends in -sting 47
-        else if(word.endsWith("stings"))                            return new Word(remove(word, "ings"),47);                   // word ends in -sting 47
-        /***********************************************************************************************************/
-
-        /***********************************************************************************************************/
-        // plural change - this differs from Perl v1.03
-        else if(word.endsWith("eting"))                             return new Word(remove(word, "ing"),48.4);                  // word ends in -pting 48.4
-        else if(word.endsWith("etings"))                            return new Word(remove(word, "ings"),48.4); 		// word ends in -pting 48.4
-        /***********************************************************************************************************/
-
-        else if(word.endsWith("pting"))                             return new Word(remove(word, "ing"),48.3);                  // word ends in -pting 48.3
-
-        /***********************************************************************************************************/
-        // plural change - this differs from Perl v1.03
-        else if(word.endsWith("nting"))                             return new Word(remove(word, "ing"),48.2);                  // word ends in -nting 48.2
-        else if(word.endsWith("ntings"))                            return new Word(remove(word, "ings"),48.2); 		// word ends in -nting 48.2
-        /***********************************************************************************************************/
-
-        else if(word.endsWith("cting"))                             return new Word(remove(word, "ing"),48.1);                  // word ends in -cting 48.1
-
-        /***********************************************************************************************************/
-        // plural change - this differs from Perl v1.03
-        else if(word.endsWith("ting"))                              return new Word(remove(word, "ing")+"e", 48);               // word ends in -ting 48
-        else if(word.endsWith("tings"))                             return new Word(remove(word, "ings")+"e", 48);              // word ends in -ting 48
-        /***********************************************************************************************************/
-
-        else if(word.endsWith("ssed"))                              return new Word(remove(word, "ed"),49); 			// word ends in -ssed 49
-        else if(word.endsWith("les"))                               return new Word(remove(word, "s"),50); 			// word ends in -les 50
-        else if(word.endsWith("tes"))                               return new Word(remove(word, "s"),51); 			// word ends in -tes 51
-        else if(word.endsWith("zed"))                               return new Word(remove(word, "d"),52); 			// word ends in -zed 52
-        else if(word.endsWith("lled"))                              return new Word(remove(word, "ed"),53); 			// word ends in -lled 53
-
-        /***********************************************************************************************************/
-        // plural change - this differs from Perl v1.03
-        else if(word.endsWith("iring"))                             return new Word(word.replaceFirst("ing", "e"),54.4);
-        else if(word.endsWith("irings"))                            return new Word(word.replaceFirst("ings", "e"),54.4);
-
-        else if(word.endsWith("uring"))                             return new Word(word.replaceFirst("ing", "e"),54.3);
-        else if(word.endsWith("urings"))                            return new Word(word.replaceFirst("ings", "e"),54.3);
-
-        else if(word.endsWith("ncing"))                             return new Word(word.replaceFirst("ing", "e"),54.2);
-        else if(word.endsWith("ncings"))                            return new Word(word.replaceFirst("ings", "e"),54.2);
-        /***********************************************************************************************************/
-
-        else if(word.endsWith("zing"))                              return new Word(word.replaceFirst("ing", "e"),54.1);
-
-        /***********************************************************************************************************/
-        // plural change - this differs from Perl v1.03
-        else if(word.endsWith("sing"))                              return new Word(word.replaceFirst("ing", "e"),54);
-        else if(word.endsWith("sings"))                             return new Word(word.replaceFirst("ings", "e"),54);
-        /***********************************************************************************************************/
-
-        else if(word.endsWith("lling"))                             return new Word(remove(word, "ing"),55);
-        else if(word.endsWith("ied"))                               return new Word(word.replaceFirst("ied", "y"),56);
-        else if(word.endsWith("ating"))                             return new Word(word.replaceFirst("ing", "e"),57);
-
-
-        /***********************************************************************************************************/
-        // plural change - this differs from Perl v1.03
-        else if(word.endsWith("thing"))                             return new Word(word, 58.1);
-
-        // the word "things" was being caught by 58.1 so have added this rule, this should really have been caught by 68 but that wasn't happening
-        else if(word.endsWith("things"))                            return new Word(remove(word, "s"),58.1);
-
-        else if(word.matches( ".*\\w\\wings?$") )                   return new Word(rule58(word),58);
-        /***********************************************************************************************************/
-
-        else if(word.endsWith("ies"))                               return new Word(word.replaceFirst("ies", "y"),59);
-        else if(word.endsWith("lves"))                              return new Word(word.replaceFirst("ves", "f"),60.1);
-        else if(word.endsWith("ves"))                               return new Word(remove(word, "s"),60);
-        else if(word.endsWith("aped"))                              return new Word(remove(word, "d"),61.3);
-        else if(word.endsWith("uded"))                              return new Word(remove(word, "d"),61.2);
-        else if(word.endsWith("oded"))                              return new Word(remove(word, "d"),61.1);
-        else if(word.endsWith("ated"))                              return new Word(remove(word, "d"),61);
-        else if(word.matches( ".*\\w\\weds?$"))                     return new Word(rule62( word ),62);
-        else if(word.endsWith("pes"))                               return new Word(remove(word, "s"),63.8);
-        else if(word.endsWith("mes"))                               return new Word(remove(word, "s"),63.7);
-        else if(word.endsWith("ones"))                              return new Word(remove(word, "s"),63.6);
-        else if(word.endsWith("izes"))                              return new Word(remove(word, "s"),63.5);
-        else if(word.endsWith("ures"))                              return new Word(remove(word, "s"),63.4);
-        else if(word.endsWith("ines"))                              return new Word(remove(word, "s"),63.3);
-        else if(word.endsWith("ides"))                              return new Word(remove(word, "s"),63.2);
-        else if(word.endsWith("ges"))                               return new Word(remove(word, "s"),63.1);
-        else if(word.endsWith("es"))                                return new Word(remove(word, "es"),63);
-        else if(word.endsWith("is"))                                return new Word(word.replaceFirst("is", "e"),64);
-        else if(word.endsWith("ous"))                               return new Word(word, 65);
-        else if(word.endsWith("ums"))                               return new Word(word, 66);
-        else if(word.endsWith("us"))                                return new Word(word, 66);
-        else if(word.endsWith("s"))                                 return new Word(remove(word, "s"),68);
+        return stem(word, config.get());
+    }
+    /**
+     * Stems a word with a given configuration.
+     * 
+     * @param word The word to be stemmed.
+     * @param config The configuration.
+     * @return The stemmed variant of the word.
+     */
+    Word stem(String word, StemmerConfig config)
+    {
+        StemStatistics statistics = config.getStatistics();
+        if(statistics == null)
+            return stemWord(word, config);
+        Word stemmed;
+        if(statistics.sample())
+        {
+            long start = System.nanoTime();
+            stemmed = stemWord(word, config);
+            statistics.record(stemmed.getRuleCode(), System.nanoTime() - start);
+        }
+        else
+        {
+            stemmed = stemWord(word, config);
+            statistics.record(stemmed.getRuleCode());
+        }
+        return stemmed;
+    }
+    private Word stemWord(String word, StemmerConfig config)
+    {
+        Lexicon lexicon = config.getLexicon();
+        if(lexicon != null)
+        {
+            Word stemmed = lexicon.get(word);
+            if(stemmed != null)
+                return stemmed;
+        }
+        Word problem = config.getRules().getProblemWord(word);
+        if(problem != null)
+            return problem;
+        else if(word.length() > config.getMaxWordLength())
+            return Word.of(word, Rules.TOO_LONG);
+        StemResult result = BUFFERS.get();
+        result.set(word);
+        // The lexicon and problem words are already consulted
+        int rule = applyRules(result, config, UNCLASSIFIED);
+        // Avoid a new string when the word has not changed
+        return Word.of(result.contentEquals(word) ? word : result.toString(), rule);
+    }
+    /**
+     * Stems a word into a reusable result, without allocating once the buffer
+     * of the result is large enough.
+     * 
+     * @param word The word to be stemmed; this should be lower-case.
+     * @param result The result, which receives the stem and the rule applied.
+     * @return The length of the stem.
+     */
+    public int stem(CharSequence word, StemResult result)
+    {
+        result.set(word);
+        stemResult(result, UNCLASSIFIED);
+        return result.length();
+    }
+    /**
+     * Stems a word into a reusable result, without allocating once the buffer
+     * of the result is large enough.
+     * 
+     * @param word The array holding the word to be stemmed; this should be
+     * lower-case.
+     * @param offset The offset of the word within the array.
+     * @param length The length of the word.
+     * @param result The result, which receives the stem and the rule applied.
+     * @return The length of the stem.
+     */
+    public int stem(char[] word, int offset, int length, StemResult result)
+    {
+        result.set(word, offset, length);
+        stemResult(result, UNCLASSIFIED);
+        return result.length();
+    }
+    /**
+     * Stems a word and interns the stem, without allocating a string; the ID
+     * stands for the stem, e.g. as the term of an index.
+     * 
+     * @param word The word to be stemmed; this should be lower-case.
+     * @param table The table interning the stem.
+     * @return The ID of the stem, or {@link StemTable#NO_ID} if the stem is
+     * new and the table is full.
+     */
+    public int stemToId(CharSequence word, StemTable table)
+    {
+        StemResult result = BUFFERS.get();
+        stem(word, result);
+        return table.intern(result);
+    }
+    /**
+     * Stems a word and interns the stem, without allocating a string; the ID
+     * stands for the stem, e.g. as the term of an index.
+     * 
+     * @param word The array holding the word to be stemmed; this should be
+     * lower-case.
+     * @param offset The offset of the word within the array.
+     * @param length The length of the word.
+     * @param table The table interning the stem.
+     * @return The ID of the stem, or {@link StemTable#NO_ID} if the stem is
+     * new and the table is full.
+     */
+    public int stemToId(char[] word, int offset, int length, StemTable table)
+    {
+        StemResult result = BUFFERS.get();
+        stem(word, offset, length, result);
+        return table.intern(result);
+    }
+    /**
+     * Stems a token of original case, classified by the tokenizer, into a
+     * reusable result; the token is not scanned again for its class. Unlike
+     * a token classified by the stemmer, a capitalised token starting a
+     * sentence is not taken to be a proper noun, but is stemmed as the word
+     * in lower-case.
+     * 
+     * @param word The array holding the token to be stemmed.
+     * @param offset The offset of the token within the array.
+     * @param length The length of the token.
+     * @param flags The flags of the token, as defined by {@link TokenClass},
+     * e.g. from a {@link CasePreservingTokenizer}.
+     * @param result The result, which receives the stem and the rule applied.
+     * @return The length of the stem.
+     */
+    public int stem(char[] word, int offset, int length, int flags, StemResult result)
+    {
+        result.set(word, offset, length);
+        stemResult(result, flags);
+        return result.length();
+    }
+    private void stemResult(StemResult result, int flags)
+    {
+        StemmerConfig config = this.config.get();
+        StemStatistics statistics = config.getStatistics();
+        if(statistics == null)
+            result.setRuleCode(stem(result, config, flags));
+        else if(statistics.sample())
+        {
+            long start = System.nanoTime();
+            result.setRuleCode(stem(result, config, flags));
+            statistics.record(result.getRuleCode(), System.nanoTime() - start);
+        }
         else
-            return new Word(word, 0);
+        {
+            result.setRuleCode(stem(result, config, flags));
+            statistics.record(result.getRuleCode());
+        }
     }
-    private String rule58(String word)
+    /**
+     * Stems an array of words in bulk; the results are identical to stemming
+     * each word in turn, without a word allocated per token.
+     * 
+     * @param in The words to be stemmed; these should be lower-case.
+     * @param outStems Receives the stem of each word, at the same index.
+     * @param outRules Receives the code of the rule applied to each word, at
+     * the same index; can be null.
+     */
+    public void stemAll(String[] in, String[] outStems, int[] outRules)
     {
-        return this.stemWithDuplicateCharacterCheck( word, "ing");
+        stemAll(in, 0, in.length, outStems, outRules);
     }
-    private String rule62(String word)
+    /**
+     * Stems a range of an array of words in bulk; the results are identical
+     * to stemming each word in turn, without a word allocated per token.
+     * Words are stemmed grouped by their last character, so consecutive words
+     * take the same path through the suffix rules.
+     * 
+     * @param in The words to be stemmed; these should be lower-case.
+     * @param offset The index of the first word.
+     * @param length The number of words.
+     * @param outStems Receives the stem of each word, at the same index.
+     * @param outRules Receives the code of the rule applied to each word, at
+     * the same index; can be null.
+     */
+    public void stemAll(String[] in, int offset, int length, String[] outStems, int[] outRules)
     {
-        return this.stemWithDuplicateCharacterCheck( word, "ed");
+        StemResult result = BUFFERS.get();
+        // Frequent words repeat within a batch, so the last word seen for each
+        // slot of a small table is remembered
+        int slots = Integer.highestOneBit(Math.max(1, Math.min(length, MAX_BATCH_MEMO)));
+        String[] memoWords = new String[slots];
+        String[] memoStems = new String[slots];
+        int[] memoRules = new int[slots];
+        StemmerConfig config = this.config.get();
+        StemStatistics statistics = config.getStatistics();
+        for(int index : groupByLastChar(in, offset, length))
+        {
+            long start = statistics != null && statistics.sample() ? System.nanoTime() : -1;
+            String word = in[index];
+            int hash = word.hashCode();
+            int slot = (hash ^ (hash >>> 16)) & (slots - 1);
+            if(!word.equals(memoWords[slot]))
+            {
+                result.set(word);
+                memoRules[slot] = stem(result, config, UNCLASSIFIED);
+                // Avoid a new string when the word has not changed
+                memoStems[slot] = result.contentEquals(word) ? word : result.toString();
+                memoWords[slot] = word;
+            }
+            outStems[index] = memoStems[slot];
+            if(outRules != null)
+                outRules[index] = memoRules[slot];
+            if(start != -1)
+                statistics.record(memoRules[slot], System.nanoTime() - start);
+            else if(statistics != null)
+                statistics.record(memoRules[slot]);
+        }
     }
-    private String stemWithDuplicateCharacterCheck(String word, String remove)
+    /**
+     * Stems a word in-place.
+     * 
+     * @param word The word to be stemmed.
+     * @param config The configuration.
+     * @param flags The flags of the word from the tokenizer, or
+     * {@link #UNCLASSIFIED}.
+     * @return The code of the rule applied.
+     */
+    private int stem(StemResult word, StemmerConfig config, int flags)
     {
-        if(word.endsWith("s"))
-            remove = remove.concat( "s");
-        String stemmed_word = remove(word, remove );
-        if(stemmed_word.matches( ".*(\\w)\\1$"))
-            stemmed_word = remove(stemmed_word, ".");
-        
-        return stemmed_word;
+        if(flags != UNCLASSIFIED && (flags & TokenClass.SENTENCE_INITIAL) != 0 && (flags & (TokenClass.INITIAL_UPPER | TokenClass.MULTIPLE_UPPER | TokenClass.ACRONYM)) == TokenClass.INITIAL_UPPER)
+        {
+            // Capitalised only as the first word of a sentence, so not taken
+            // to be a proper noun
+            word.getBuffer()[0] += 'a' - 'A';
+            flags &= ~(TokenClass.INITIAL_UPPER | TokenClass.ACRONYM_PLURAL);
+        }
+        Lexicon lexicon = config.getLexicon();
+        if(lexicon != null)
+        {
+            int rule = lexicon.stem(word);
+            if(rule != -1)
+                return rule;
+        }
+        if(config.getRules().getProblemWord(word) != null)
+            return Rules.PROBLEM_WORD;
+        else if(word.length() > config.getMaxWordLength())
+            return Rules.TOO_LONG;
+        return applyRules(word, config, flags);
     }
-    private String remove(String word, String suffix)
+    /**
+     * Stems a word in-place by the rules, once found to be neither within the
+     * lexicon, a problem word nor too long.
+     * 
+     * @param word The word to be stemmed.
+     * @param config The configuration.
+     * @param flags The flags of the word from the tokenizer, or
+     * {@link #UNCLASSIFIED}.
+     * @return The code of the rule applied.
+     */
+    private int applyRules(StemResult word, StemmerConfig config, int flags)
     {
-        return word.substring( 0, word.length() - suffix.length() );
+        if(word.indexOf('\'') != -1)
+        {                                                           // contains apostrophe(s) - remove and continue 94
+            // ^.*'[sS]$ and ^.*'$, without the regular expressions
+            int length = word.length();
+            if(length > 1 && word.charAt(length - 2) == '\'' && (word.charAt(length - 1) == 's' || word.charAt(length - 1) == 'S') && !hasLineTerminator(word, length - 2))
+                word.truncate(2);                                  // remove possessive singular
+            length = word.length();
+            if(length > 0 && word.charAt(length - 1) == '\'' && !hasLineTerminator(word, length - 1))
+                word.truncate(1);                                  // remove possessive plural
+            word.replaceAll("n't", "not");                         // expand contraction n't
+            word.replaceAll("'ve", "have");                        // expand contraction 've
+            word.replaceAll("'re", "are");                         // expand contraction 're
+            word.replaceAll("'m", "am");                           // expand contraction I'm
+
+            return Rules.APOSTROPHE;
+        }
+        if(flags == UNCLASSIFIED)
+            flags = CharClassifier.INSTANCE.classify(word.getBuffer(), 0, word.length());
+        if((flags & TokenClass.DIGITS) != 0)                        return Rules.DIGITS;
+        else if((flags & TokenClass.HYPHENATED_WORDS) != 0)         return Rules.HYPHENATED_WORDS;
+        else if((flags & TokenClass.HYPHEN) != 0)                   return Rules.HYPHEN;
+        else if((flags & TokenClass.UNDERSCORE) != 0)               return Rules.PROBLEM_WORD;
+        else if((flags & TokenClass.ACRONYM_PLURAL) != 0)
+        {
+            word.truncate(1);
+            return Rules.ACRONYM_PLURAL;
+        }
+        else if((flags & TokenClass.ACRONYM) != 0)                  return Rules.ACRONYM;
+        else if((flags & TokenClass.MULTIPLE_UPPER) != 0)           return Rules.PROPER_NOUN;
+        else if((flags & TokenClass.INITIAL_UPPER) != 0)            return Rules.PROPER_NOUN;
+        // should word be stemmed followed by call to private method with text to stem
+        else
+            return config.getRules().applySuffixRules(word);
     }
-    private boolean isProblemWord(String word)
+    /**
+     * Orders a range of words by their last character, with a counting sort;
+     * words not ending with a lower-case letter are grouped first.
+     * 
+     * @param words The words.
+     * @param offset The index of the first word.
+     * @param length The number of words.
+     * @return The indexes of the words, grouped by last character.
+     */
+    private static int[] groupByLastChar(String[] words, int offset, int length)
+    {
+        int[] starts = new int[28];
+        for(int i = offset; i < offset + length; i++)
+            starts[lastCharGroup(words[i]) + 1]++;
+        for(int i = 1; i < starts.length; i++)
+            starts[i] += starts[i - 1];
+        int[] order = new int[length];
+        for(int i = offset; i < offset + length; i++)
+            order[starts[lastCharGroup(words[i])]++] = i;
+        return order;
+    }
+    private static int lastCharGroup(String word)
     {
-        return word.equals("is") || word.equals("as") || word.equals("this") || word.equals("has") || word.equals("was") || word.equals("during");
+        int length = word.length();
+        if(length == 0)
+            return 0;
+        char c = word.charAt(length - 1);
+        return c >= 'a' && c <= 'z' ? c - 'a' + 1 : 0;
     }
     // Methods - Accessors *****************************************************
+    /**
+     * @return The current configuration of the stemmer.
+     */
+    public StemmerConfig getConfig()
+    {
+        return config.get();
+    }
     /**
      * @return The maximum length of a word to be stemmed.
      */
     public int getMaxWordLength()
     {
-        return maxWordLength;
+        return config.get().getMaxWordLength();
     }
     /**
      * @return The maximum length of an acronym to be stemmed.
      */
     public int getMaxAcronymLength()
     {
-        return maxAcronymLength;
+        return config.get().getMaxAcronymLength();
+    }
+    /**
+     * @return The problem words and suffix rules.
+     */
+    public RuleSet getRules()
+    {
+        return config.get().getRules();
+    }
+    /**
+     * @return The lexicon consulted before the rules, or null if none.
+     */
+    public Lexicon getLexicon()
+    {
+        return config.get().getLexicon();
+    }
+    /**
+     * @return The statistics recorded by the stemmer, or null if disabled.
+     */
+    public StemStatistics getStatistics()
+    {
+        return config.get().getStatistics();
     }
     // Methods - Mutators ******************************************************
     /**
+     * Replaces the configuration of the stemmer, atomically.
+     * 
+     * @param config The new configuration.
+     */
+    public void setConfig(StemmerConfig config)
+    {
+        if(config == null)
+            throw new IllegalArgumentException("Configuration cannot be null!");
+        this.config.set(config);
+    }
+    /**
+     * Alters the maximum length of a word to be stemmed; any lexicon must be
+     * built for the same length, so the lexicon and length are changed
+     * together through {@link #setConfig}.
+     * 
      * @param length The maximum length of a word to be stemmed.
+     * @throws IllegalArgumentException Thrown if the lexicon was built with a
+     * different maximum word length.
      */
-    public void setMaxWordLength(int length)
+    public void setMaxWordLength(final int length)
     {
-        maxWordLength = length;
+        config.updateAndGet(current -> current.toBuilder().setMaxWordLength(length).build());
     }
     /**
      * @param length The maximum length of an acronym to be stemmed.
      */
-    public void setMaxAcronymLength(int length)
+    public void setMaxAcronymLength(final int length)
+    {
+        config.updateAndGet(current -> current.toBuilder().setMaxAcronymLength(length).build());
+    }
+    /**
+     * Replaces the problem words and suffix rules; a lexicon must be built
+     * with the same rules, as it is consulted first.
+     * 
+     * @param rules The rules, e.g. loaded with {@link RuleSet#load}.
+     * @throws IllegalArgumentException Thrown if the lexicon was built with
+     * different rules.
+     */
+    public void setRules(final RuleSet rules)
+    {
+        config.updateAndGet(current -> current.toBuilder().setRules(rules).build());
+    }
+    /**
+     * Sets a lexicon of precomputed stems, consulted before the rules; words
+     * not within the lexicon are stemmed by the rules.
+     * 
+     * @param lexicon The lexicon, or null to stem by the rules alone.
+     * @throws IllegalArgumentException Thrown if the lexicon was built with a
+     * different maximum word length or different rules.
+     */
+    public void setLexicon(final Lexicon lexicon)
+    {
+        config.updateAndGet(current -> current.toBuilder().setLexicon(lexicon).build());
+    }
+    /**
+     * Enables the recording of the rule applied to each word stemmed and the
+     * time taken; disabled by default, in which case stemming is unaffected.
+     * 
+     * @param statistics The statistics recorded to, or null to disable.
+     */
+    public void setStatistics(final StemStatistics statistics)
     {
-        maxAcronymLength = length;
+        config.updateAndGet(current -> current.toBuilder().setStatistics(statistics).build());
     }
 }
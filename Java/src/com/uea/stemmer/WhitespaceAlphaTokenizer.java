@@ -25,25 +25,22 @@
  *******************************************************************************
  * Change-log:
  *      2013-11-30      New headers.
+ *      2026-10-18      Single-pass scanner replacing the regular expression.
+ *                      Streaming tokenization.
+ *                      Tokenization of UTF-8 bytes.
+ *                      Vectorized classification of characters where available.
  *******************************************************************************
  */
 package com.uea.stemmer;
 
-import java.util.ArrayList;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * A tokenizer which generates tokens from whitespace for alpha characters only.
  */
-public class WhitespaceAlphaTokenizer implements Tokenizer
+public class WhitespaceAlphaTokenizer implements StreamingTokenizer, ByteTokenizer
 {
-    // Constants ***************************************************************
-    private static final Pattern pws;
-    static
-    {
-        pws = Pattern.compile("([a-zA-Z]+)", Pattern.MULTILINE);
-    }
     // Methods - Constructors **************************************************
     public WhitespaceAlphaTokenizer()
     { }
@@ -57,10 +54,188 @@ public class WhitespaceAlphaTokenizer implements Tokenizer
     @Override
     public String[] tokenize(String data)
     {
-        ArrayList<String> matches = new ArrayList<>();
-        Matcher m =  pws.matcher(data);
-        while(m.find())
-            matches.add(m.group(1).toLowerCase());
-        return matches.toArray(new String[matches.size()]);
+        char[] chars = data.toCharArray();
+        if(CharClassifier.INSTANCE.isVectorized())
+            return tokenizeBulk(chars);
+        int length = chars.length;
+        // Count the tokens, so the result is sized exactly
+        int count = 0;
+        for(int i = 0; i < length; i++)
+        {
+            if(isAlpha(chars[i]) && (i == 0 || !isAlpha(chars[i - 1])))
+                count++;
+        }
+        // Generate the tokens, lower-casing in the same pass
+        String[] tokens = new String[count];
+        int i = 0;
+        for(int t = 0; t < count; t++)
+        {
+            while(!isAlpha(chars[i]))
+                i++;
+            int start = i;
+            for(; i < length && isAlpha(chars[i]); i++)
+            {
+                if(chars[i] <= 'Z')
+                    chars[i] = (char)(chars[i] + ('a' - 'A'));
+            }
+            tokens[t] = new String(chars, start, i - start);
+        }
+        return tokens;
+    }
+    /**
+     * Tokenizes a buffer of characters by generating tokens from white-space.
+     * 
+     * @param data The array holding the characters.
+     * @param offset The offset of the characters within the array.
+     * @param length The number of characters.
+     * @param endOfInput Indicates if no characters follow the buffer.
+     * @param handler The handler of the tokens, lower-case.
+     * @return The number of characters consumed.
+     * @throws IOException Thrown by the handler.
+     */
+    @Override
+    public int tokenize(char[] data, int offset, int length, boolean endOfInput, TokenHandler handler) throws IOException
+    {
+        if(CharClassifier.INSTANCE.isVectorized())
+            return tokenizeBulk(data, offset, length, endOfInput, handler);
+        int end = offset + length;
+        int i = offset;
+        while(true)
+        {
+            while(i < end && !isAlpha(data[i]))
+                i++;
+            if(i == end)
+                return length;
+            int start = i;
+            while(i < end && isAlpha(data[i]))
+                i++;
+            if(i == end && !endOfInput)
+                return start - offset;
+            for(int j = start; j < i; j++)
+            {
+                if(data[j] <= 'Z')
+                    data[j] = (char)(data[j] + ('a' - 'A'));
+            }
+            handler.token(data, start, i - start);
+        }
+    }
+    /**
+     * Tokenizes characters with a vectorized classifier, which finds the
+     * bounds of many tokens at a time; the result is identical to
+     * {@link #tokenize(String)}.
+     */
+    private String[] tokenizeBulk(char[] chars)
+    {
+        CharClassifier classifier = CharClassifier.INSTANCE;
+        int[] bounds = new int[WhitespaceTokenizer.BOUNDS_SIZE];
+        // Count the tokens, so the result is sized exactly
+        int count = 0;
+        int found;
+        for(int i = 0; (found = classifier.findTokens(chars, i, chars.length, true, bounds, 0)) > 0; i = bounds[found * 2 - 1])
+            count += found;
+        // Generate the tokens
+        String[] tokens = new String[count];
+        int t = 0;
+        for(int i = 0; t < count; i = bounds[found * 2 - 1])
+        {
+            found = classifier.findTokens(chars, i, chars.length, true, bounds, 0);
+            for(int j = 0; j < found; j++, t++)
+            {
+                int start = bounds[j * 2];
+                int end = bounds[j * 2 + 1];
+                classifier.toLowerCase(chars, start, end);
+                tokens[t] = new String(chars, start, end - start);
+            }
+        }
+        return tokens;
+    }
+    /**
+     * Tokenizes a buffer of characters with a vectorized classifier, which
+     * finds the bounds of many tokens at a time; the result is identical to
+     * {@link #tokenize(char[], int, int, boolean, TokenHandler)}.
+     */
+    private int tokenizeBulk(char[] data, int offset, int length, boolean endOfInput, TokenHandler handler) throws IOException
+    {
+        CharClassifier classifier = CharClassifier.INSTANCE;
+        int[] bounds = new int[WhitespaceTokenizer.BOUNDS_SIZE];
+        int end = offset + length;
+        int i = offset;
+        while(true)
+        {
+            int count = classifier.findTokens(data, i, end, true, bounds, 0);
+            for(int t = 0; t < count; t++)
+            {
+                int start = bounds[t * 2];
+                i = bounds[t * 2 + 1];
+                if(i == end && !endOfInput)
+                    return start - offset;
+                classifier.toLowerCase(data, start, i);
+                handler.token(data, start, i - start);
+            }
+            if(count * 2 < bounds.length)
+                return length;
+        }
+    }
+    /**
+     * Tokenizes UTF-8 bytes by generating tokens from white-space; as tokens
+     * are ASCII only, no decoding is required.
+     * 
+     * @param data The bytes to be tokenized.
+     * @param endOfInput Indicates if no bytes follow the buffer.
+     * @param handler The handler of the tokens, lower-case.
+     * @throws IOException Thrown by the handler.
+     */
+    @Override
+    public void tokenize(ByteBuffer data, boolean endOfInput, TokenHandler handler) throws IOException
+    {
+        char[] chars = new char[64];
+        int end = data.limit();
+        int i = data.position();
+        while(true)
+        {
+            while(i < end && !isAlpha(data.get(i)))
+                i++;
+            if(i == end)
+            {
+                data.position(end);
+                return;
+            }
+            int start = i;
+            while(i < end && isAlpha(data.get(i)))
+                i++;
+            if(i == end && !endOfInput)
+            {
+                data.position(start);
+                return;
+            }
+            int length = i - start;
+            if(length > chars.length)
+                chars = new char[Math.max(length, chars.length * 2)];
+            for(int j = 0; j < length; j++)
+            {
+                byte b = data.get(start + j);
+                chars[j] = (char)(b <= 'Z' ? b + ('a' - 'A') : b);
+            }
+            handler.token(chars, 0, length);
+        }
+    }
+    // Methods - Static ********************************************************
+    /**
+     * @param c The character to be tested.
+     * @return True if the character is matched by the regular expression
+     * [a-zA-Z].
+     */
+    static boolean isAlpha(char c)
+    {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+    /**
+     * @param b The byte to be tested.
+     * @return True if the byte is an ASCII character matched by the regular
+     * expression [a-zA-Z].
+     */
+    static boolean isAlpha(byte b)
+    {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z');
     }
 }
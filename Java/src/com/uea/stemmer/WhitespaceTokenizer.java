@@ -25,13 +25,18 @@
  *******************************************************************************
  * Change-log:
  *      2013-11-30      New headers.
+ *      2026-10-18      Single-pass scanner replacing the regular expression.
+ *                      Streaming tokenization.
+ *                      Tokenization of UTF-8 bytes.
+ *                      Vectorized classification of characters where available.
  *******************************************************************************
  */
 package com.uea.stemmer;
 
-import java.util.ArrayList;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
 
 /**
  * A tokenizer which generates tokens from whitespace.
@@ -39,14 +44,14 @@ import java.util.regex.Pattern;
  * @author  Marcus Craske       marcus.craske@uea.ac.uk
  * @version 1.0
  */
-public class WhitespaceTokenizer implements Tokenizer
+public class WhitespaceTokenizer implements StreamingTokenizer, ByteTokenizer
 {
     // Constants ***************************************************************
-    private static final Pattern pws;
-    static
-    {
-        pws = Pattern.compile("([^\\s]+)");
-    }
+    /**
+     * The number of tokens found at a time by a vectorized classifier, as
+     * pairs of bounds.
+     */
+    static final int BOUNDS_SIZE = 512 * 2;
     // Methods - Constructors **************************************************
     public WhitespaceTokenizer()
     { }
@@ -60,10 +65,225 @@ public class WhitespaceTokenizer implements Tokenizer
     @Override
     public String[] tokenize(String data)
     {
-        ArrayList<String> matches = new ArrayList<>();
-        Matcher m =  pws.matcher(data);
-        while(m.find())
-            matches.add(m.group(1).toLowerCase());
-        return matches.toArray(new String[matches.size()]);
+        char[] chars = data.toCharArray();
+        if(CharClassifier.INSTANCE.isVectorized())
+            return tokenizeBulk(chars);
+        int length = chars.length;
+        // Count the tokens, so the result is sized exactly
+        int count = 0;
+        for(int i = 0; i < length; i++)
+        {
+            if(!isWhitespace(chars[i]) && (i == 0 || isWhitespace(chars[i - 1])))
+                count++;
+        }
+        // Generate the tokens, lower-casing ASCII in the same pass; any other
+        // characters are lower-cased independent of the default locale
+        String[] tokens = new String[count];
+        int i = 0;
+        for(int t = 0; t < count; t++)
+        {
+            while(isWhitespace(chars[i]))
+                i++;
+            int start = i;
+            boolean ascii = true;
+            for(; i < length && !isWhitespace(chars[i]); i++)
+            {
+                char c = chars[i];
+                if(c >= 'A' && c <= 'Z')
+                    chars[i] = (char)(c + ('a' - 'A'));
+                else if(c > 0x7F)
+                    ascii = false;
+            }
+            String token = new String(chars, start, i - start);
+            tokens[t] = ascii ? token : token.toLowerCase(Locale.ROOT);
+        }
+        return tokens;
+    }
+    /**
+     * Tokenizes a buffer of characters by generating tokens from white-space.
+     * 
+     * @param data The array holding the characters.
+     * @param offset The offset of the characters within the array.
+     * @param length The number of characters.
+     * @param endOfInput Indicates if no characters follow the buffer.
+     * @param handler The handler of the tokens, lower-case.
+     * @return The number of characters consumed.
+     * @throws IOException Thrown by the handler.
+     */
+    @Override
+    public int tokenize(char[] data, int offset, int length, boolean endOfInput, TokenHandler handler) throws IOException
+    {
+        if(CharClassifier.INSTANCE.isVectorized())
+            return tokenizeBulk(data, offset, length, endOfInput, handler);
+        int end = offset + length;
+        int i = offset;
+        while(true)
+        {
+            while(i < end && isWhitespace(data[i]))
+                i++;
+            if(i == end)
+                return length;
+            int start = i;
+            while(i < end && !isWhitespace(data[i]))
+                i++;
+            if(i == end && !endOfInput)
+                return start - offset;
+            boolean ascii = true;
+            for(int j = start; j < i; j++)
+            {
+                char c = data[j];
+                if(c >= 'A' && c <= 'Z')
+                    data[j] = (char)(c + ('a' - 'A'));
+                else if(c > 0x7F)
+                    ascii = false;
+            }
+            if(ascii)
+                handler.token(data, start, i - start);
+            else
+            {
+                char[] token = new String(data, start, i - start).toLowerCase(Locale.ROOT).toCharArray();
+                handler.token(token, 0, token.length);
+            }
+        }
+    }
+    /**
+     * Tokenizes characters with a vectorized classifier, which finds the
+     * bounds of many tokens at a time; the result is identical to
+     * {@link #tokenize(String)}.
+     */
+    private String[] tokenizeBulk(char[] chars)
+    {
+        CharClassifier classifier = CharClassifier.INSTANCE;
+        int[] bounds = new int[BOUNDS_SIZE];
+        // Count the tokens, so the result is sized exactly
+        int count = 0;
+        int found;
+        for(int i = 0; (found = classifier.findTokens(chars, i, chars.length, false, bounds, 0)) > 0; i = bounds[found * 2 - 1])
+            count += found;
+        // Generate the tokens
+        String[] tokens = new String[count];
+        int t = 0;
+        for(int i = 0; t < count; i = bounds[found * 2 - 1])
+        {
+            found = classifier.findTokens(chars, i, chars.length, false, bounds, 0);
+            for(int j = 0; j < found; j++, t++)
+            {
+                int start = bounds[j * 2];
+                int end = bounds[j * 2 + 1];
+                boolean ascii = classifier.toLowerCase(chars, start, end);
+                String token = new String(chars, start, end - start);
+                tokens[t] = ascii ? token : token.toLowerCase(Locale.ROOT);
+            }
+        }
+        return tokens;
+    }
+    /**
+     * Tokenizes a buffer of characters with a vectorized classifier, which
+     * finds the bounds of many tokens at a time; the result is identical to
+     * {@link #tokenize(char[], int, int, boolean, TokenHandler)}.
+     */
+    private int tokenizeBulk(char[] data, int offset, int length, boolean endOfInput, TokenHandler handler) throws IOException
+    {
+        CharClassifier classifier = CharClassifier.INSTANCE;
+        int[] bounds = new int[BOUNDS_SIZE];
+        int end = offset + length;
+        int i = offset;
+        while(true)
+        {
+            int count = classifier.findTokens(data, i, end, false, bounds, 0);
+            for(int t = 0; t < count; t++)
+            {
+                int start = bounds[t * 2];
+                i = bounds[t * 2 + 1];
+                if(i == end && !endOfInput)
+                    return start - offset;
+                if(classifier.toLowerCase(data, start, i))
+                    handler.token(data, start, i - start);
+                else
+                {
+                    char[] token = new String(data, start, i - start).toLowerCase(Locale.ROOT).toCharArray();
+                    handler.token(token, 0, token.length);
+                }
+            }
+            if(count * 2 < bounds.length)
+                return length;
+        }
+    }
+    /**
+     * Tokenizes UTF-8 bytes by generating tokens from white-space.
+     * 
+     * @param data The bytes to be tokenized.
+     * @param endOfInput Indicates if no bytes follow the buffer.
+     * @param handler The handler of the tokens, lower-case.
+     * @throws IOException Thrown by the handler.
+     */
+    @Override
+    public void tokenize(ByteBuffer data, boolean endOfInput, TokenHandler handler) throws IOException
+    {
+        char[] chars = new char[64];
+        int end = data.limit();
+        int i = data.position();
+        while(true)
+        {
+            while(i < end && isWhitespace(data.get(i)))
+                i++;
+            if(i == end)
+            {
+                data.position(end);
+                return;
+            }
+            int start = i;
+            boolean ascii = true;
+            byte b;
+            while(i < end && !isWhitespace(b = data.get(i)))
+            {
+                ascii &= b >= 0;
+                i++;
+            }
+            if(i == end && !endOfInput)
+            {
+                data.position(start);
+                return;
+            }
+            int length = i - start;
+            if(ascii)
+            {
+                // ASCII is widened directly, without decoding
+                if(length > chars.length)
+                    chars = new char[Math.max(length, chars.length * 2)];
+                for(int j = 0; j < length; j++)
+                {
+                    b = data.get(start + j);
+                    chars[j] = (char)(b >= 'A' && b <= 'Z' ? b + ('a' - 'A') : b);
+                }
+                handler.token(chars, 0, length);
+            }
+            else
+            {
+                byte[] bytes = new byte[length];
+                for(int j = 0; j < length; j++)
+                    bytes[j] = data.get(start + j);
+                char[] token = new String(bytes, StandardCharsets.UTF_8).toLowerCase(Locale.ROOT).toCharArray();
+                handler.token(token, 0, token.length);
+            }
+        }
+    }
+    // Methods - Static ********************************************************
+    /**
+     * @param c The character to be tested.
+     * @return True if the character is matched by the regular expression \s.
+     */
+    static boolean isWhitespace(char c)
+    {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+    /**
+     * @param b The byte to be tested.
+     * @return True if the byte is an ASCII character matched by the regular
+     * expression \s.
+     */
+    static boolean isWhitespace(byte b)
+    {
+        return b == ' ' || (b >= '\t' && b <= '\r');
     }
 }
@@ -25,23 +25,65 @@
  *******************************************************************************
  * Change-log:
  *      2013-11-30      New headers.
+ *      2026-10-18      Rules held as integer codes.
+ *                      Rules checked when constructed.
+ *                      Words unchanged by the stemmer shared.
  *******************************************************************************
  */
 package com.uea.stemmer;
 
 /**
  * Represents a stemmed word.
+ * 
+ * Words left unchanged by the stemmer (rules 0, 90 and 95) are shared by
+ * {@link #of}, through a small direct-mapped table, so frequent words retain
+ * a single instance.
  */
 public class Word
 {
+    // Constants ***************************************************************
+    private static final int SHARED_SLOTS = 8192;
+    private static final Word[] SHARED = new Word[SHARED_SLOTS];
     // Fields ******************************************************************
-    private String  word;
-    private double  ruleNum;
+    private final String    word;
+    private final int       ruleCode;
     // Methods - Constructors **************************************************
+    /**
+     * @param word The stemmed word.
+     * @param ruleNum The decimal number of the rule applied, e.g. 11.4; a
+     * number not of a rule, as defined by {@link Rules}, is held as
+     * {@link Rules#UNKNOWN}.
+     */
     public Word(String word, double ruleNum)
+    {
+        this(word, Rules.find(ruleNum));
+    }
+    private Word(String word, int ruleCode)
     {
         this.word = word;
-        this.ruleNum = ruleNum;
+        this.ruleCode = ruleCode;
+    }
+    // Methods - Static ********************************************************
+    /**
+     * @param word The stemmed word.
+     * @param ruleCode The code of the rule applied, as defined by {@link Rules}.
+     * @return A stemmed word.
+     * @throws IllegalArgumentException Thrown if the code is not of a rule.
+     */
+    public static Word of(String word, int ruleCode)
+    {
+        if(ruleCode < 0 || ruleCode >= Rules.count())
+            throw new IllegalArgumentException("Rule code " + ruleCode + " does not exist!");
+        if(ruleCode != Rules.NONE && ruleCode != Rules.PROBLEM_WORD && ruleCode != Rules.TOO_LONG)
+            return new Word(word, ruleCode);
+        // Words are immutable, so the table is read and written without
+        // synchronisation; a lost write only costs an instance
+        int hash = word.hashCode() * 31 + ruleCode;
+        int slot = (hash ^ (hash >>> 16)) & (SHARED_SLOTS - 1);
+        Word shared = SHARED[slot];
+        if(shared == null || shared.ruleCode != ruleCode || !shared.word.equals(word))
+            SHARED[slot] = shared = new Word(word, ruleCode);
+        return shared;
     }
     // Methods - Accessors *****************************************************
     /**
@@ -53,10 +95,19 @@ public class Word
     }
     /**
      * @return The rule applied whilst stemming; zero (0) indicats no stemming
-     * occurred.
+     * occurred, and {@link Double#NaN} a rule not known.
      */
     public double getRule()
     {
-        return ruleNum;
+        return Rules.label(ruleCode);
+    }
+    /**
+     * @return The code of the rule applied whilst stemming, as defined by
+     * {@link Rules}; zero (0) indicates no stemming occurred, and
+     * {@link Rules#UNKNOWN} a rule not known.
+     */
+    public int getRuleCode()
+    {
+        return ruleCode;
     }
 }
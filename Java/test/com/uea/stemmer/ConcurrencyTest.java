@@ -0,0 +1,273 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests sharing an instance of the stemmer: seven threads stem words, through
+ * each path of a {@link UEALite} and a {@link CachingUEALite}, whilst another
+ * thread swaps their configurations. Every stem must be that of the
+ * configuration held throughout stemming, as stemmed by an instance of its
+ * own, or of any configuration when swapped meanwhile; every batch stemmed by
+ * {@link UEALite#stemAll} must be that of a single configuration.
+ * 
+ * The configurations differ in the maximum word and acronym lengths, and in
+ * the lexicon and statistics.
+ */
+public class ConcurrencyTest
+{
+    // Constants ***************************************************************
+    private static final int STEMMING_THREADS = 7;
+    private static final int BATCH_SIZE = 256;
+    private static final int CACHE_CAPACITY = 4096;
+    private static final int VOCABULARY_SIZE = 20000;
+    private static final long DURATION_MILLIS = 2000;
+    private static final long SEED = 20131130L;
+    // Fields ******************************************************************
+    private String[]                        vocabulary;
+    private HashMap<String, Integer>        indexes;
+    private StemmerConfig[]                 configs;
+    private String[][]                      stems;
+    private int[][]                         rules;
+    private UEALite                         stemmer;
+    private CachingUEALite                  caching;
+    private final AtomicReference<String>   failure = new AtomicReference<>();
+    private volatile boolean                running = true;
+    private volatile long                   generation;     // Odd whilst swapping, otherwise twice the swaps
+    // Methods *****************************************************************
+    @Test
+    public void sharedStemmerWithSwappedConfigurations(@TempDir Path dir) throws IOException, InterruptedException
+    {
+        vocabulary = TestText.vocabulary(VOCABULARY_SIZE, SEED);
+        indexes = new HashMap<>(vocabulary.length * 2);
+        for(int i = 0; i < vocabulary.length; i++)
+            indexes.put(vocabulary[i], i);
+        // The lexicon holds the most frequent words, stemmed as by the default
+        // configuration
+        File file = dir.resolve("words.lexicon").toFile();
+        Lexicon.write(new UEALite(), Arrays.asList(vocabulary).subList(0, vocabulary.length / 10), file);
+        configs = new StemmerConfig[] {
+            StemmerConfig.DEFAULT,
+            StemmerConfig.builder().setMaxWordLength(6).setMaxAcronymLength(3).build(),
+            StemmerConfig.builder().setLexicon(Lexicon.load(file)).setStatistics(new StemStatistics()).build()
+        };
+        // Expect the stems of an instance of each configuration alone
+        stems = new String[configs.length][vocabulary.length];
+        rules = new int[configs.length][vocabulary.length];
+        for(int c = 0; c < configs.length; c++)
+        {
+            UEALite alone = new UEALite(configs[c].toBuilder().setStatistics(null).build());
+            for(int i = 0; i < vocabulary.length; i++)
+            {
+                Word stemmed = alone.stem(vocabulary[i]);
+                stems[c][i] = stemmed.getWord();
+                rules[c][i] = stemmed.getRuleCode();
+            }
+        }
+        stemmer = new UEALite(configs[0]);
+        caching = new CachingUEALite(configs[0], CACHE_CAPACITY);
+        // Stem and swap until failing or out of time
+        Thread[] threads = new Thread[STEMMING_THREADS + 1];
+        for(int i = 0; i < STEMMING_THREADS; i++)
+        {
+            final int path = i;
+            threads[i] = new Thread(() -> stem(path), "stemmer-" + i);
+        }
+        threads[STEMMING_THREADS] = new Thread(this::swap, "configurer");
+        for(Thread thread : threads)
+        {
+            thread.setUncaughtExceptionHandler((t, e) -> fail(t.getName() + ": " + e));
+            thread.start();
+        }
+        Thread.sleep(DURATION_MILLIS);
+        running = false;
+        for(Thread thread : threads)
+            thread.join();
+        assertNull(failure.get());
+    }
+    @Test
+    public void setMaxWordLengthRejectsLexiconOfOtherLength(@TempDir Path dir) throws IOException
+    {
+        File file = dir.resolve("words.lexicon").toFile();
+        Lexicon.write(new UEALite(), Arrays.asList("running", "cats"), file);
+        UEALite stemmer = new UEALite();
+        stemmer.setLexicon(Lexicon.load(file));
+        StemmerConfig config = stemmer.getConfig();
+        assertThrows(IllegalArgumentException.class, () -> stemmer.setMaxWordLength(UEALite.DEFAULT_MAX_WORD_LENGTH + 1));
+        assertSame(config, stemmer.getConfig());
+        stemmer.setMaxWordLength(UEALite.DEFAULT_MAX_WORD_LENGTH);
+        assertEquals(config.getLexicon(), stemmer.getLexicon());
+    }
+    private void swap()
+    {
+        long swaps = 0;
+        while(running && failure.get() == null)
+        {
+            StemmerConfig config = configs[(int)(++swaps % configs.length)];
+            generation++;
+            stemmer.setConfig(config);
+            caching.setConfig(config);
+            generation++;
+            Thread.yield();
+        }
+    }
+    private void stem(int path)
+    {
+        Random random = new Random(SEED + path);
+        StemResult result = new StemResult();
+        String[] words = new String[BATCH_SIZE];
+        String[] outStems = new String[BATCH_SIZE];
+        int[] outRules = new int[BATCH_SIZE];
+        while(running && failure.get() == null)
+        {
+            for(int i = 0; i < words.length; i++)
+                words[i] = TestText.word(vocabulary, random);
+            long before;
+            int config;
+            switch(path)
+            {
+                case 0:
+                    for(String word : words)
+                    {
+                        before = generation;
+                        Word stemmed = stemmer.stem(word);
+                        check(path, word, stemmed.getWord(), stemmed.getRuleCode(), configuration(before));
+                    }
+                    break;
+                case 1:
+                    for(String word : words)
+                    {
+                        before = generation;
+                        stemmer.stem(word, result);
+                        check(path, word, result.toString(), result.getRuleCode(), configuration(before));
+                    }
+                    break;
+                case 2:
+                    for(String word : words)
+                    {
+                        char[] chars = ("  " + word).toCharArray();
+                        before = generation;
+                        stemmer.stem(chars, 2, word.length(), result);
+                        check(path, word, result.toString(), result.getRuleCode(), configuration(before));
+                    }
+                    break;
+                case 3:
+                    before = generation;
+                    stemmer.stemAll(words, outStems, outRules);
+                    config = configuration(before);
+                    // A batch is stemmed with a single configuration
+                    int batch = -1;
+                    for(int i = 0; i < words.length; i++)
+                        batch &= check(path, words[i], outStems[i], outRules[i], config);
+                    if(batch == 0)
+                        fail("stemmer-" + path + ": batch stemmed with more than one configuration");
+                    break;
+                case 4:
+                    for(String word : words)
+                    {
+                        before = generation;
+                        Word stemmed = caching.stem(word);
+                        check(path, word, stemmed.getWord(), stemmed.getRuleCode(), configuration(before));
+                    }
+                    break;
+                case 5:
+                    before = generation;
+                    caching.stemAll(words, outStems, outRules);
+                    config = configuration(before);
+                    for(int i = 0; i < words.length; i++)
+                        check(path, words[i], outStems[i], outRules[i], config);
+                    break;
+                default:
+                    for(String word : words)
+                    {
+                        char[] chars = word.toCharArray();
+                        before = generation;
+                        caching.stem(chars, 0, chars.length, result);
+                        check(path, word, result.toString(), result.getRuleCode(), configuration(before));
+                    }
+                    break;
+            }
+        }
+    }
+    /**
+     * @param before The generation read before stemming.
+     * @return The index of the configuration held throughout stemming, or -1
+     * if it may have been swapped meanwhile.
+     */
+    private int configuration(long before)
+    {
+        if((before & 1) != 0 || generation != before)
+            return -1;
+        return (int)(before / 2 % configs.length);
+    }
+    /**
+     * Checks the stem of a word against each configuration.
+     * 
+     * @param config The index of the configuration expected, or -1 for any.
+     * @return A bit for each configuration giving the stem and rule.
+     */
+    private int check(int path, String word, String stem, int rule, int config)
+    {
+        int index = indexes.get(word);
+        int matches = 0;
+        for(int c = 0; c < configs.length; c++)
+        {
+            if(stems[c][index].equals(stem) && rules[c][index] == rule)
+                matches |= 1 << c;
+        }
+        if(config != -1 ? (matches & 1 << config) == 0 : matches == 0)
+            fail("stemmer-" + path + ": '" + word + "' stemmed to '" + stem + "' by rule code " + rule + ", expected " + (config != -1 ? "that of configuration " + config + ", " : "one of ") + describe(index));
+        return matches;
+    }
+    private String describe(int index)
+    {
+        StringBuilder sb = new StringBuilder();
+        for(int c = 0; c < configs.length; c++)
+            sb.append(c == 0 ? "" : ", ").append('\'').append(stems[c][index]).append("' by rule code ").append(rules[c][index]);
+        return sb.toString();
+    }
+    private void fail(String message)
+    {
+        failure.compareAndSet(null, message);
+    }
+}
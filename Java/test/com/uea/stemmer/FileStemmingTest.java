@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that each path of stemming a file produces the same stems, for each
+ * tokenizer and with a cache; the stems of {@link FileStemming#stemFileStreaming} are
+ * expected of every other path.
+ */
+public class FileStemmingTest
+{
+    // Constants ***************************************************************
+    private static final int CORPUS_CHARS = 1024 * 1024;
+    private static final long SEED = 20131130L;
+    // Methods *****************************************************************
+    @Test
+    public void whitespace(@TempDir Path dir) throws IOException
+    {
+        check(new WhitespaceTokenizer(), dir);
+    }
+    @Test
+    public void whitespaceAlpha(@TempDir Path dir) throws IOException
+    {
+        check(new WhitespaceAlphaTokenizer(), dir);
+    }
+    @Test
+    public void casePreserving(@TempDir Path dir) throws IOException
+    {
+        check(new CasePreservingTokenizer(false), dir);
+    }
+    @Test
+    public void casePreservingAlpha(@TempDir Path dir) throws IOException
+    {
+        check(new CasePreservingTokenizer(true), dir);
+    }
+    @Test
+    public void incrementalDeletesOutputsOfOtherSettings(@TempDir Path dir) throws IOException
+    {
+        File dirIn = dir.resolve("in").toFile();
+        File dirOut = dir.resolve("out").toFile();
+        if(!dirIn.mkdir())
+            throw new IOException("Unable to create '" + dirIn.getPath() + "'!");
+        Files.write(new File(dirIn, "a.txt").toPath(), "The cats were running".getBytes(Charset.defaultCharset()));
+        Files.write(new File(dirIn, "b.txt").toPath(), "Happiness is a thing".getBytes(Charset.defaultCharset()));
+        UEALite stemmer = new UEALite();
+        Tokenizer tokenizer = new WhitespaceTokenizer();
+        assertEquals(2, FileStemming.stemDirectoryIncremental(stemmer, tokenizer, dirIn, dirOut, "stems", true));
+        assertEquals(0, FileStemming.stemDirectoryIncremental(stemmer, tokenizer, dirIn, dirOut, "stems", true));
+        // An input removed before a run of other settings leaves no output
+        assertTrue(new File(dirIn, "b.txt").delete());
+        assertEquals(1, FileStemming.stemDirectoryIncremental(stemmer, tokenizer, dirIn, dirOut, "out", true));
+        assertEquals(Arrays.asList(".uea-lite-manifest", "a.txt.out"), list(dirOut));
+        assertEquals(1, FileStemming.stemDirectoryIncremental(stemmer, tokenizer, dirIn, dirOut, "out", true, FileStemming.FORMAT_BINARY));
+        assertEquals(4, StemFile.open(new File(dirOut, "a.txt.out")).getTokenCount());
+        assertEquals(0, FileStemming.stemDirectoryIncremental(stemmer, tokenizer, dirIn, dirOut, "out", true, FileStemming.FORMAT_BINARY));
+    }
+    @Test
+    public void parallelSkipsLinkedDirectories(@TempDir Path dir) throws IOException
+    {
+        File dirIn = dir.resolve("in").toFile();
+        File dirOut = dir.resolve("out").toFile();
+        File sub = new File(dirIn, "sub");
+        if(!sub.mkdirs())
+            throw new IOException("Unable to create '" + sub.getPath() + "'!");
+        Files.write(new File(sub, "a.txt").toPath(), "The cats were running".getBytes(Charset.defaultCharset()));
+        // A cycle back to the input
+        Files.createSymbolicLink(new File(sub, "loop").toPath(), dirIn.toPath());
+        StemmingReport report = ParallelFileStemming.stemDirectory(new UEALite(), new WhitespaceTokenizer(), dirIn, dirOut, "stems", 2);
+        assertEquals(1, report.getFiles().size());
+        assertEquals(Arrays.asList("a.txt.stems"), list(new File(dirOut, "sub")));
+    }
+    @Test
+    public void parallelRejectsOutputWithinInput(@TempDir Path dir) throws IOException
+    {
+        File dirIn = dir.resolve("in").toFile();
+        if(!dirIn.mkdir())
+            throw new IOException("Unable to create '" + dirIn.getPath() + "'!");
+        Files.write(new File(dirIn, "a.txt").toPath(), "The cats were running".getBytes(Charset.defaultCharset()));
+        for(File dirOut : new File[] {dirIn, new File(dirIn, "out"), new File(dirIn, "sub/../out")})
+        {
+            try
+            {
+                ParallelFileStemming.stemDirectory(new UEALite(), new WhitespaceTokenizer(), dirIn, dirOut, "stems", 2);
+                fail("Output within the input accepted: " + dirOut.getPath());
+            }
+            catch(IOException ex)
+            {
+                // Expected
+            }
+        }
+        assertEquals(Arrays.asList("a.txt"), list(dirIn));
+    }
+    private static List<String> list(File dir)
+    {
+        String[] names = dir.list();
+        Arrays.sort(names);
+        return Arrays.asList(names);
+    }
+    private static void check(Tokenizer tokenizer, Path dir) throws IOException
+    {
+        File dirIn = dir.resolve("in").toFile();
+        File fileIn = new File(dirIn, "corpus.txt");
+        File fileOut = dir.resolve("out").toFile();
+        if(!dirIn.mkdir())
+            throw new IOException("Unable to create '" + dirIn.getPath() + "'!");
+        String text = TestText.text(TestText.vocabulary(10000, SEED), CORPUS_CHARS, SEED);
+        Files.write(fileIn.toPath(), text.getBytes(Charset.defaultCharset()));
+        UEALite stemmer = new UEALite();
+        FileStemming.stemFileStreaming(stemmer, tokenizer, fileIn, fileOut);
+        List<String> expected = readLines(fileOut);
+        FileStemming.stemFile(stemmer, tokenizer, fileIn, fileOut);
+        assertSameStems("stemFile", expected, readLines(fileOut));
+        CachingUEALite caching = new CachingUEALite(1024);
+        FileStemming.stemFile(caching, tokenizer, fileIn, fileOut);
+        assertSameStems("stemFile (cached)", expected, readLines(fileOut));
+        assertTrue(caching.getHits() > 0, "stemFile (cached): no cache hits");
+        List<String> words = new ArrayList<>();
+        for(Word word : FileStemming.stemFile(stemmer, tokenizer, fileIn))
+            words.add(word.getWord());
+        assertSameStems("stemFile (words)", expected, words);
+        FileStemming.stemFile(stemmer, tokenizer, fileIn, fileOut, FileStemming.FORMAT_BINARY_RULES);
+        StemFile stems = StemFile.open(fileOut);
+        List<String> decoded = new ArrayList<>();
+        StemFile.Cursor cursor = stems.cursor();
+        while(cursor.next())
+            decoded.add(stems.getStem(cursor.getId()));
+        assertSameStems("stemFile (binary)", expected, decoded);
+        // Split into ranges far smaller than the file
+        File dirOut = dir.resolve("parallel").toFile();
+        ParallelFileStemming.stemDirectory(stemmer, tokenizer, dirIn, dirOut, "stems", 2, 4 * 1024);
+        assertSameStems("ParallelFileStemming", expected, readLines(new File(dirOut, fileIn.getName() + ".stems")));
+    }
+    private static void assertSameStems(String path, List<String> expected, List<String> actual)
+    {
+        int count = Math.min(expected.size(), actual.size());
+        for(int i = 0; i < count; i++)
+        {
+            if(!expected.get(i).equals(actual.get(i)))
+                fail(path + ": token " + i + " is '" + actual.get(i) + "', expected '" + expected.get(i) + "'");
+        }
+        assertEquals(expected.size(), actual.size(), path + ": tokens");
+    }
+    private static List<String> readLines(File file) throws IOException
+    {
+        String data = new String(Files.readAllBytes(file.toPath()), Charset.defaultCharset());
+        return data.isEmpty() ? new ArrayList<String>() : Arrays.asList(data.split("\n", -1));
+    }
+}
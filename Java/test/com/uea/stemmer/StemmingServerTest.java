@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests a {@link StemmingServer} listening on an ephemeral port of the
+ * loopback address; the stems and rules answered are expected to match those
+ * of {@link UEALite#stem(String)} for each token.
+ */
+public class StemmingServerTest
+{
+    // Constants ***************************************************************
+    private static final String[] TOKENS = {"running", "cats", "The", "ran", "NASA", "U.K.", "", "stemming", "dogs"};
+    private static final long SEED = 20131130L;
+    // Fields ******************************************************************
+    private UEALite         stemmer;
+    private StemmingServer  server;
+    // Methods *****************************************************************
+    @BeforeEach
+    public void start() throws IOException
+    {
+        stemmer = new UEALite();
+        server = new StemmingServer(stemmer, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 64, 2);
+        server.start();
+    }
+    @AfterEach
+    public void close()
+    {
+        server.close();
+    }
+    @Test
+    public void text() throws IOException
+    {
+        String[] tokens = tokens();
+        StringBuilder body = new StringBuilder();
+        for(String token : tokens)
+            body.append(token).append('\n');
+        HttpURLConnection connection = post("text/plain; charset=utf-8", body.toString().getBytes(StandardCharsets.UTF_8));
+        assertEquals(200, connection.getResponseCode());
+        String[] lines = new String(read(connection.getInputStream()), StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(tokens.length + 1, lines.length);
+        assertEquals("", lines[tokens.length]);
+        assertEquals("run\t46.3", lines[0]);
+        assertEquals("cat\t68", lines[1]);
+        for(int i = 0; i < tokens.length; i++)
+        {
+            Word word = stemmer.stem(tokens[i]);
+            assertEquals(word.getWord() + "\t" + Rules.format(word.getRuleCode()), lines[i], tokens[i]);
+        }
+    }
+    @Test
+    public void textCarriageReturns() throws IOException
+    {
+        HttpURLConnection connection = post("text/plain", "cats\r\nrunning\r\n".getBytes(StandardCharsets.UTF_8));
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("cat\t68\nrun\t46.3\n", new String(read(connection.getInputStream()), StandardCharsets.UTF_8));
+    }
+    @Test
+    public void binary() throws IOException
+    {
+        String[] tokens = tokens();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        for(String token : tokens)
+        {
+            byte[] bytes = token.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(bytes.length);
+            out.write(bytes);
+        }
+        HttpURLConnection connection = post("application/octet-stream", body.toByteArray());
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("application/octet-stream", connection.getContentType());
+        DataInputStream in = new DataInputStream(connection.getInputStream());
+        for(String token : tokens)
+        {
+            byte[] stem = new byte[in.readUnsignedShort()];
+            in.readFully(stem);
+            int rule = in.readUnsignedShort();
+            Word word = stemmer.stem(token);
+            assertEquals(word.getWord(), new String(stem, StandardCharsets.UTF_8), token);
+            assertEquals(word.getRuleCode(), rule, token);
+        }
+        assertEquals(-1, in.read());
+        in.close();
+    }
+    @Test
+    public void binaryTruncated() throws IOException
+    {
+        HttpURLConnection connection = post("application/octet-stream", new byte[] {0, 4, 'c', 'a'});
+        assertEquals(400, connection.getResponseCode());
+    }
+    @Test
+    public void failureWithoutMessage() throws IOException
+    {
+        server.close();
+        UEALite failing = new UEALite()
+        {
+            @Override
+            public void stemAll(String[] in, int offset, int length, String[] outStems, int[] outRules)
+            {
+                throw new IllegalStateException();
+            }
+        };
+        server = new StemmingServer(failing, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 64, 1);
+        server.start();
+        HttpURLConnection connection = post("text/plain", "cats\n".getBytes(StandardCharsets.UTF_8));
+        assertEquals(500, connection.getResponseCode());
+        assertEquals("java.lang.IllegalStateException\n", new String(read(connection.getErrorStream()), StandardCharsets.UTF_8));
+    }
+    @Test
+    public void getRejected() throws IOException
+    {
+        HttpURLConnection connection = (HttpURLConnection)url(StemmingServer.STEM_PATH).openConnection();
+        assertEquals(405, connection.getResponseCode());
+        assertEquals("POST", connection.getHeaderField("Allow"));
+    }
+    @Test
+    public void metrics() throws IOException
+    {
+        for(int i = 0; i < 3; i++)
+            assertEquals(200, post("text/plain", "cats\nrunning\n".getBytes(StandardCharsets.UTF_8)).getResponseCode());
+        assertEquals(3, server.getRequests());
+        assertEquals(6, server.getWords());
+        HttpURLConnection connection = (HttpURLConnection)url(StemmingServer.METRICS_PATH).openConnection();
+        assertEquals(200, connection.getResponseCode());
+        String metrics = new String(read(connection.getInputStream()), StandardCharsets.UTF_8);
+        assertTrue(metrics.contains("uea_lite_words_total 6\n"), metrics);
+        assertTrue(metrics.contains("uea_lite_request_failures_total 0\n"), metrics);
+    }
+    /**
+     * @return The fixed tokens, followed by words of a generated vocabulary.
+     */
+    private static String[] tokens()
+    {
+        List<String> tokens = new ArrayList<>(Arrays.asList(TOKENS));
+        tokens.addAll(Arrays.asList(TestText.vocabulary(500, SEED)));
+        return tokens.toArray(new String[tokens.size()]);
+    }
+    private URL url(String path) throws IOException
+    {
+        return new URL("http", server.getAddress().getHostString(), server.getAddress().getPort(), path);
+    }
+    private HttpURLConnection post(String type, byte[] body) throws IOException
+    {
+        HttpURLConnection connection = (HttpURLConnection)url(StemmingServer.STEM_PATH).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", type);
+        connection.setFixedLengthStreamingMode(body.length);
+        try(OutputStream out = connection.getOutputStream())
+        {
+            out.write(body);
+        }
+        return connection;
+    }
+    private static byte[] read(InputStream in) throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        try
+        {
+            while((read = in.read(buffer)) != -1)
+                out.write(buffer, 0, read);
+        }
+        finally
+        {
+            in.close();
+        }
+        return out.toByteArray();
+    }
+}
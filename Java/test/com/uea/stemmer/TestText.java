@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * UEA-Lite Stemmer
+ *******************************************************************************
+ * Copyright (c) University of East Anglia (UEA) 2013.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************
+ * Original Authors:    Marie-Claire Jenkins
+ *                      Dan Smith               dan.smith@uea.ac.uk
+ * 
+ *                      https://www.uea.ac.uk/computing/word-stemming
+ *******************************************************************************
+ * Author(s):           Marcus Craske           marcus.craske@uea.ac.uk
+ * Version:             1.2
+ *******************************************************************************
+ * Change-log:
+ *      2026-10-18      Created.
+ *******************************************************************************
+ */
+package com.uea.stemmer;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates words and text for the tests from a seed: words ending with the
+ * suffixes of the rules, problem words, digits, hyphens, apostrophes,
+ * acronyms and proper nouns, and sentences of such words with punctuation.
+ */
+final class TestText
+{
+    // Constants ***************************************************************
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyzaeiouaeiou";
+    // Methods - Constructors **************************************************
+    private TestText()
+    { }
+    // Methods - Static ********************************************************
+    /**
+     * @param size The number of distinct words.
+     * @param seed The seed.
+     * @return The words.
+     */
+    static String[] vocabulary(int size, long seed)
+    {
+        Random random = new Random(seed);
+        RuleSet rules = RuleSet.DEFAULT;
+        List<String> problemWords = rules.getProblemWords();
+        LinkedHashSet<String> words = new LinkedHashSet<>(problemWords);
+        while(words.size() < size)
+        {
+            int kind = random.nextInt(100);
+            String root = root(random);
+            if(kind < 2)
+                words.add(Integer.toString(random.nextInt(10000)));
+            else if(kind < 4)
+                words.add(root + "-" + root(random));
+            else if(kind < 6)
+                words.add(root.toUpperCase().substring(0, Math.min(root.length(), 2 + random.nextInt(3))) + (random.nextBoolean() ? "s" : ""));
+            else if(kind < 9)
+                words.add(Character.toUpperCase(root.charAt(0)) + root.substring(1));
+            else if(kind < 11)
+                words.add(root + (random.nextBoolean() ? "'s" : "n't"));
+            else
+                words.add(root + rules.getSuffixRule(random.nextInt(rules.getSuffixRuleCount())).suffix);
+        }
+        return words.toArray(new String[words.size()]);
+    }
+    /**
+     * @param vocabulary The words, more frequent first.
+     * @param chars The approximate number of characters.
+     * @param seed The seed.
+     * @return Sentences of the words.
+     */
+    static String text(String[] vocabulary, int chars, long seed)
+    {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder(chars + 64);
+        int sentenceWord = 0;
+        while(sb.length() < chars)
+        {
+            String word = word(vocabulary, random);
+            if(sentenceWord++ == 0)
+                word = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+            sb.append(word);
+            if(random.nextInt(12) == 0)
+            {
+                sb.append(random.nextInt(10) == 0 ? '?' : '.');
+                sentenceWord = 0;
+            }
+            else if(random.nextInt(12) == 0)
+                sb.append(',');
+            sb.append(random.nextInt(15) == 0 ? '\n' : ' ');
+        }
+        return sb.toString();
+    }
+    /**
+     * @param vocabulary The words, more frequent first.
+     * @param random The source of randomness.
+     * @return A word, earlier words being more frequent.
+     */
+    static String word(String[] vocabulary, Random random)
+    {
+        return vocabulary[random.nextInt(random.nextInt(vocabulary.length) + 1)];
+    }
+    private static String root(Random random)
+    {
+        int length = 2 + random.nextInt(5);
+        StringBuilder sb = new StringBuilder(length);
+        for(int i = 0; i < length; i++)
+            sb.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        return sb.toString();
+    }
+}